@@ -28,6 +28,9 @@ import org.fog.entities.FogBroker;
 import org.fog.entities.FogDevice;
 import org.fog.entities.FogDeviceCharacteristics;
 import org.fog.policy.AppModuleAllocationPolicy;
+import org.fog.scheduling.dataset.CloudletDataset;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.Assignment;
 import org.fog.scheduler.StreamOperatorScheduler;
 import org.fog.utils.FogLinearPowerModel;
 import org.fog.utils.FogUtils;
@@ -47,6 +50,8 @@ public class FogSchedulingExample {
         public static String algorithm = SchedulingAlgorithm.GA;
         public static String filename_cloudlet = "data/data" + number_cloudlet;
         public static String filename_ouput = "results_ex/" + algorithm + "_" + number_cloudlet;
+        // the experiment seed, set it to replay a run
+        public static long seed = System.currentTimeMillis();
 
         public static void main(String[] args) {
 
@@ -54,6 +59,9 @@ public class FogSchedulingExample {
 
                 try {
                         Log.disable();
+                        // seed all the random generators of the scheduling algorithms
+                        Service.setSeed(seed);
+                        System.out.println("Seed: " + seed);
                         int num_user = 1; // number of cloud users
                         Calendar calendar = Calendar.getInstance();
                         boolean trace_flag = false; // mean trace events
@@ -76,8 +84,8 @@ public class FogSchedulingExample {
                         broker.setCloudletList(listCloudlet);
 
                         // set up the scheduling algorithm to run cloudlet in fog-cloud infrucstructure
-                        broker.assignCloudlet(algorithm);
-//                      broker.assignCloudletloop(algorithm, filename_ouput);
+                        Assignment assignment = broker.assignCloudlet(algorithm);
+                        System.out.println(assignment);
 
                 } catch (Exception e) {
                         e.printStackTrace();
@@ -214,8 +222,17 @@ public class FogSchedulingExample {
                 return fogdevice;
         }
 
-        // initiate the task list (cloudlet list)
+        // initiate the task list (cloudlet list), from a CSV file or a binary
+        // dataset, see CloudletDataset
         public static List<Cloudlet> createCloudlet(String filename) {
+                if (CloudletDataset.isDataset(filename)) {
+                        try {
+                                return CloudletDataset.load(filename);
+                        } catch (IOException e) {
+                                e.printStackTrace();
+                                return new LinkedList<Cloudlet>();
+                        }
+                }
 
                  LinkedList<Cloudlet> list = new LinkedList<Cloudlet>();
 
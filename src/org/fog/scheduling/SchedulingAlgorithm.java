@@ -1,31 +1,78 @@
 package org.fog.scheduling;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.fog.entities.FogDevice;
+import org.fog.scheduling.aco.AntColony;
+import org.fog.scheduling.aco.AntColonyAlgorithm;
 import org.fog.scheduling.bee.BeeAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.CompactGeneticAlgorithm;
+import org.fog.scheduling.gaEntities.CompactPopulation;
 import org.fog.scheduling.gaEntities.GeneticAlgorithm;
 import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.IslandGeneticAlgorithm;
 import org.fog.scheduling.gaEntities.Population;
+import org.fog.scheduling.heuristics.Heuristic;
+import org.fog.scheduling.heuristics.HeuristicSeeding;
+import org.fog.scheduling.pareto.NsgaIIAlgorithm;
+import org.fog.scheduling.pareto.ParetoFront;
+import org.fog.scheduling.localSearchAlgorithm.ElitePool;
 import org.fog.scheduling.localSearchAlgorithm.LocalSearchAlgorithm;
+import org.fog.scheduling.localSearchAlgorithm.ParallelTabuSearch;
+import org.fog.scheduling.localSearchAlgorithm.SampledLocalSearch;
+import org.fog.scheduling.pso.CompactPSOAlgorithm;
+import org.fog.scheduling.pso.CompactSwarm;
 import org.fog.scheduling.pso.PSOAlgorithm;
 import org.fog.scheduling.pso.Particle;
+import org.fog.scheduling.pso.SwarmPopulation;
 import org.fog.scheduling.rr.RRAlgorithm;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.telemetry.ConvergenceTelemetry;
+import org.fog.scheduling.telemetry.Diversity;
+import org.fog.scheduling.termination.AnyCondition;
+import org.fog.scheduling.termination.MaxGenerations;
+import org.fog.scheduling.termination.MaxTime;
+import org.fog.scheduling.termination.SearchControl;
 
 public class SchedulingAlgorithm {
 
 //Algorithm name
 	public static final String GA = "Genetic Algorithm";
+	public static final String GA2 = "Genetic Algorithm 2";
+	public static final String GA_ISLAND = "Island Genetic Algorithm";
+	public static final String GA_COMPACT = "Compact Genetic Algorithm";
+	public static final String GA_MEMETIC = "Memetic Genetic Algorithm";
+	public static final String NSGA2 = "NSGA-II";
 	public static final String LOCAL_SEARCH = "local search";
 	public static final String TABU_SEARCH = "tabu search";
+	public static final String TABU_SEARCH_PARALLEL = "Parallel Tabu Search";
+	public static final String ANNEALING = "Simulated Annealing";
+	public static final String ANNEALING_MULTI_START = "Multi-start Simulated Annealing";
+	public static final String LATE_ACCEPTANCE = "Late Acceptance Hill Climbing";
+	public static final String LATE_ACCEPTANCE_MULTI_START = "Multi-start Late Acceptance Hill Climbing";
 	public static final String BEE = "Bee Algorithm";
 	public static final String PSO = "Particle Swarm Optimization";
+	public static final String PSO_COMPACT = "Compact Particle Swarm Optimization";
+	public static final String ACO = "Ant Colony Optimization";
 	public static final String RR = "Round Robin";
+	public static final String MIN_MIN = "Min-Min";
+	public static final String MAX_MIN = "Max-Min";
+	public static final String SUFFERAGE = "Sufferage";
+	public static final String MCT = "Minimum Completion Time";
+	public static final String COST_GREEDY = "Cost Greedy";
 
 // the weight value defines the trade-off between time and cost
 	public static final double TIME_WEIGHT = 0.5;
 
+// print the progress of the runs; off by default, the console output of large
+// chromosomes dominates the run time. Use the telemetry of the SearchControl to
+// analyse the convergence.
+	public static boolean verbose = false;
+
 //GA and BEE  parameters
 	public static final int NUMBER_INDIVIDUAL = 100;
 	public static final int NUMBER_ITERATION = 1000;
@@ -37,25 +84,133 @@ public class SchedulingAlgorithm {
 	// BEE
 	public static final int NUMBER_DRONE = (int) (NUMBER_INDIVIDUAL * 0.4);
 
+//Memetic GA parameters
+	// the number of fittest individuals refined after each evaluation
+	public static final int MEMETIC_ELITES = 10;
+	// the largest number of hill climbing moves of a refinement
+	public static final int MEMETIC_MOVES = 50;
+
+//ACO parameters
+	// the number of ants built in each iteration
+	public static final int NUMBER_ANT = 20;
+
+//Island GA parameters
+	// fixed, so a seeded run gives the same result on any host; the islands run
+	// on at most one thread per processor
+	public static final int NUMBER_ISLAND = 4;
+	// the number of generations between two migrations
+	public static final int MIGRATION_INTERVAL = 20;
+	// the number of individuals each island sends
+	public static final int NUMBER_MIGRANT = 2;
+	public static final IslandGeneticAlgorithm.Topology MIGRATION_TOPOLOGY = IslandGeneticAlgorithm.Topology.RING;
+
 //Tabu Search parameters
 	public static final int TABU_CONSTANT = 10;
+	public static final int TABU_MAX_STABLE = 100;
+	public static final int TABU_MAX_ITERATION = 10000;
+	// seconds
+	public static final int TABU_MAX_TIME = 20;
+	public static final int TABU_LENGTH = 30;
+
+//Sampled local search parameters
+	// the number of walks of a multi-start search, fixed so a seeded run gives
+	// the same result on any host; the pool of the FitnessEngine runs them on
+	// as many threads as it has
+	public static final int NUMBER_WALK = 4;
+
+	// the share of the population a warm start seeds from the previous schedule,
+	// the rest stays random
+	public static final double WARM_START_RATE = 0.5;
+
+	/**
+	 * The default control of an algorithm: NUMBER_ITERATION generations, the
+	 * tabu searches stop after TABU_MAX_ITERATION steps or TABU_MAX_TIME seconds
+	 * and the hill climbing at its local optimum.
+	 */
+	public static SearchControl createControl(String algorithm) {
+		if (TABU_SEARCH.equals(algorithm) || TABU_SEARCH_PARALLEL.equals(algorithm)) {
+			return new SearchControl(
+					new AnyCondition(new MaxGenerations(TABU_MAX_ITERATION), new MaxTime(TABU_MAX_TIME * 1000L)));
+		}
+		if (LOCAL_SEARCH.equals(algorithm)) {
+			return new SearchControl(new MaxGenerations(Integer.MAX_VALUE));
+		}
+		return new SearchControl(new MaxGenerations(NUMBER_ITERATION));
+	}
 
 // GA run
 	public static Individual runGeneticAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runGeneticAlgorithm(fogDevices, cloudletList, createControl(GA));
+	}
+
+	public static Individual runGeneticAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runGeneticAlgorithm(fogDevices, cloudletList, control, null);
+	}
+
+	/**
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runGeneticAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control, int[] initial) {
+		return runGeneticAlgorithm(new ProblemInstance(fogDevices, cloudletList), control, initial);
+	}
+
+	public static Individual runGeneticAlgorithm(ProblemInstance problem, SearchControl control, int[] initial) {
+		return runGeneticAlgorithm(problem, control, initial, false);
+	}
+
+	// Memetic GA run: the GA run, the fittest individuals of each generation are
+	// refined by hill climbing, see GeneticAlgorithm.refinePopulation
+	public static Individual runMemeticGeneticAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList) {
+		return runMemeticGeneticAlgorithm(new ProblemInstance(fogDevices, cloudletList), createControl(GA_MEMETIC),
+				null);
+	}
+
+	/**
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runMemeticGeneticAlgorithm(ProblemInstance problem, SearchControl control,
+			int[] initial) {
+		return runGeneticAlgorithm(problem, control, initial, true);
+	}
+
+	private static Individual runGeneticAlgorithm(ProblemInstance problem, SearchControl control, int[] initial,
+			boolean memetic) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 		// Create GA object
 		GeneticAlgorithm ga = new GeneticAlgorithm(NUMBER_INDIVIDUAL, MUTATION_RATE, CROSSOVER_RATE,
 				NUMBER_ELITISM_INDIVIDUAL);
 
 		// Calculate the boundary of time and cost
-		ga.calcMinTimeCost(fogDevices, cloudletList);
+		ga.calcMinTimeCost(problem);
+		if (memetic) {
+			ga.setRefinement(MEMETIC_ELITES, MEMETIC_MOVES);
+		}
 
 		// Initialize population
-		Population population = ga.initPopulation(cloudletList.size(), fogDevices.size() - 1);
+		Population population = ga.initPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (initial != null) {
+			ga.seedPopulation(population, initial, (int) (NUMBER_INDIVIDUAL * WARM_START_RATE));
+		}
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(population, ga.getFitnessEngine());
+		}
 
 		// Evaluate population
 		ga.evalPopulation(population, fogDevices, cloudletList);
+		ga.refinePopulation(population);
+		control.update(population.getFittest(0), 0);
+		recordTelemetry(control, population);
 
-		population.printPopulation();
+		if (verbose) {
+			population.printPopulation();
+		}
 
 		// Keep track of current generation
 		int generation = 0;
@@ -63,13 +218,15 @@ public class SchedulingAlgorithm {
 		/**
 		 * Start the evolution loop
 		 *
-		 * Every genetic algorithm problem has different criteria for finishing. In this
-		 * case, we know what a perfect solution looks like (we don't always!), so our
-		 * isTerminationConditionMet method is very straightforward: if there's a member
-		 * of the population whose chromosome is all ones, we're done!
+		 * Every genetic algorithm problem has different criteria for finishing. The
+		 * perfect schedule is unknown, so the control decides: a number of
+		 * generations, a time budget, stagnation, a gap to the lower bounds or a
+		 * cancel from another thread.
 		 */
-		while (generation < NUMBER_ITERATION) {
-			System.out.println("\n------------- Generation " + generation + " --------------");
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
 //                                      population.printPopulation();
 			// Apply crossover
 			population = ga.crossoverPopulation(population, fogDevices, cloudletList);
@@ -79,14 +236,19 @@ public class SchedulingAlgorithm {
 
 			// Evaluate population
 			ga.evalPopulation(population, fogDevices, cloudletList);
-
-			population.getFittest(0).printGene();
-
-			// Print fittest individual from population
-			System.out.println(
-					"\nBest solution of generation " + generation + ": " + population.getFittest(0).getFitness());
-			System.out.println("Makespan: (" + ga.getMinTime() + ")--" + population.getFittest(0).getTime());
-			System.out.println("TotalCost: (" + ga.getMinCost() + ")--" + population.getFittest(0).getCost());
+			ga.refinePopulation(population);
+
+			if (verbose) {
+				population.getFittest(0).printGene();
+
+				// Print fittest individual from population
+				System.out.println(
+						"\nBest solution of generation " + generation + ": " + population.getFittest(0).getFitness());
+				System.out.println("Makespan: (" + ga.getMinTime() + ")--" + population.getFittest(0).getTime());
+				System.out.println("TotalCost: (" + ga.getMinCost() + ")--" + population.getFittest(0).getCost());
+			}
+			control.update(population.getFittest(0));
+			recordTelemetry(control, population);
 			// Increment the current generation
 			generation++;
 //                                      population.printPopulation();
@@ -98,31 +260,53 @@ public class SchedulingAlgorithm {
 		 * promised.
 		 */
 
-		System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
-		System.out.println("Found solution in " + generation + " generations");
-		population.getFittest(0).printGene();
-		System.out.println("\nBest solution: " + population.getFittest(0).getFitness());
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			population.getFittest(0).printGene();
+			System.out.println("\nBest solution: " + population.getFittest(0).getFitness());
+		}
 
+		publish(problem, ga.getFitnessEngine(), population.getFittest(0).getChromosome());
 		return population.getFittest(0);
 	}
 
 	public static Individual runGeneticAlgorithm2(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runGeneticAlgorithm2(fogDevices, cloudletList, createControl(GA));
+	}
+
+	public static Individual runGeneticAlgorithm2(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runGeneticAlgorithm2(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runGeneticAlgorithm2(ProblemInstance problem, SearchControl control) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 		// Create GA object
 		GeneticAlgorithm ga = new GeneticAlgorithm(NUMBER_INDIVIDUAL, MUTATION_RATE, CROSSOVER_RATE,
 				NUMBER_ELITISM_INDIVIDUAL);
 
 		// Calculate the boundary of time and cost
-		ga.calcMinTimeCost(fogDevices, cloudletList);
+		ga.calcMinTimeCost(problem);
 
 		// Initialize population
-		Population population = ga.initPopulation(cloudletList.size(), fogDevices.size() - 1);
+		Population population = ga.initPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(population, ga.getFitnessEngine());
+		}
 		ga.evalPopulation(population, fogDevices, cloudletList);
+		control.update(population.getFittest(0), 0);
+		recordTelemetry(control, population);
 
 		// Keep track of current generation
 		int generation = 0;
 
-		while (generation < NUMBER_ITERATION) {
-			System.out.println("\n------------- Generation " + generation + " --------------");
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
 			Population newPopulation = new Population();
 
 			// Apply crossover
@@ -135,13 +319,17 @@ public class SchedulingAlgorithm {
 
 //                                      population = ga.selectPopulation2(population, newPopulation, fogDevices, cloudletList);
 
-			population.getFittest(0).printGene();
-
-			// Print fittest individual from population
-			System.out.println(
-					"\nBest solution of generation " + generation + ": " + population.getFittest(0).getFitness());
-			System.out.println("Makespan: (" + ga.getMinTime() + ")--" + population.getFittest(0).getTime());
-			System.out.println("TotalCost: (" + ga.getMinCost() + ")--" + population.getFittest(0).getCost());
+			if (verbose) {
+				population.getFittest(0).printGene();
+
+				// Print fittest individual from population
+				System.out.println(
+						"\nBest solution of generation " + generation + ": " + population.getFittest(0).getFitness());
+				System.out.println("Makespan: (" + ga.getMinTime() + ")--" + population.getFittest(0).getTime());
+				System.out.println("TotalCost: (" + ga.getMinCost() + ")--" + population.getFittest(0).getCost());
+			}
+			control.update(population.getFittest(0));
+			recordTelemetry(control, population);
 			// Increment the current generation
 			generation++;
 //                                      population.printPopulation();
@@ -153,60 +341,482 @@ public class SchedulingAlgorithm {
 		 * promised.
 		 */
 
-		System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
-		System.out.println("Found solution in " + generation + " generations");
-		population.getFittest(0).printGene();
-		System.out.println("\nBest solution: " + population.getFittest(0).getFitness());
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			population.getFittest(0).printGene();
+			System.out.println("\nBest solution: " + population.getFittest(0).getFitness());
+		}
 
+		publish(problem, ga.getFitnessEngine(), population.getFittest(0).getChromosome());
 		return population.getFittest(0);
 	}
 
-//local search algorithm
-	public static Individual runLocalSearchAlgorithm(List<FogDevice> fogDevices,
+	// Island GA run: NUMBER_ISLAND populations evolve in parallel and exchange
+	// their best individuals every MIGRATION_INTERVAL generations
+	public static Individual runIslandGeneticAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList) {
+		return runIslandGeneticAlgorithm(fogDevices, cloudletList, createControl(GA_ISLAND));
+	}
+
+	public static Individual runIslandGeneticAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control) {
+		return runIslandGeneticAlgorithm(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runIslandGeneticAlgorithm(ProblemInstance problem, SearchControl control) {
+		control.start();
+		IslandGeneticAlgorithm islandGa = new IslandGeneticAlgorithm(NUMBER_ISLAND, NUMBER_INDIVIDUAL, MUTATION_RATE,
+				CROSSOVER_RATE, NUMBER_ELITISM_INDIVIDUAL, NUMBER_MIGRANT, MIGRATION_TOPOLOGY);
+
+		// Calculate the boundary of time and cost
+		islandGa.calcMinTimeCost(problem);
+
+		// Keep track of current generation
+		int generation = 0;
+
+		// the pool of the islands is shut down even if the run fails
+		try {
+			// Initialize and evaluate the population of each island
+			islandGa.initPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+			control.update(islandGa.getFittest(), 0);
+			recordTelemetry(control, islandGa);
+
+			while (!control.isTerminated()) {
+				int generations = MIGRATION_INTERVAL;
+				if (verbose) {
+					System.out.println("\n------------- Generation " + generation + " --------------");
+				}
+
+				// Evolve the islands then exchange their best individuals
+				islandGa.evolve(generations);
+				islandGa.migrate();
+				generation += generations;
+
+				Individual fittest = islandGa.getFittest();
+				if (verbose) {
+					System.out.println("\nBest solution of generation " + generation + ": " + fittest.getFitness());
+					System.out.println("Makespan: (" + islandGa.getMinTime() + ")--" + fittest.getTime());
+					System.out.println("TotalCost: (" + islandGa.getMinCost() + ")--" + fittest.getCost());
+				}
+				control.update(fittest, generations);
+				recordTelemetry(control, islandGa);
+			}
+		} finally {
+			islandGa.shutdown();
+		}
+
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			islandGa.getFittest().printGene();
+			System.out.println("\nBest solution: " + islandGa.getFittest().getFitness());
+		}
+
+		publish(problem, islandGa.getFitnessEngine(), islandGa.getFittest().getChromosome());
+		return islandGa.getFittest();
+	}
+
+	// GA run on a CompactPopulation, the same algorithm as runGeneticAlgorithm
+	// without allocation per generation
+	public static Individual runCompactGeneticAlgorithm(List<FogDevice> fogDevices,
 			List<? extends Cloudlet> cloudletList) {
+		return runCompactGeneticAlgorithm(fogDevices, cloudletList, createControl(GA_COMPACT));
+	}
+
+	public static Individual runCompactGeneticAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control) {
+		return runCompactGeneticAlgorithm(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runCompactGeneticAlgorithm(ProblemInstance problem, SearchControl control) {
+		control.start();
+		CompactGeneticAlgorithm ga = new CompactGeneticAlgorithm(NUMBER_INDIVIDUAL, MUTATION_RATE, CROSSOVER_RATE,
+				NUMBER_ELITISM_INDIVIDUAL);
+
+		// Calculate the boundary of time and cost
+		ga.calcMinTimeCost(problem);
+
+		// Initialize and evaluate population
+		CompactPopulation population = ga.initPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(population, ga.getFitnessEngine());
+		}
+		updateControl(control, population, 0);
+		recordTelemetry(control, population);
+
+		// Keep track of current generation
+		int generation = 0;
+
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
+
+			// Apply crossover and mutation, then evaluate the new generation
+			ga.evolve(population);
+
+			if (verbose) {
+				int fittest = population.getFittest(0);
+				System.out.println(
+						"\nBest solution of generation " + generation + ": " + population.getFitness(fittest));
+				System.out.println("Makespan: (" + ga.getMinTime() + ")--" + population.getTime(fittest));
+				System.out.println("TotalCost: (" + ga.getMinCost() + ")--" + population.getCost(fittest));
+			}
+			updateControl(control, population, 1);
+			recordTelemetry(control, population);
+			// Increment the current generation
+			generation++;
+		}
+
+		Individual solution = population.toIndividual(population.getFittest(0));
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			solution.printGene();
+			System.out.println("\nBest solution: " + solution.getFitness());
+		}
+
+		publish(problem, ga.getFitnessEngine(), solution.getChromosome());
+		return solution;
+	}
+
+	// record the fittest individual of a CompactPopulation, copied only if it
+	// improves the best
+	private static void updateControl(SearchControl control, CompactPopulation population, int generations) {
+		int fittest = population.getFittest(0);
+		control.update(population.getGenes(), fittest * population.getChromosomeLength(),
+				population.getChromosomeLength(), population.getFitness(fittest), population.getTime(fittest),
+				population.getCost(fittest), generations);
+	}
+
+	// NSGA-II run: minimize makespan and total cost together, the result is the
+	// front of non-dominated schedules; the schedule of the front with the best
+	// fitness for TIME_WEIGHT is published to the fogDevices
+	public static ParetoFront runNsgaIIAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runNsgaIIAlgorithm(fogDevices, cloudletList, createControl(NSGA2));
+	}
+
+	public static ParetoFront runNsgaIIAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runNsgaIIAlgorithm(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static ParetoFront runNsgaIIAlgorithm(ProblemInstance problem, SearchControl control) {
+		control.start();
+		NsgaIIAlgorithm nsga = new NsgaIIAlgorithm(NUMBER_INDIVIDUAL, MUTATION_RATE, CROSSOVER_RATE);
+
+		// Calculate the boundary of time and cost
+		nsga.calcMinTimeCost(problem);
+
+		// Initialize and evaluate population
+		Population population = nsga.initPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(population, nsga.getFitnessEngine());
+		}
+		nsga.evalPopulation(population);
+		control.update(nsga.getFittest(population), 0);
+		recordTelemetry(control, nsga, population);
+
+		// Keep track of current generation
+		int generation = 0;
+		while (!control.isTerminated()) {
+			population = nsga.evolve(population);
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+				System.out.println("Non-dominated schedules: " + nsga.getFront(population).size());
+			}
+			control.update(nsga.getFittest(population));
+			recordTelemetry(control, nsga, population);
+			generation++;
+		}
+
+		ParetoFront front = nsga.getFront(population);
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found front in " + generation + " generations");
+			front.printFront();
+		}
+
+		publish(problem, nsga.getFitnessEngine(), front.select(TIME_WEIGHT).getChromosome());
+		return front;
+	}
+
+//local search algorithm
+	public static Individual runLocalSearchAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runLocalSearchAlgorithm(fogDevices, cloudletList, createControl(LOCAL_SEARCH));
+	}
+
+	public static Individual runLocalSearchAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runLocalSearchAlgorithm(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runLocalSearchAlgorithm(ProblemInstance problem, SearchControl control) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 
 		LocalSearchAlgorithm localSearch = new LocalSearchAlgorithm();
 		// Calculate the boundary of time and cost
-		localSearch.calcMinTimeCost(fogDevices, cloudletList);
+		localSearch.calcMinTimeCost(problem);
 
 		// initiate an individual
-		Individual individual = new Individual(cloudletList.size(), fogDevices.size() - 1);
-		individual.printGene();
-		individual = localSearch.hillCliming(individual, fogDevices, cloudletList);
+		Individual individual = new Individual(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (verbose) {
+			individual.printGene();
+		}
+		individual = localSearch.hillCliming(individual, fogDevices, cloudletList, control);
 
+		publish(problem, localSearch.getFitnessEngine(), individual.getChromosome());
 		return individual;
 	}
 
 	// Tabu Search algorithm
 	public static Individual runTabuSearchAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runTabuSearchAlgorithm(fogDevices, cloudletList, createControl(TABU_SEARCH));
+	}
+
+	public static Individual runTabuSearchAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runTabuSearchAlgorithm(fogDevices, cloudletList, control, null);
+	}
+
+	/**
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runTabuSearchAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control, int[] initial) {
+		return runTabuSearchAlgorithm(new ProblemInstance(fogDevices, cloudletList), control, initial);
+	}
+
+	public static Individual runTabuSearchAlgorithm(ProblemInstance problem, SearchControl control, int[] initial) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 		LocalSearchAlgorithm localSearch = new LocalSearchAlgorithm();
 		// Calculate the boundary of time and cost
-		localSearch.calcMinTimeCost(fogDevices, cloudletList);
-
-		// initiate an individual
-		Individual individual = new Individual(cloudletList.size(), fogDevices.size() - 1);
-		individual.printGene();
-		individual = localSearch.tabuSearch(individual, fogDevices, cloudletList, 100, 10000, 20, 30);
-		System.out.println("Time: " + individual.getTime() + "-----Cost: " + individual.getCost());
+		localSearch.calcMinTimeCost(problem);
+
+		// initiate an individual, random or the fittest schedule of the heuristics;
+		// the cloudlets of a warm start keep their previous fogId
+		Individual individual = new Individual(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (control.isHeuristicSeeding()) {
+			int[] seed = HeuristicSeeding.best(localSearch.getFitnessEngine());
+			for (int geneIndex = 0; geneIndex < seed.length; geneIndex++) {
+				individual.setGene(geneIndex, seed[geneIndex]);
+			}
+		}
+		if (initial != null) {
+			for (int geneIndex = 0; geneIndex < initial.length; geneIndex++) {
+				if (initial[geneIndex] >= 0) {
+					individual.setGene(geneIndex, initial[geneIndex]);
+				}
+			}
+		}
+		if (verbose) {
+			individual.printGene();
+		}
+		individual = localSearch.tabuSearch(individual, fogDevices, cloudletList, TABU_MAX_STABLE, TABU_LENGTH,
+				control);
+		if (verbose) {
+			System.out.println("Time: " + individual.getTime() + "-----Cost: " + individual.getCost());
+		}
+		publish(problem, localSearch.getFitnessEngine(), individual.getChromosome());
 		return individual;
 	}
 
+	// tabu search on NUMBER_WALK parallel walks sharing an elite pool
+	public static Individual runParallelTabuSearch(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runParallelTabuSearch(new ProblemInstance(fogDevices, cloudletList), createControl(TABU_SEARCH_PARALLEL),
+				null);
+	}
+
+	/**
+	 * A tabu search on NUMBER_WALK walks, see ParallelTabuSearch; one move of
+	 * every walk is one generation of the control
+	 *
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runParallelTabuSearch(ProblemInstance problem, SearchControl control, int[] initial) {
+		control.start();
+		ParallelTabuSearch tabuSearch = new ParallelTabuSearch(NUMBER_WALK, TABU_MAX_STABLE, TABU_LENGTH);
+		// Calculate the boundary of time and cost
+		tabuSearch.calcMinTimeCost(problem);
+
+		// start the walks from random schedules, or the start schedules
+		tabuSearch.initWalks();
+		int[][] starts = startSchedules(problem, tabuSearch.getFitnessEngine(), NUMBER_WALK, initial,
+				control.isHeuristicSeeding());
+		for (int walk = 0; walk < NUMBER_WALK; walk++) {
+			if (starts[walk] != null) {
+				tabuSearch.start(walk, starts[walk]);
+			}
+		}
+		updateControl(control, tabuSearch, 0);
+		recordTelemetry(control, tabuSearch);
+
+		while (!control.isTerminated()) {
+			tabuSearch.step();
+			if (verbose) {
+				System.out.println("Step: " + control.getGeneration() + "----Best value: "
+						+ tabuSearch.getBest().getFitness() + "----Elites: " + tabuSearch.getElitePool().size());
+			}
+			updateControl(control, tabuSearch, 1);
+			recordTelemetry(control, tabuSearch);
+		}
+
+		Individual solution = tabuSearch.toIndividual();
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("\nBest solution: " + solution.getFitness());
+		}
+		publish(problem, tabuSearch.getFitnessEngine(), solution.getChromosome());
+		return solution;
+	}
+
+	private static void updateControl(SearchControl control, ParallelTabuSearch tabuSearch, int generations) {
+		ElitePool.Elite best = tabuSearch.getBest();
+		control.update(best.getChromosome(), best.getFitness(), best.getTime(), best.getCost(), generations);
+	}
+
+	// simulated annealing, a single walk
+	public static Individual runSimulatedAnnealing(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runSampledLocalSearch(new ProblemInstance(fogDevices, cloudletList),
+				SampledLocalSearch.Acceptance.ANNEALING, 1, createControl(ANNEALING), null);
+	}
+
+	// late acceptance hill climbing, a single walk
+	public static Individual runLateAcceptance(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runSampledLocalSearch(new ProblemInstance(fogDevices, cloudletList),
+				SampledLocalSearch.Acceptance.LATE_ACCEPTANCE, 1, createControl(LATE_ACCEPTANCE), null);
+	}
+
+	/**
+	 * A local search sampling random moves on numberWalks walks, one step of
+	 * every walk is one generation of the control
+	 *
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runSampledLocalSearch(ProblemInstance problem, SampledLocalSearch.Acceptance acceptance,
+			int numberWalks, SearchControl control, int[] initial) {
+		control.start();
+		SampledLocalSearch search = new SampledLocalSearch(acceptance, numberWalks);
+		// Calculate the boundary of time and cost
+		search.calcMinTimeCost(problem);
+
+		// start the walks from random schedules, or the start schedules
+		search.initWalks();
+		int[][] starts = startSchedules(problem, search.getFitnessEngine(), numberWalks, initial,
+				control.isHeuristicSeeding());
+		for (int walk = 0; walk < numberWalks; walk++) {
+			if (starts[walk] != null) {
+				search.start(walk, starts[walk]);
+			}
+		}
+		updateControl(control, search, 0);
+		recordTelemetry(control, search);
+
+		while (!control.isTerminated()) {
+			search.step();
+			if (verbose) {
+				System.out.println("Step: " + control.getGeneration() + "----Best value: " + search.getBestFitness());
+			}
+			updateControl(control, search, 1);
+			recordTelemetry(control, search);
+		}
+
+		Individual solution = search.toIndividual();
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("\nBest solution: " + solution.getFitness());
+		}
+		publish(problem, search.getFitnessEngine(), solution.getChromosome());
+		return solution;
+	}
+
+	/**
+	 * The start schedules of the walks of a multi-start search, null for a
+	 * random start: the first walks of a warm start keep the previous fogId of
+	 * the cloudlets and, with heuristic seeding, the last ones start from the
+	 * schedules of the heuristics, the fittest one on the last walk
+	 */
+	private static int[][] startSchedules(ProblemInstance problem, FitnessEngine fitnessEngine, int numberWalks,
+			int[] initial, boolean heuristicSeeding) {
+		int[][] starts = new int[numberWalks][];
+		if (initial != null) {
+			int warmWalks = Math.max(1, (int) (numberWalks * WARM_START_RATE));
+			for (int walk = 0; walk < warmWalks; walk++) {
+				int[] chromosome = new Individual(problem.getNumberCloudlets(), problem.getMaxValue()).getChromosome();
+				for (int geneIndex = 0; geneIndex < initial.length; geneIndex++) {
+					if (initial[geneIndex] >= 0) {
+						chromosome[geneIndex] = initial[geneIndex];
+					}
+				}
+				starts[walk] = chromosome;
+			}
+		}
+		if (heuristicSeeding) {
+			// the fittest seeds first, as a single walk starts from the fittest one
+			List<int[]> seeds = HeuristicSeeding.seeds(fitnessEngine);
+			final FitnessEngine engine = fitnessEngine;
+			Collections.sort(seeds, new Comparator<int[]>() {
+				@Override
+				public int compare(int[] first, int[] second) {
+					return Double.compare(engine.calcFitness(second), engine.calcFitness(first));
+				}
+			});
+			int seeded = Math.min(seeds.size(), numberWalks);
+			for (int seedIndex = 0; seedIndex < seeded; seedIndex++) {
+				starts[numberWalks - 1 - seedIndex] = seeds.get(seedIndex);
+			}
+		}
+		return starts;
+	}
+
+	private static void updateControl(SearchControl control, SampledLocalSearch search, int generations) {
+		control.update(search.getBest(), search.getBestFitness(), search.getBestTime(), search.getBestCost(),
+				generations);
+	}
+
 	public static Individual runBeeAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runBeeAlgorithm(fogDevices, cloudletList, createControl(BEE));
+	}
+
+	public static Individual runBeeAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runBeeAlgorithm(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runBeeAlgorithm(ProblemInstance problem, SearchControl control) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 		// Create GA object
 		BeeAlgorithm beeAlgorithm = new BeeAlgorithm(NUMBER_INDIVIDUAL, MUTATION_RATE, CROSSOVER_RATE, NUMBER_DRONE);
 
 		// Calculate the boundary of time and cost
-		beeAlgorithm.calcMinTimeCost(fogDevices, cloudletList);
+		beeAlgorithm.calcMinTimeCost(problem);
 
 		// Initialize population
-		Population population = beeAlgorithm.initPopulation(cloudletList.size(), fogDevices.size() - 1);
+		Population population = beeAlgorithm.initPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(population, beeAlgorithm.getFitnessEngine());
+		}
 		beeAlgorithm.evalPopulation(population, fogDevices, cloudletList);
+		control.update(population.getFittest(0), 0);
+		recordTelemetry(control, population);
 
 		// Keep track of current generation
 		int generation = 1;
 
-		while (generation < NUMBER_ITERATION) {
-			System.out.println("\n------------- Generation " + generation + " --------------");
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
 
 			// Apply crossover
 			population = beeAlgorithm.crossoverPopulation(population, fogDevices, cloudletList);
@@ -221,13 +831,19 @@ public class SchedulingAlgorithm {
 			// Evaluate population
 			beeAlgorithm.evalPopulation(population, fogDevices, cloudletList);
 
-			population.getFittest(0).printGene();
-
-			// Print finest individual from population
-			System.out.println(
-					"\nBest solution of generation " + generation + ": " + population.getFittest(0).getFitness());
-			System.out.println("Makespan: (" + beeAlgorithm.getMinTime() + ")--" + population.getFittest(0).getTime());
-			System.out.println("TotalCost: (" + beeAlgorithm.getMinCost() + ")--" + population.getFittest(0).getCost());
+			if (verbose) {
+				population.getFittest(0).printGene();
+
+				// Print finest individual from population
+				System.out.println(
+						"\nBest solution of generation " + generation + ": " + population.getFittest(0).getFitness());
+				System.out.println(
+						"Makespan: (" + beeAlgorithm.getMinTime() + ")--" + population.getFittest(0).getTime());
+				System.out.println(
+						"TotalCost: (" + beeAlgorithm.getMinCost() + ")--" + population.getFittest(0).getCost());
+			}
+			control.update(population.getFittest(0));
+			recordTelemetry(control, population);
 			// Increment the current generation
 			generation++;
 //                                      population.printPopulation();
@@ -239,50 +855,91 @@ public class SchedulingAlgorithm {
 		 * promised.cloudletList.size(), fogDevices.size() - 1
 		 */
 
-		System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
-		System.out.println("Found solution in " + generation + " generations");
-		population.getFittest(0).printGene();
-		System.out.println("\nBest solution: " + population.getFittest(0).getFitness());
-		population.printPopulation();
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			population.getFittest(0).printGene();
+			System.out.println("\nBest solution: " + population.getFittest(0).getFitness());
+			population.printPopulation();
+		}
+		publish(problem, beeAlgorithm.getFitnessEngine(), population.getFittest(0).getChromosome());
 		return population.getFittest(0);
 	}
 
 	public static Particle runPSOAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runPSOAlgorithm(fogDevices, cloudletList, createControl(PSO));
+	}
+
+	public static Particle runPSOAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runPSOAlgorithm(fogDevices, cloudletList, control, null);
+	}
+
+	/**
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Particle runPSOAlgorithm(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control, int[] initial) {
+		return runPSOAlgorithm(new ProblemInstance(fogDevices, cloudletList), control, initial);
+	}
+
+	public static Particle runPSOAlgorithm(ProblemInstance problem, SearchControl control, int[] initial) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 
 		// Create GA object
 		PSOAlgorithm pso = new PSOAlgorithm(SchedulingAlgorithm.NUMBER_INDIVIDUAL);
 
 		// Calculate the boundary of time and cost
-		pso.calcMinTimeCost(fogDevices, cloudletList);
+		pso.calcMinTimeCost(problem);
 
 		// Initialize population
-		pso.initSwarmPopulation(cloudletList.size(), fogDevices.size() - 1);
+		pso.initSwarmPopulation(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (initial != null) {
+			pso.seedSwarmPopulation(initial, (int) (NUMBER_INDIVIDUAL * WARM_START_RATE));
+		}
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(pso.swarmPopulation, pso.getFitnessEngine());
+		}
 		pso.evalPopulation(fogDevices, cloudletList);
-		pso.swarmPopulation.printPopulation();
+		updateControl(control, pso.swarmPopulation.getgBest(), 0);
+		recordTelemetry(control, pso.swarmPopulation);
+		if (verbose) {
+			pso.swarmPopulation.printPopulation();
+		}
 
 		// Keep track of current generation
 		int generation = 1;
 
-		while (generation < NUMBER_ITERATION) {
-			System.out.println("\n------------- Generation " + generation + " --------------");
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
 
 			// Apply crossover
 			pso.updatePosition(fogDevices, cloudletList);
 
 //			pso.updateGBest();
 			
-			pso.setW((float) (0.9 - 0.8 * (float) generation/ NUMBER_ITERATION)); 
+			// the inertia decreases over NUMBER_ITERATION generations, then stays
+			pso.setW((float) (0.9 - 0.8 * (float) Math.min(generation, NUMBER_ITERATION) / NUMBER_ITERATION));
 			
 
 			// Print fittest individual from population
-			System.out.println(
-					"\nBest solution of generation " + generation + ": " + pso.swarmPopulation.getgBest().getFitness());
-			System.out.println("Makespan: (" + pso.getMinTime() + ")--" + pso.swarmPopulation.getgBest().getTime());
-			System.out.println("TotalCost: (" + pso.getMinCost() + ")--" + pso.swarmPopulation.getgBest().getCost());
-			System.out.println(pso.getW());
+			if (verbose) {
+				System.out.println("\nBest solution of generation " + generation + ": "
+						+ pso.swarmPopulation.getgBest().getFitness());
+				System.out.println("Makespan: (" + pso.getMinTime() + ")--" + pso.swarmPopulation.getgBest().getTime());
+				System.out.println("TotalCost: (" + pso.getMinCost() + ")--" + pso.swarmPopulation.getgBest().getCost());
+				System.out.println(pso.getW());
+				System.out.println(pso.swarmPopulation.getSwarmPopulation().get(0).getVelocity());
+			}
+			updateControl(control, pso.swarmPopulation.getgBest(), 1);
+			recordTelemetry(control, pso.swarmPopulation);
 			// Increment the current generation
 			generation++;
-			System.out.println(pso.swarmPopulation.getSwarmPopulation().get(0).getVelocity());
 			
 		}
 
@@ -291,27 +948,377 @@ public class SchedulingAlgorithm {
 		 * hands. Let's print it out to confirm that it is actually all ones, as
 		 * promised.
 		 */
-		pso.swarmPopulation.printPopulation();
+		if (verbose) {
+			pso.swarmPopulation.printPopulation();
 
-		System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
-		System.out.println("Found solution in " + generation + " generations");
-		System.out.println("\nBest solution: " + pso.swarmPopulation.getgBest().getFitness());
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			System.out.println("\nBest solution: " + pso.swarmPopulation.getgBest().getFitness());
+		}
 		
+		publish(problem, pso.getFitnessEngine(), pso.swarmPopulation.getgBest().getChromosome());
 		return pso.swarmPopulation.getgBest();
 	}
 	
+	// record the gBest of the swarm
+	private static void updateControl(SearchControl control, Particle gBest, int generations) {
+		control.update(gBest.getChromosome(), gBest.getFitness(), gBest.getTime(), gBest.getCost(), generations);
+	}
+
+	// PSO run on a CompactSwarm, the particles move in parallel
+	public static Individual runCompactPSOAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList) {
+		return runCompactPSOAlgorithm(fogDevices, cloudletList, createControl(PSO_COMPACT));
+	}
+
+	public static Individual runCompactPSOAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control) {
+		return runCompactPSOAlgorithm(fogDevices, cloudletList, control, null);
+	}
+
+	/**
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runCompactPSOAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control, int[] initial) {
+		return runCompactPSOAlgorithm(new ProblemInstance(fogDevices, cloudletList), control, initial);
+	}
+
+	public static Individual runCompactPSOAlgorithm(ProblemInstance problem, SearchControl control, int[] initial) {
+		control.start();
+		CompactPSOAlgorithm pso = new CompactPSOAlgorithm(NUMBER_INDIVIDUAL);
+
+		// Calculate the boundary of time and cost
+		pso.calcMinTimeCost(problem);
+
+		// Initialize and evaluate the swarm
+		CompactSwarm swarm = pso.initSwarm(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (initial != null) {
+			swarm.seed(initial, (int) (NUMBER_INDIVIDUAL * WARM_START_RATE));
+		}
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(swarm, pso.getFitnessEngine());
+		}
+		pso.evalSwarm(swarm);
+		updateControl(control, swarm, 0);
+		recordTelemetry(control, swarm);
+
+		// Keep track of current generation
+		int generation = 1;
+
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
+
+			// Move and evaluate the particles
+			pso.updatePosition(swarm);
+
+			// the inertia decreases over NUMBER_ITERATION generations, then stays
+			pso.setW((float) (0.9 - 0.8 * (float) Math.min(generation, NUMBER_ITERATION) / NUMBER_ITERATION));
+
+			if (verbose) {
+				System.out.println("\nBest solution of generation " + generation + ": " + swarm.getGBestFitness());
+				System.out.println("Makespan: (" + pso.getMinTime() + ")--" + swarm.getGBestTime());
+				System.out.println("TotalCost: (" + pso.getMinCost() + ")--" + swarm.getGBestCost());
+			}
+			updateControl(control, swarm, 1);
+			recordTelemetry(control, swarm);
+			// Increment the current generation
+			generation++;
+		}
+
+		Individual solution = swarm.toIndividual();
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			System.out.println("\nBest solution: " + solution.getFitness());
+		}
+
+		publish(problem, pso.getFitnessEngine(), solution.getChromosome());
+		return solution;
+	}
+
+	private static void updateControl(SearchControl control, CompactSwarm swarm, int generations) {
+		control.update(swarm.getGBestPosition(), swarm.getGBestFitness(), swarm.getGBestTime(), swarm.getGBestCost(),
+				generations);
+	}
+
+	// ACO run, the ants of an iteration are built in parallel
+	public static Individual runAntColonyAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList) {
+		return runAntColonyAlgorithm(fogDevices, cloudletList, createControl(ACO));
+	}
+
+	public static Individual runAntColonyAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control) {
+		return runAntColonyAlgorithm(fogDevices, cloudletList, control, null);
+	}
+
+	/**
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet,
+	 *                or null for a cold start
+	 */
+	public static Individual runAntColonyAlgorithm(List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control, int[] initial) {
+		return runAntColonyAlgorithm(new ProblemInstance(fogDevices, cloudletList), control, initial);
+	}
+
+	public static Individual runAntColonyAlgorithm(ProblemInstance problem, SearchControl control, int[] initial) {
+		control.start();
+		AntColonyAlgorithm aco = new AntColonyAlgorithm(NUMBER_ANT);
+
+		// Calculate the boundary of time and cost
+		aco.calcMinTimeCost(problem);
+
+		// Initialize the colony, its first iteration is the initial generation
+		AntColony colony = aco.initColony(problem.getNumberCloudlets(), problem.getMaxValue());
+		if (initial != null) {
+			aco.warmStart(initial, (int) (NUMBER_ANT * WARM_START_RATE));
+		}
+		if (control.isHeuristicSeeding()) {
+			HeuristicSeeding.seed(colony, aco.getFitnessEngine());
+		}
+		aco.iterate(colony);
+		updateControl(control, colony, 0);
+		recordTelemetry(control, colony);
+
+		// Keep track of current generation
+		int generation = 1;
+
+		while (!control.isTerminated()) {
+			if (verbose) {
+				System.out.println("\n------------- Generation " + generation + " --------------");
+			}
+
+			// Build the ants and update the pheromone
+			aco.iterate(colony);
+
+			if (verbose) {
+				System.out.println("\nBest solution of generation " + generation + ": " + colony.getBestFitness());
+				System.out.println("Makespan: (" + aco.getMinTime() + ")--" + colony.getBestTime());
+				System.out.println("TotalCost: (" + aco.getMinCost() + ")--" + colony.getBestCost());
+			}
+			updateControl(control, colony, 1);
+			recordTelemetry(control, colony);
+			// Increment the current generation
+			generation++;
+		}
+
+		Individual solution = colony.toIndividual();
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("Found solution in " + generation + " generations");
+			System.out.println("\nBest solution: " + solution.getFitness());
+		}
+
+		publish(problem, aco.getFitnessEngine(), solution.getChromosome());
+		return solution;
+	}
+
+	private static void updateControl(SearchControl control, AntColony colony, int generations) {
+		control.update(colony.getBestTour(), colony.getBestFitness(), colony.getBestTime(), colony.getBestCost(),
+				generations);
+	}
+
 	public static Individual runRoundRobin(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		return runRoundRobin(fogDevices, cloudletList, createControl(RR));
+	}
+
+	public static Individual runRoundRobin(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList,
+			SearchControl control) {
+		return runRoundRobin(new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runRoundRobin(ProblemInstance problem, SearchControl control) {
+		List<FogDevice> fogDevices = problem.getFogDevices();
+		List<? extends Cloudlet> cloudletList = problem.getCloudletList();
+		control.start();
 
 		// Create RR object
-		RRAlgorithm rr = new RRAlgorithm(cloudletList.size(), fogDevices.size() - 1);
+		RRAlgorithm rr = new RRAlgorithm(problem.getNumberCloudlets(), problem.getMaxValue());
 		// Calculate the boundary of time and cost
-		rr.calcMinTimeCost(fogDevices, cloudletList);
+		rr.calcMinTimeCost(problem);
 
 		Individual solution = rr.calcSolution(fogDevices, cloudletList);
+		control.update(solution, 0);
+		recordTelemetry(control, solution);
 
-		System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
-		System.out.println("\nBest solution: " + solution.getFitness());
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("\nBest solution: " + solution.getFitness());
+		}
 		
+		publish(problem, rr.getFitnessEngine(), solution.getChromosome());
 		return rr.getSolution();
 	}
+
+	public static Individual runHeuristic(Heuristic heuristic, List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList) {
+		return runHeuristic(heuristic, fogDevices, cloudletList, createControl(heuristic.getName()));
+	}
+
+	/**
+	 * Schedule with a constructive heuristic, one step of the control
+	 */
+	public static Individual runHeuristic(Heuristic heuristic, List<FogDevice> fogDevices,
+			List<? extends Cloudlet> cloudletList, SearchControl control) {
+		return runHeuristic(heuristic, new ProblemInstance(fogDevices, cloudletList), control);
+	}
+
+	public static Individual runHeuristic(Heuristic heuristic, ProblemInstance problem, SearchControl control) {
+		control.start();
+		FitnessEngine fitnessEngine = new FitnessEngine(problem);
+
+		Individual solution = new Individual(problem.getNumberCloudlets());
+		int[] chromosome = heuristic.schedule(fitnessEngine);
+		System.arraycopy(chromosome, 0, solution.getChromosome(), 0, chromosome.length);
+		solution.setMaxValue(problem.getMaxValue());
+		solution.rehash();
+		fitnessEngine.calcFitness(solution);
+		control.update(solution, 0);
+		recordTelemetry(control, solution);
+
+		if (verbose) {
+			System.out.println(">>>>>>>>>>>>>>>>>>>RESULTS<<<<<<<<<<<<<<<<<<<<<");
+			System.out.println("\nBest solution of " + heuristic.getName() + ": " + solution.getFitness());
+		}
+
+		publish(problem, fitnessEngine, solution.getChromosome());
+		return solution;
+	}
+
+	// publish a schedule to the assignment lists of the fogDevices, an instance
+	// without entities only returns it
+	private static void publish(ProblemInstance problem, FitnessEngine fitnessEngine, int[] chromosome) {
+		if (problem.hasEntities()) {
+			fitnessEngine.applyAssignment(chromosome, problem.getFogDevices());
+		}
+	}
+
+	// record a generation of a population in the telemetry of the control
+	private static void recordTelemetry(SearchControl control, Population population) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		Individual fittest = population.getFittest(0);
+		double totalFitness = 0;
+		for (Individual individual : population.getPopulation()) {
+			totalFitness += individual.getFitness();
+		}
+		telemetry.record(control.getGeneration(), fittest.getFitness(), totalFitness / population.size(),
+				fittest.getTime(), fittest.getCost(), Diversity.of(population), control.getElapsedNanos());
+	}
+
+	// record the fittest individual of all islands, the mean and diversity of
+	// all their individuals
+	private static void recordTelemetry(SearchControl control, IslandGeneticAlgorithm islandGa) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		Population all = new Population();
+		for (int island = 0; island < NUMBER_ISLAND; island++) {
+			all.getPopulation().addAll(islandGa.getPopulation(island).getPopulation());
+		}
+		Individual fittest = islandGa.getFittest();
+		double totalFitness = 0;
+		for (Individual individual : all.getPopulation()) {
+			totalFitness += individual.getFitness();
+		}
+		telemetry.record(control.getGeneration(), fittest.getFitness(), totalFitness / all.size(),
+				fittest.getTime(), fittest.getCost(), Diversity.of(all), control.getElapsedNanos());
+	}
+
+	// record the fittest individual of a NSGA-II population by the weighted
+	// fitness, with the mean and diversity of the population
+	private static void recordTelemetry(SearchControl control, NsgaIIAlgorithm nsga, Population population) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		Individual fittest = nsga.getFittest(population);
+		telemetry.record(control.getGeneration(), fittest.getFitness(),
+				population.getPopulationFitness() / population.size(), fittest.getTime(), fittest.getCost(),
+				Diversity.of(population), control.getElapsedNanos());
+	}
+
+	private static void recordTelemetry(SearchControl control, CompactPopulation population) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		int fittest = population.getFittest(0);
+		telemetry.record(control.getGeneration(), population.getFitness(fittest),
+				population.getPopulationFitness() / population.size(), population.getTime(fittest),
+				population.getCost(fittest), Diversity.of(population), control.getElapsedNanos());
+	}
+
+	private static void recordTelemetry(SearchControl control, SwarmPopulation swarmPopulation) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		Particle gBest = swarmPopulation.getgBest();
+		double totalFitness = 0;
+		for (Particle particle : swarmPopulation.getSwarmPopulation()) {
+			totalFitness += particle.getFitness();
+		}
+		telemetry.record(control.getGeneration(), gBest.getFitness(), totalFitness / swarmPopulation.size(),
+				gBest.getTime(), gBest.getCost(), Diversity.of(swarmPopulation), control.getElapsedNanos());
+	}
+
+	private static void recordTelemetry(SearchControl control, CompactSwarm swarm) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		telemetry.record(control.getGeneration(), swarm.getGBestFitness(), swarm.getSwarmFitness() / swarm.size(),
+				swarm.getGBestTime(), swarm.getGBestCost(), Diversity.of(swarm), control.getElapsedNanos());
+	}
+
+	private static void recordTelemetry(SearchControl control, AntColony colony) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		telemetry.record(control.getGeneration(), colony.getBestFitness(), colony.getColonyFitness() / colony.size(),
+				colony.getBestTime(), colony.getBestCost(), Diversity.of(colony), control.getElapsedNanos());
+	}
+
+	// record the best schedule of the walks and their mean, the diversity is not
+	// tracked
+	private static void recordTelemetry(SearchControl control, SampledLocalSearch search) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		telemetry.record(control.getGeneration(), search.getBestFitness(), search.getMeanFitness(),
+				search.getBestTime(), search.getBestCost(), Double.NaN, control.getElapsedNanos());
+	}
+
+	// record the best schedule of the walks and their mean, the diversity is not
+	// tracked
+	private static void recordTelemetry(SearchControl control, ParallelTabuSearch tabuSearch) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		ElitePool.Elite best = tabuSearch.getBest();
+		telemetry.record(control.getGeneration(), best.getFitness(), tabuSearch.getMeanFitness(), best.getTime(),
+				best.getCost(), Double.NaN, control.getElapsedNanos());
+	}
+
+	// record a single-solution step, the mean is the solution and the diversity
+	// is not defined
+	private static void recordTelemetry(SearchControl control, Individual individual) {
+		ConvergenceTelemetry telemetry = control.getTelemetry();
+		if (telemetry == null) {
+			return;
+		}
+		telemetry.record(control.getGeneration(), individual.getFitness(), individual.getFitness(),
+				individual.getTime(), individual.getCost(), Double.NaN, control.getElapsedNanos());
+	}
 }
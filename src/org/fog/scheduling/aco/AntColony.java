@@ -0,0 +1,216 @@
+package org.fog.scheduling.aco;
+
+import java.util.Arrays;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.Individual;
+
+/**
+ * The ants and the pheromone of an ant colony, stored as arrays of primitives
+ * like a CompactSwarm.
+ *
+ * The pheromone is one float[] matrix, the pheromone of cloudlet i on fogDevice
+ * j at i * numberDevices + j, so the pheromone of a cloudlet is contiguous. The
+ * tours of all ants are stored in one int[], the tour of ant a starting at
+ * a * tourLength; a tour is a chromosome. Once created, the colony does not
+ * allocate memory.
+ */
+public class AntColony {
+
+	private final int numberAnts;
+	private final int tourLength;
+	private final int numberDevices;
+
+	private final float[] pheromone;
+
+	private final int[] tours;
+	private final double[] fitness;
+	private final double[] time;
+	private final double[] cost;
+
+	// the best tour found so far
+	private final int[] bestTour;
+	private double bestFitness = -1;
+	private double bestTime;
+	private double bestCost;
+
+	// scratch buffers of the construction and the evaluation, one per ant so
+	// ants can be built concurrently
+	private final double[][] deviceTime;
+	private final float[][] weights;
+
+	public AntColony(int numberAnts, int tourLength, int numberDevices) {
+		this.numberAnts = numberAnts;
+		this.tourLength = tourLength;
+		this.numberDevices = numberDevices;
+		this.pheromone = new float[tourLength * numberDevices];
+		this.tours = new int[numberAnts * tourLength];
+		this.fitness = new double[numberAnts];
+		this.time = new double[numberAnts];
+		this.cost = new double[numberAnts];
+		this.bestTour = new int[tourLength];
+		this.deviceTime = new double[numberAnts][numberDevices];
+		this.weights = new float[numberAnts][numberDevices];
+		Arrays.fill(pheromone, 1);
+		Arrays.fill(fitness, -1);
+	}
+
+	/**
+	 * Evaluate the tour of an ant. Ants may be evaluated concurrently.
+	 *
+	 * @return the fitness of the ant
+	 */
+	public double evaluate(int ant, FitnessEngine fitnessEngine) {
+		double totalCost = fitnessEngine.calcDeviceTime(tours, ant * tourLength, deviceTime[ant]);
+		double makespan = fitnessEngine.calcMakespan(deviceTime[ant]);
+		time[ant] = makespan;
+		cost[ant] = totalCost;
+		fitness[ant] = fitnessEngine.calcFitness(makespan, totalCost);
+		return fitness[ant];
+	}
+
+	/**
+	 * Find the fittest ant of the iteration and make its tour the best tour if it
+	 * is better. The ants are scanned in order and only a strictly better tour
+	 * replaces the best, so the result does not depend on the order of the
+	 * constructions.
+	 *
+	 * @return the fittest ant of the iteration
+	 */
+	public int updateBest() {
+		int iterationBest = 0;
+		for (int ant = 1; ant < numberAnts; ant++) {
+			if (fitness[ant] > fitness[iterationBest]) {
+				iterationBest = ant;
+			}
+		}
+		if (fitness[iterationBest] > bestFitness) {
+			System.arraycopy(tours, iterationBest * tourLength, bestTour, 0, tourLength);
+			bestFitness = fitness[iterationBest];
+			bestTime = time[iterationBest];
+			bestCost = cost[iterationBest];
+		}
+		return iterationBest;
+	}
+
+	/**
+	 * Make a schedule the best tour if it is better, e.g. the schedule of a
+	 * heuristic
+	 *
+	 * @return true if the best tour changed
+	 */
+	public boolean offer(int[] schedule, FitnessEngine fitnessEngine) {
+		double[] scratch = deviceTime[0];
+		double totalCost = fitnessEngine.calcDeviceTime(schedule, scratch);
+		double makespan = fitnessEngine.calcMakespan(scratch);
+		double scheduleFitness = fitnessEngine.calcFitness(makespan, totalCost);
+		if (scheduleFitness <= bestFitness) {
+			return false;
+		}
+		System.arraycopy(schedule, 0, bestTour, 0, tourLength);
+		bestFitness = scheduleFitness;
+		bestTime = makespan;
+		bestCost = totalCost;
+		return true;
+	}
+
+	// set the pheromone of every cloudlet on every fogDevice
+	public void fill(float value) {
+		Arrays.fill(pheromone, value);
+	}
+
+	/**
+	 * Evaporate the pheromone and keep it in [min, max]. The loop over the
+	 * matrix has no branch, so the JIT vectorizes it.
+	 */
+	public void evaporate(float rho, float min, float max) {
+		float persistence = 1 - rho;
+		for (int cell = 0; cell < pheromone.length; cell++) {
+			pheromone[cell] = Math.max(min, Math.min(max, persistence * pheromone[cell]));
+		}
+	}
+
+	/**
+	 * Deposit pheromone on the cells of a tour, stored in a larger array starting
+	 * at offset, without exceeding max
+	 */
+	public void deposit(int[] tour, int offset, float amount, float max) {
+		for (int cloudletIndex = 0; cloudletIndex < tourLength; cloudletIndex++) {
+			int cell = cloudletIndex * numberDevices + tour[offset + cloudletIndex];
+			pheromone[cell] = Math.min(max, pheromone[cell] + amount);
+		}
+	}
+
+	// copy the best tour to an Individual object
+	public Individual toIndividual() {
+		Individual individual = new Individual(tourLength);
+		System.arraycopy(bestTour, 0, individual.getChromosome(), 0, tourLength);
+		individual.setMaxValue(numberDevices - 1);
+		individual.setFitness(bestFitness);
+		individual.setTime(bestTime);
+		individual.setCost(bestCost);
+		individual.rehash();
+		return individual;
+	}
+
+	// the pheromone, see the class comment for the layout
+	public float[] getPheromone() {
+		return pheromone;
+	}
+
+	// the tours, ant a starts at a * tourLength
+	public int[] getTours() {
+		return tours;
+	}
+
+	public int[] getBestTour() {
+		return bestTour;
+	}
+
+	// the scratch buffer of the fogDevice times of an ant
+	public double[] getDeviceTime(int ant) {
+		return deviceTime[ant];
+	}
+
+	// the scratch buffer of the fogDevice weights of an ant
+	public float[] getWeights(int ant) {
+		return weights[ant];
+	}
+
+	public double getFitness(int ant) {
+		return fitness[ant];
+	}
+
+	public double getBestFitness() {
+		return bestFitness;
+	}
+
+	public double getBestTime() {
+		return bestTime;
+	}
+
+	public double getBestCost() {
+		return bestCost;
+	}
+
+	// the sum of the fitness of the ants of the iteration
+	public double getColonyFitness() {
+		double totalFitness = 0;
+		for (int ant = 0; ant < numberAnts; ant++) {
+			totalFitness += fitness[ant];
+		}
+		return totalFitness;
+	}
+
+	public int getTourLength() {
+		return tourLength;
+	}
+
+	public int getNumberDevices() {
+		return numberDevices;
+	}
+
+	public int size() {
+		return numberAnts;
+	}
+}
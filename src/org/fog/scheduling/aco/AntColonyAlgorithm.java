@@ -0,0 +1,279 @@
+package org.fog.scheduling.aco;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * MAX-MIN ant colony optimization on an AntColony.
+ *
+ * An ant assigns the cloudlets in decreasing order of their shortest execution
+ * time, like a list scheduler. Cloudlet i goes to fogDevice j with a
+ * probability proportional to pheromone(i, j) * eta(i, j)^2, the
+ * desirability eta being the inverse of the weighted sum, as in the fitness, of
+ *
+ * - the completion time of i on j after the cloudlets already on j, over the
+ * earliest completion time of i on any fogDevice;
+ * - the cost of i on j over the lowest cost of i.
+ *
+ * With probability Q0 the ant takes the most probable fogDevice instead.
+ *
+ * Ants are built and evaluated in parallel, each with its own random generator
+ * split when the algorithm is created and its own scratch buffers in the
+ * colony, so a seeded run is reproducible whatever the number of threads.
+ * Then the pheromone evaporates and the iteration-best tour deposits its
+ * fitness, the best tour every GLOBAL_BEST_INTERVAL iterations. The pheromone
+ * stays in [tauMin, tauMax], tauMax being the steady state of the deposits of
+ * the best tour.
+ */
+public class AntColonyAlgorithm {
+
+	// the number of ants built by one task of a parallel iteration
+	public static final int SEQUENTIAL_THRESHOLD = 2;
+
+	// the evaporation rate of the pheromone
+	public static final float RHO = 0.1f;
+	// the probability to take the most probable fogDevice
+	public static final double Q0 = 0.9;
+	// tauMin / tauMax
+	public static final float MIN_MAX_RATIO = 0.01f;
+	// the best tour deposits instead of the iteration-best one every
+	// GLOBAL_BEST_INTERVAL iterations
+	public static final int GLOBAL_BEST_INTERVAL = 5;
+
+	private int numberAnts;
+
+	private FitnessEngine fitnessEngine;
+	private SplittableRandom[] randoms;
+
+	// the cloudlets in decreasing order of their shortest execution time
+	private int[] order;
+	// the cost of cloudlet i on fogDevice j over the lowest cost of i, at
+	// i * numberDevices + j
+	private float[] costRatio;
+
+	// the previous fogId of each cloudlet followed by the first ants of the
+	// first iteration, see warmStart
+	private int[] initial;
+	private int warmAnts;
+
+	private int iteration;
+
+	public AntColonyAlgorithm(int numberAnts) {
+		this.numberAnts = numberAnts;
+		this.randoms = new SplittableRandom[numberAnts];
+		for (int ant = 0; ant < numberAnts; ant++) {
+			randoms[ant] = Service.split();
+		}
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost, and the order and the cost
+	 * ratios of the construction
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+
+		final double[] shortest = new double[numberCloudlets];
+		costRatio = new float[numberCloudlets * numberDevices];
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			double minTime = Double.POSITIVE_INFINITY;
+			double minCost = Double.POSITIVE_INFINITY;
+			for (int fogId = 0; fogId < numberDevices; fogId++) {
+				minTime = Math.min(minTime, fitnessEngine.getTime(cloudletIndex, fogId));
+				minCost = Math.min(minCost, fitnessEngine.getCost(cloudletIndex, fogId));
+			}
+			shortest[cloudletIndex] = minTime;
+			for (int fogId = 0; fogId < numberDevices; fogId++) {
+				double cost = fitnessEngine.getCost(cloudletIndex, fogId);
+				costRatio[cloudletIndex * numberDevices + fogId] = minCost > 0 ? (float) (cost / minCost) : 1;
+			}
+		}
+
+		// sort the indexes by decreasing shortest time, ties by index
+		Integer[] sorted = new Integer[numberCloudlets];
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			sorted[cloudletIndex] = cloudletIndex;
+		}
+		Arrays.sort(sorted, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				int byTime = Double.compare(shortest[second], shortest[first]);
+				return byTime != 0 ? byTime : Integer.compare(first, second);
+			}
+		});
+		order = new int[numberCloudlets];
+		for (int rank = 0; rank < numberCloudlets; rank++) {
+			order[rank] = sorted[rank];
+		}
+	}
+
+	/**
+	 * Initialize the colony, its ants are built by iterate
+	 */
+	public AntColony initColony(int tourLength, int maxValue) {
+		iteration = 0;
+		return new AntColony(numberAnts, tourLength, maxValue + 1);
+	}
+
+	/**
+	 * In the first iteration, the first count ants keep the previous fogId of the
+	 * cloudlets scheduled before, see GeneticAlgorithm.seedPopulation
+	 */
+	public void warmStart(int[] initial, int count) {
+		this.initial = initial;
+		this.warmAnts = Math.min(count, numberAnts);
+	}
+
+	/**
+	 * Build and evaluate every ant in parallel, update the best tour, then the
+	 * pheromone
+	 */
+	public void iterate(AntColony colony) {
+		fitnessEngine.getPool().invoke(new ColonyTask(colony, 0, colony.size()));
+		int iterationBest = colony.updateBest();
+		updatePheromone(colony, iterationBest);
+		initial = null;
+		iteration++;
+	}
+
+	// build and evaluate the ants in [from, to)
+	private class ColonyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final AntColony colony;
+		private final int from;
+		private final int to;
+
+		ColonyTask(AntColony colony, int from, int to) {
+			this.colony = colony;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				for (int ant = from; ant < to; ant++) {
+					construct(colony, ant);
+					colony.evaluate(ant, fitnessEngine);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new ColonyTask(colony, from, middle), new ColonyTask(colony, middle, to));
+			}
+		}
+	}
+
+	/**
+	 * Build the tour of an ant, see the class comment
+	 */
+	public void construct(AntColony colony, int ant) {
+		SplittableRandom random = randoms[ant];
+		int tourLength = colony.getTourLength();
+		int numberDevices = colony.getNumberDevices();
+		int[] tours = colony.getTours();
+		float[] pheromone = colony.getPheromone();
+		double[] ready = colony.getDeviceTime(ant);
+		float[] weights = colony.getWeights(ant);
+		int[] fixed = ant < warmAnts ? initial : null;
+		double timeWeight = SchedulingAlgorithm.TIME_WEIGHT;
+
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			ready[fogId] = 0;
+		}
+		int tourOffset = ant * tourLength;
+		for (int rank = 0; rank < tourLength; rank++) {
+			int cloudletIndex = order[rank];
+			int start = cloudletIndex * numberDevices;
+			int fogId;
+			if (fixed != null && fixed[cloudletIndex] >= 0) {
+				fogId = fixed[cloudletIndex];
+			} else {
+				// the earliest completion time of the cloudlet
+				double earliest = Double.POSITIVE_INFINITY;
+				for (int y = 0; y < numberDevices; y++) {
+					earliest = Math.min(earliest, ready[y] + fitnessEngine.getTime(cloudletIndex, y));
+				}
+
+				// the cumulative weights of the fogDevices
+				float total = 0;
+				float maxWeight = -1;
+				int argMax = 0;
+				for (int y = 0; y < numberDevices; y++) {
+					double completion = ready[y] + fitnessEngine.getTime(cloudletIndex, y);
+					float eta = (float) (1 / (timeWeight * completion / earliest
+							+ (1 - timeWeight) * costRatio[start + y]));
+					float weight = pheromone[start + y] * eta * eta;
+					if (weight > maxWeight) {
+						maxWeight = weight;
+						argMax = y;
+					}
+					total += weight;
+					weights[y] = total;
+				}
+
+				if (random.nextDouble() < Q0) {
+					fogId = argMax;
+				} else {
+					float spin = (float) random.nextDouble() * total;
+					fogId = numberDevices - 1;
+					for (int y = 0; y < numberDevices - 1; y++) {
+						if (spin < weights[y]) {
+							fogId = y;
+							break;
+						}
+					}
+				}
+			}
+			tours[tourOffset + cloudletIndex] = fogId;
+			ready[fogId] += fitnessEngine.getTime(cloudletIndex, fogId);
+		}
+	}
+
+	/**
+	 * Evaporate the pheromone and deposit the fitness of the iteration-best tour
+	 * or the best tour. After the first iteration, every cell starts at tauMax.
+	 */
+	public void updatePheromone(AntColony colony, int iterationBest) {
+		float tauMax = (float) (colony.getBestFitness() / RHO);
+		float tauMin = tauMax * MIN_MAX_RATIO;
+		if (iteration == 0) {
+			colony.fill(tauMax);
+		}
+		colony.evaporate(RHO, tauMin, tauMax);
+		if (iteration % GLOBAL_BEST_INTERVAL == GLOBAL_BEST_INTERVAL - 1) {
+			colony.deposit(colony.getBestTour(), 0, (float) colony.getBestFitness(), tauMax);
+		} else {
+			colony.deposit(colony.getTours(), iterationBest * colony.getTourLength(),
+					(float) colony.getFitness(iterationBest), tauMax);
+		}
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return fitnessEngine;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+}
@@ -2,17 +2,38 @@ package org.fog.scheduling.bee;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.fog.entities.FogDevice;
 import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.fitness.FitnessState;
 import org.fog.scheduling.gaEntities.Individual;
 import org.fog.scheduling.gaEntities.Population;
 import org.fog.scheduling.gaEntities.Service;
 import org.fog.scheduling.localSearchAlgorithm.LocalSearchAlgorithm;
-
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * The bee algorithm: the queen (the fittest individual) mates with the drones
+ * (the next numberDrones individuals) and the workers (the other individuals)
+ * search food sources around themselves.
+ *
+ * The matings and the food source searches of a generation run in parallel on
+ * the pool of the FitnessEngine, each on its own individual and with the random
+ * generator of its rank, split when the algorithm is created. Their results are
+ * then merged into the population in rank order, so a seeded run is
+ * reproducible whatever the number of threads.
+ */
 public class BeeAlgorithm {
 
+        // the number of matings or food source searches run by one task
+        public static final int SEQUENTIAL_THRESHOLD = 4;
+        // the number of moves a worker tries to find a food source
+        public static final int FOOD_SOURCE_TRIALS = 100;
+
         private int populationSize;
 
         /**
@@ -41,7 +62,10 @@ public class BeeAlgorithm {
         private double minTime;
         private double minCost;
 
+        private FitnessEngine fitnessEngine;
 
+        // the random generator of each rank of the population
+        private SplittableRandom[] randoms;
 
         public BeeAlgorithm(int populationSize, double mutationRate, double crossoverRate, int numberDrones) {
                 this.populationSize = populationSize;
@@ -49,57 +73,23 @@ public class BeeAlgorithm {
                 this.crossoverRate = crossoverRate;
                 this.numberDrones = numberDrones;
                 this.numberWorkers = populationSize - 1 - numberDrones;
+                this.randoms = new SplittableRandom[populationSize];
+                for (int rank = 0; rank < populationSize; rank++) {
+                        randoms[rank] = Service.split();
+                }
         }
         /**
          * calculate the lower boundary of time and cost
          *
          */
         public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList)  {
-                this.minTime = calcMinTime(fogDevices, cloudletList);
-                this.minCost = calcMinCost(fogDevices, cloudletList);
-        }
-
-        private double calcMinCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-                double minCost = 0;
-                for(Cloudlet cloudlet : cloudletList) {
-                        double minCloudletCost = Double.MAX_VALUE;
-                        for(FogDevice fogDevice : fogDevices) {
-                                double cost = calcCost(cloudlet,fogDevice);
-                                if(minCloudletCost > cost) {
-                                        minCloudletCost = cost;
-                                }
-                        }
-                        // the minCost is defined as the sum of all minCloudletCost
-                        minCost += minCloudletCost;
-                }
-                return minCost;
+                calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
         }
 
-        // the method calculates the cost (G$) when a fogDevice executes a cloudlet
-        private double calcCost(Cloudlet cloudlet, FogDevice fogDevice) {
-                double cost = 0;
-                //cost includes the processing cost
-                cost += fogDevice.getCharacteristics().getCostPerSecond() * cloudlet.getCloudletLength( ) / fogDevice.getHost().getTotalMips();
-                // cost includes the memory cost
-                cost += fogDevice.getCharacteristics().getCostPerMem() * cloudlet.getMemRequired();
-                // cost includes the bandwidth cost
-                cost += fogDevice.getCharacteristics().getCostPerBw() * (cloudlet.getCloudletFileSize()  + cloudlet.getCloudletOutputSize());
-                return cost;
-        }
-
-        // the function calculate the lower bound of the solution about time execution
-        private double calcMinTime(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-                double minTime = 0;
-                double totalLength = 0;
-                double totalMips = 0;
-                for(Cloudlet cloudlet : cloudletList) {
-                        totalLength += cloudlet.getCloudletLength();
-                }
-                for(FogDevice fogDevice : fogDevices) {
-                        totalMips += fogDevice.getHost().getTotalMips();
-                }
-                minTime = totalLength / totalMips;
-                return minTime;
+        public void calcMinTimeCost(ProblemInstance problem) {
+                this.fitnessEngine = new FitnessEngine(problem);
+                this.minTime = fitnessEngine.getMinTime();
+                this.minCost = fitnessEngine.getMinCost();
         }
 
         /**
@@ -118,61 +108,15 @@ public class BeeAlgorithm {
         /**
          * Calculate fitness for an individual.
          *
-         * In this case, the fitness score is very simple: it's the number of ones
-         * in the chromosome. Don't forget that this method, and this whole
-         * GeneticAlgorithm class, is meant to solve the problem in the "AllOnesGA"
-         * class and example. For different problems, you'll need to create a
-         * different version of this method to appropriately calculate the fitness
-         * of an individual.
+         * The fitness is the weighted sum of the normalized makespan and total
+         * cost, evaluated by the FitnessEngine built in calcMinTimeCost.
          *
          * @param individual
          *            the individual to evaluate
          * @return double The fitness value for individual
          */
         public double calcFitness(Individual individual, List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-
-                // clear the fogDevice - task list before calculate
-                for(FogDevice fogDevice : fogDevices) {
-                        fogDevice.getCloudletListAssignment().clear();
-                }
-
-                // Loop over individual's genes to all the task assigned to the fogDevice
-                for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-                        //add current cloudlet to fog device respectively
-                        fogDevices.get(individual.getGene(geneIndex)).getCloudletListAssignment().add(cloudletList.get(geneIndex));
-                }
-
-                //Calculate makespan and cost
-                double makespan = 0;
-                double execTime = 0;
-                double totalCost = 0;
-                for(FogDevice fogDevice : fogDevices) {
-                        double totalLength = 0;
-                        for(Cloudlet cloudlet : fogDevice.getCloudletListAssignment()) {
-                                totalLength += cloudlet.getCloudletLength();
-                                // the total cost is sum of the cost execution of each cloudlet
-                                totalCost += calcCost(cloudlet, fogDevice);
-                        }
-                        // execTime is the time that fogDevice finishes its list cloudlet assignment
-                        execTime = totalLength / fogDevice.getHostList().get(0).getTotalMips();
-                        // makespan is defined as when the last cloudlet finished or when all fogDevice s finish its work.
-                        if (execTime > makespan) {
-                                makespan = execTime;
-                        }
-                }
-
-                //store makespan
-                individual.setTime(makespan);
-                //store cost
-                individual.setCost(totalCost);
-
-                // Calculate fitness
-                double fitness = SchedulingAlgorithm.TIME_WEIGHT * minTime / makespan
-                                        + (1 - SchedulingAlgorithm.TIME_WEIGHT) * minCost / totalCost;
-
-                // Store fitness
-                individual.setFitness(fitness);
-                return fitness;
+                return fitnessEngine.calcFitness(individual);
         }
 
         /**
@@ -190,13 +134,16 @@ public class BeeAlgorithm {
 
                 double populationFitness = 0;
 
-                // Loop over population evaluating individuals and summing population fitness
+                // Evaluate the individuals in parallel, then sum population fitness in order
+                fitnessEngine.calcFitness(population.getPopulation());
                 for (Individual individual : population.getPopulation()) {
-                        populationFitness += calcFitness(individual, fogDevices, cloudletList);
+                        populationFitness += individual.getFitness();
                 }
 
                 //sort population with increasing fitness value
                 population.sortPopulation();
+                // the individuals may have been changed since the last evaluation
+                population.invalidateChromosomeIndex();
 
                 population.setPopulationFitness(populationFitness);
                 return population;
@@ -235,7 +182,7 @@ public class BeeAlgorithm {
 
                 // Spin roulette wheel
                 double populationFitness = population.getPopulationFitness();
-                double rouletteWheelPosition = Math.random() * populationFitness;
+                double rouletteWheelPosition = Service.random() * populationFitness;
 
                 // Find parent
                 double spinWheel = 0;
@@ -249,37 +196,84 @@ public class BeeAlgorithm {
         }
 
         /**
-         * Apply crossover to population
+         * Apply crossover to population: each drone mates with the queen, in
+         * parallel, and an offspring at least as good as its drone and new to
+         * the population replaces the drone. The offspring are merged in the
+         * order of the drones.
+         *
          * @param population
          *            The population to apply crossover to
          * @return The new population
          */
         public Population crossoverPopulation(Population population, List<FogDevice> fogDevices, List<?  extends Cloudlet> cloudletList) {
                 Individual queen = population.getFittest(0);
-                // Loop over current population by fitness
-                for (int dronesIndex = 1; dronesIndex < (numberDrones + 1); dronesIndex++) {
-                        Individual husband = population.getFittest(dronesIndex);
-
-                        // Apply crossover to this individual?
-                        if (this.crossoverRate > Math.random()) {
-                                // Initialize offspring
-                                Individual offspring = new Individual(husband.getChromosomeLength());
+                int numberMatings = Math.min(numberDrones, population.size() - 1);
+                Individual[] drones = new Individual[numberMatings];
+                for (int droneIndex = 0; droneIndex < numberMatings; droneIndex++) {
+                        drones[droneIndex] = population.getFittest(droneIndex + 1);
+                }
+                Individual[] offspring = new Individual[numberMatings];
+                fitnessEngine.getPool().invoke(new MatingTask(queen, drones, offspring, 0, numberMatings));
+
+                // index the chromosomes so the duplicate checks are constant time
+                population.indexChromosomes();
+                for (int droneIndex = 0; droneIndex < numberMatings; droneIndex++) {
+                        if (offspring[droneIndex] != null && drones[droneIndex].getFitness() <= offspring[droneIndex].getFitness()
+                                        && !doesPopupationIncludeIndividual(population, offspring[droneIndex])) {
+                                population.removeIndividual(drones[droneIndex]);
+                                population.addIndividual(offspring[droneIndex]);
+                        }
+                }
+                return population;
+        }
 
-                                offspring = crossover2Point(husband, queen);
+        // mate the drones in [from, to) with the queen, an offspring is null if
+        // the drone does not mate
+        private class MatingTask extends RecursiveAction {
+                private static final long serialVersionUID = 1L;
+
+                private final Individual queen;
+                private final Individual[] drones;
+                private final Individual[] offspring;
+                private final int from;
+                private final int to;
+
+                MatingTask(Individual queen, Individual[] drones, Individual[] offspring, int from, int to) {
+                        this.queen = queen;
+                        this.drones = drones;
+                        this.offspring = offspring;
+                        this.from = from;
+                        this.to = to;
+                }
 
-                                if(husband.getFitness() <= calcFitness(offspring, fogDevices, cloudletList)
-                                                && !doesPopupationIncludeIndividual(population, offspring)) {
-                                        population.getPopulation().remove(husband);
-                                        population.getPopulation().add(offspring);
+                @Override
+                protected void compute() {
+                        if (to - from > SEQUENTIAL_THRESHOLD) {
+                                int middle = (from + to) >>> 1;
+                                invokeAll(new MatingTask(queen, drones, offspring, from, middle),
+                                                new MatingTask(queen, drones, offspring, middle, to));
+                                return;
+                        }
+                        SplittableRandom previous = Service.current();
+                        try {
+                                for (int droneIndex = from; droneIndex < to; droneIndex++) {
+                                        // the drone of rank droneIndex + 1 draws from the generator of its rank
+                                        Service.setCurrent(randoms[droneIndex + 1]);
+                                        if (crossoverRate > Service.random()) {
+                                                offspring[droneIndex] = crossover2Point(drones[droneIndex], queen);
+                                                fitnessEngine.calcFitness(offspring[droneIndex]);
+                                        }
                                 }
+                        } finally {
+                                Service.setCurrent(previous);
                         }
                 }
-                return population;
         }
 
         // crossover 2 points between 2 parents and create an offspring
         public Individual crossover2Point(Individual parent1, Individual parent2) {
                 Individual offspring = new Individual(parent1.getChromosomeLength());
+                offspring.setMaxValue(parent1.getMaxValue());
                 int crossoverPoint1 = Service.rand(0, parent1.getChromosomeLength()-1);
                 int crossoverPoint2 = Service.rand(crossoverPoint1 + 1, crossoverPoint1 + parent1.getChromosomeLength());
 
@@ -371,7 +365,7 @@ public class BeeAlgorithm {
                 // Loop over current population by fitness
                 for (int populationIndex = 1; populationIndex < population.size(); populationIndex++) {
                         // if the current individual is selected to mutation phase
-                        if (this.mutationRate > Math.random()) {
+                        if (this.mutationRate > Service.random()) {
                                 Individual individual = population.getFittest(populationIndex);
                                 individual = this.mutateIndividual(individual);
                         }
@@ -385,24 +379,9 @@ public class BeeAlgorithm {
                 return individual;
         }
 
+        // check with the chromosome hashes if the population includes the individual
         public boolean doesPopupationIncludeIndividual(Population population, Individual individual) {
-                boolean include = false;
-                for(int index = 0; index < population.size(); index++) {
-                        boolean similar = true;
-                        if(individual.getFitness() == population.getIndividual(index).getFitness()) {
-                                for(int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-                                        if(individual.getGene(geneIndex) != population.getIndividual(index).getGene(geneIndex)) {
-                                                similar = false;
-                                        }
-                                }
-                                if(similar == true) {
-                                        include = true;
-                                        break;
-                                }
-                        }
-                        if (include == true) break;
-                }
-                return include;
+                return population.includes(individual);
         }
 
         public double getMinTime() {
@@ -413,40 +392,101 @@ public class BeeAlgorithm {
                 return this.minCost;
         }
 
+        public FitnessEngine getFitnessEngine() {
+                return this.fitnessEngine;
+        }
+
         public boolean isSameIndividual(Individual individual1, Individual individual2) {
-                boolean same = true;
-                for(int geneIndex = 0; geneIndex < individual1.getChromosomeLength(); geneIndex++) {
-                        if(individual1.getGene(geneIndex)!= individual2.getGene(geneIndex)) {
-                                same = false;
-                                break;
-                        }
-                }
-                return same;
+                return individual1.hasSameChromosome(individual2);
         }
 
-        //find food sources - done by workers
+        /**
+         * Find food sources - done by workers, in parallel. A food source found by
+         * a worker replaces it if it is new to the population; the food sources
+         * are merged in the order of the workers.
+         */
         public Population findFoodSource(Population population, List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-
-                for(int workerIndex = numberDrones + 1; workerIndex < population.size(); workerIndex++) {
-                        this.findFoodSourceByWorker(population.getIndividual(workerIndex), fogDevices, cloudletList);
+                int firstWorker = numberDrones + 1;
+                int numberSearches = Math.max(0, population.size() - firstWorker);
+                Individual[] workers = new Individual[numberSearches];
+                for (int workerIndex = 0; workerIndex < numberSearches; workerIndex++) {
+                        workers[workerIndex] = population.getIndividual(firstWorker + workerIndex);
                 }
+                Individual[] foodSources = new Individual[numberSearches];
+                fitnessEngine.getPool().invoke(new FoodSourceTask(workers, foodSources, firstWorker, 0, numberSearches));
 
+                population.indexChromosomes();
+                for (int workerIndex = 0; workerIndex < numberSearches; workerIndex++) {
+                        if (foodSources[workerIndex] != null && !doesPopupationIncludeIndividual(population, foodSources[workerIndex])) {
+                                population.setIndividual(firstWorker + workerIndex, foodSources[workerIndex]);
+                        }
+                }
                 return population;
         }
 
-        public Individual findFoodSourceByWorker(Individual individual, List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-                Individual newIndividual = new Individual(individual.getChromosomeLength());
-                for(int geneIndex = 0; geneIndex < newIndividual.getChromosomeLength(); geneIndex++) {
-                        newIndividual.setGene(geneIndex, individual.getGene(geneIndex));
+        // search the food sources of the workers in [from, to), a food source is
+        // null if the worker found none
+        private class FoodSourceTask extends RecursiveAction {
+                private static final long serialVersionUID = 1L;
+
+                private final Individual[] workers;
+                private final Individual[] foodSources;
+                private final int firstWorker;
+                private final int from;
+                private final int to;
+
+                FoodSourceTask(Individual[] workers, Individual[] foodSources, int firstWorker, int from, int to) {
+                        this.workers = workers;
+                        this.foodSources = foodSources;
+                        this.firstWorker = firstWorker;
+                        this.from = from;
+                        this.to = to;
+                }
+
+                @Override
+                protected void compute() {
+                        if (to - from > SEQUENTIAL_THRESHOLD) {
+                                int middle = (from + to) >>> 1;
+                                invokeAll(new FoodSourceTask(workers, foodSources, firstWorker, from, middle),
+                                                new FoodSourceTask(workers, foodSources, firstWorker, middle, to));
+                                return;
+                        }
+                        FitnessState state = new FitnessState(fitnessEngine);
+                        for (int workerIndex = from; workerIndex < to; workerIndex++) {
+                                foodSources[workerIndex] = findFoodSourceByWorker(workers[workerIndex], state,
+                                                randoms[firstWorker + workerIndex]);
+                        }
                 }
-                int count = 100;
+        }
+
+        /**
+         * Move two random cloudlets of the worker, up to FOOD_SOURCE_TRIALS times,
+         * until the schedule is at least as good as the worker. The moves are
+         * evaluated by the state, from the fogDevice loads.
+         *
+         * @return the food source, or null if none is as good as the worker
+         */
+        public Individual findFoodSourceByWorker(Individual individual, FitnessState state, SplittableRandom random) {
+                int chromosomeLength = individual.getChromosomeLength();
+                int[] chromosome = individual.getChromosome().clone();
+                state.load(chromosome);
+                int count = FOOD_SOURCE_TRIALS;
                 do {
-                        newIndividual.setGene(Service.rand(0, individual.getChromosomeLength() - 1), Service.rand(0, individual.getMaxValue()));
-                        newIndividual.setGene(Service.rand(0, individual.getChromosomeLength() - 1), Service.rand(0, individual.getMaxValue()));
+                        state.setGene(random.nextInt(chromosomeLength), random.nextInt(individual.getMaxValue() + 1));
+                        state.setGene(random.nextInt(chromosomeLength), random.nextInt(individual.getMaxValue() + 1));
                         count--;
-                } while (calcFitness(newIndividual, fogDevices, cloudletList) < individual.getFitness()
-                                && count > 0);
-                individual = newIndividual;
-                return individual;
+                } while (state.getFitness() < individual.getFitness() && count > 0);
+                if (state.getFitness() < individual.getFitness()) {
+                        return null;
+                }
+
+                Individual foodSource = new Individual(chromosomeLength);
+                System.arraycopy(chromosome, 0, foodSource.getChromosome(), 0, chromosomeLength);
+                foodSource.setMaxValue(individual.getMaxValue());
+                foodSource.rehash();
+                foodSource.setFitness(state.getFitness());
+                foodSource.setTime(state.getMakespan());
+                foodSource.setCost(state.getTotalCost());
+                return foodSource;
         }
 }
@@ -0,0 +1,116 @@
+package org.fog.scheduling.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * A minimal micro-benchmark harness: warm-up iterations, then measurement
+ * iterations of a fixed duration, reporting the throughput and the bytes
+ * allocated per operation by the benchmark thread.
+ *
+ * The allocation is read from com.sun.management.ThreadMXBean, available on
+ * HotSpot and OpenJ9; other JVMs report -1. Only the benchmark thread is
+ * counted, not the pool threads of the parallel evaluations.
+ */
+public class BenchmarkHarness {
+
+	public static final int WARMUP_ITERATIONS = 3;
+	public static final int MEASUREMENT_ITERATIONS = 5;
+	public static final long ITERATION_MILLIS = 200;
+
+	private static final PrintStream STDOUT = System.out;
+	private static final PrintStream NULL_OUT = new PrintStream(new OutputStream() {
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	});
+
+	private int warmupIterations = WARMUP_ITERATIONS;
+	private int measurementIterations = MEASUREMENT_ITERATIONS;
+	private long iterationMillis = ITERATION_MILLIS;
+
+	// keep the results of the operations from being optimized away
+	private static volatile Object sink;
+	private static volatile double doubleSink;
+
+	/**
+	 * Measure an operation
+	 *
+	 * @return the result, without fitness
+	 */
+	public BenchmarkResult measure(String benchmark, String instance, BenchmarkOperation operation) {
+		for (int iteration = 0; iteration < warmupIterations; iteration++) {
+			runIteration(operation);
+		}
+		long operations = 0;
+		long nanos = 0;
+		long startBytes = allocatedBytes();
+		for (int iteration = 0; iteration < measurementIterations; iteration++) {
+			long start = System.nanoTime();
+			operations += runIteration(operation);
+			nanos += System.nanoTime() - start;
+		}
+		long bytes = allocatedBytes() - startBytes;
+		return new BenchmarkResult(benchmark, instance, operations * 1e9 / nanos,
+				startBytes < 0 ? -1 : (double) bytes / operations, Double.NaN, Double.NaN);
+	}
+
+	// run the operation for iterationMillis, return the number of operations
+	private long runIteration(BenchmarkOperation operation) {
+		long end = System.nanoTime() + iterationMillis * 1000000L;
+		long operations = 0;
+		do {
+			operation.run();
+			operations++;
+		} while (System.nanoTime() < end);
+		return operations;
+	}
+
+	// the bytes allocated by the current thread, -1 if unknown
+	public static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	public static void consume(Object value) {
+		sink = value;
+	}
+
+	public static void consume(double value) {
+		doubleSink = value;
+	}
+
+	// discard the output of the algorithms, which would dominate the timings
+	public static void silence() {
+		System.setOut(NULL_OUT);
+	}
+
+	public static void restore() {
+		System.setOut(STDOUT);
+	}
+
+	public static PrintStream stdout() {
+		return STDOUT;
+	}
+
+	public void setWarmupIterations(int warmupIterations) {
+		this.warmupIterations = warmupIterations;
+	}
+
+	public void setMeasurementIterations(int measurementIterations) {
+		this.measurementIterations = measurementIterations;
+	}
+
+	public void setIterationMillis(long iterationMillis) {
+		this.iterationMillis = iterationMillis;
+	}
+}
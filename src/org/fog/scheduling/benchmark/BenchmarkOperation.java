@@ -0,0 +1,9 @@
+package org.fog.scheduling.benchmark;
+
+/**
+ * One operation of a benchmark, run many times by the BenchmarkHarness.
+ */
+public interface BenchmarkOperation {
+
+	void run();
+}
@@ -0,0 +1,58 @@
+package org.fog.scheduling.benchmark;
+
+/**
+ * The measurement of a benchmark on an instance. The fitness fields are only
+ * set by the end-to-end runs of the schedulers, NaN otherwise.
+ */
+public class BenchmarkResult {
+
+	public static final String CSV_HEADER = "benchmark,instance,ops/s,bytes/op,fitness,fitness/s";
+
+	private final String benchmark;
+	private final String instance;
+	private final double opsPerSecond;
+	private final double bytesPerOp;
+	private final double fitness;
+	private final double fitnessPerSecond;
+
+	public BenchmarkResult(String benchmark, String instance, double opsPerSecond, double bytesPerOp,
+			double fitness, double fitnessPerSecond) {
+		this.benchmark = benchmark;
+		this.instance = instance;
+		this.opsPerSecond = opsPerSecond;
+		this.bytesPerOp = bytesPerOp;
+		this.fitness = fitness;
+		this.fitnessPerSecond = fitnessPerSecond;
+	}
+
+	public String getBenchmark() {
+		return benchmark;
+	}
+
+	public String getInstance() {
+		return instance;
+	}
+
+	public double getOpsPerSecond() {
+		return opsPerSecond;
+	}
+
+	// the bytes allocated per operation, -1 if the JVM cannot measure it
+	public double getBytesPerOp() {
+		return bytesPerOp;
+	}
+
+	public double getFitness() {
+		return fitness;
+	}
+
+	public double getFitnessPerSecond() {
+		return fitnessPerSecond;
+	}
+
+	public String toCsv() {
+		return benchmark + "," + instance + "," + String.format("%.2f", opsPerSecond) + ","
+				+ String.format("%.1f", bytesPerOp) + "," + (Double.isNaN(fitness) ? "" : fitness) + ","
+				+ (Double.isNaN(fitnessPerSecond) ? "" : fitnessPerSecond);
+	}
+}
@@ -0,0 +1,225 @@
+package org.fog.scheduling.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.FogSchedulingExample;
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.fitness.FitnessState;
+import org.fog.scheduling.gaEntities.GeneticAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.Population;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.pso.CompactPSOAlgorithm;
+import org.fog.scheduling.pso.CompactSwarm;
+import org.fog.scheduling.pso.PSOAlgorithm;
+import org.fog.scheduling.pso.Particle;
+import org.fog.scheduling.scheduler.Assignment;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.scheduler.Scheduler;
+import org.fog.scheduling.scheduler.SchedulerRegistry;
+import org.fog.scheduling.termination.MaxTime;
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * Benchmarks of the scheduling hot paths and of the end-to-end runs of every
+ * registered scheduler, over the shipped cloudlet files and fog topologies.
+ *
+ * Usage: SchedulerBenchmarks [cloudletFiles] [fogFiles] [benchmarks], each a
+ * comma separated list or "all", e.g. "data40,data500 fog27 calcFitness,run".
+ * The results are printed as CSV: throughput (operations, or generations for
+ * the runs, per second), bytes allocated per operation and, for the runs, the
+ * best fitness reached within RUN_MILLIS and the fitness per second.
+ */
+public class SchedulerBenchmarks {
+
+	public static final String[] CLOUDLET_FILES = { "data40", "data50", "data60", "data70", "data80", "data100",
+			"data120", "data150", "data170", "data200", "data300", "data350", "data400", "data450", "data500" };
+	public static final String[] FOG_FILES = { "fog10", "fog13", "fog15", "fog21", "fog27" };
+	public static final String[] BENCHMARKS = { "calcFitness", "crossoverMutation", "selection", "psoMove",
+			"compactPsoMove", "tabuScan", "run" };
+
+	public static final String CLOUDLET_DIRECTORY = "data/";
+	public static final String FOG_DIRECTORY = "data_infrucstructure/";
+
+	// the budget of each end-to-end run
+	public static final long RUN_MILLIS = 1000;
+	public static final long SEED = 42;
+
+	private final BenchmarkHarness harness = new BenchmarkHarness();
+
+	public static void main(String[] args) {
+		List<String> cloudletFiles = select(args, 0, CLOUDLET_FILES);
+		List<String> fogFiles = select(args, 1, FOG_FILES);
+		List<String> benchmarks = select(args, 2, BENCHMARKS);
+
+		Log.disable();
+		CloudSim.init(1, Calendar.getInstance(), false);
+		Service.setSeed(SEED);
+
+		SchedulerBenchmarks schedulerBenchmarks = new SchedulerBenchmarks();
+		BenchmarkHarness.stdout().println(BenchmarkResult.CSV_HEADER);
+		for (String fogFile : fogFiles) {
+			for (String cloudletFile : cloudletFiles) {
+				BenchmarkHarness.silence();
+				List<FogDevice> fogDevices = FogSchedulingExample.jsonToInfrucstruture(FOG_DIRECTORY + fogFile);
+				List<Cloudlet> cloudletList = FogSchedulingExample.createCloudlet(CLOUDLET_DIRECTORY + cloudletFile);
+				BenchmarkHarness.restore();
+				String instance = cloudletFile + "/" + fogFile;
+				for (BenchmarkResult result : schedulerBenchmarks.run(benchmarks, instance, fogDevices,
+						cloudletList)) {
+					BenchmarkHarness.stdout().println(result.toCsv());
+				}
+			}
+		}
+	}
+
+	// the values of argument index, or all the values
+	private static List<String> select(String[] args, int index, String[] all) {
+		if (args.length <= index || args[index].equals("all")) {
+			return Arrays.asList(all);
+		}
+		return Arrays.asList(args[index].split(","));
+	}
+
+	public List<BenchmarkResult> run(List<String> benchmarks, String instance, List<FogDevice> fogDevices,
+			List<Cloudlet> cloudletList) {
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		FitnessEngine fitnessEngine = new FitnessEngine(fogDevices, cloudletList);
+		int maxValue = fogDevices.size() - 1;
+
+		if (benchmarks.contains("calcFitness")) {
+			final FitnessEngine engine = fitnessEngine;
+			final int[] chromosome = new Individual(cloudletList.size(), maxValue).getChromosome();
+			results.add(harness.measure("calcFitness", instance, new BenchmarkOperation() {
+				@Override
+				public void run() {
+					BenchmarkHarness.consume(engine.calcFitness(chromosome));
+				}
+			}));
+		}
+
+		if (benchmarks.contains("crossoverMutation") || benchmarks.contains("selection")) {
+			final GeneticAlgorithm ga = new GeneticAlgorithm(SchedulingAlgorithm.NUMBER_INDIVIDUAL,
+					SchedulingAlgorithm.MUTATION_RATE, SchedulingAlgorithm.CROSSOVER_RATE,
+					SchedulingAlgorithm.NUMBER_ELITISM_INDIVIDUAL);
+			ga.setFitnessEngine(fitnessEngine);
+			final List<FogDevice> devices = fogDevices;
+			final List<Cloudlet> cloudlets = cloudletList;
+			final Population population = ga.initPopulation(cloudletList.size(), maxValue);
+			ga.evalPopulation(population, fogDevices, cloudletList);
+
+			if (benchmarks.contains("crossoverMutation")) {
+				// one generation: crossover, mutation and evaluation
+				results.add(harness.measure("crossoverMutation", instance, new BenchmarkOperation() {
+					@Override
+					public void run() {
+						ga.crossoverPopulation(population, devices, cloudlets);
+						ga.mutatePopulation(population, devices, cloudlets);
+						ga.evalPopulation(population, devices, cloudlets);
+					}
+				}));
+			}
+			if (benchmarks.contains("selection")) {
+				// the selections of one generation
+				results.add(harness.measure("selection", instance, new BenchmarkOperation() {
+					@Override
+					public void run() {
+						ga.prepareSelection(population);
+						for (int index = 0; index < population.size(); index++) {
+							BenchmarkHarness.consume(ga.selectIndividual(population));
+						}
+					}
+				}));
+			}
+		}
+
+		if (benchmarks.contains("psoMove")) {
+			BenchmarkHarness.silence();
+			final PSOAlgorithm pso = new PSOAlgorithm(SchedulingAlgorithm.NUMBER_INDIVIDUAL);
+			pso.calcMinTimeCost(fogDevices, cloudletList);
+			pso.initSwarmPopulation(cloudletList.size(), maxValue);
+			pso.evalPopulation(fogDevices, cloudletList);
+			BenchmarkHarness.restore();
+			final Particle particle = pso.swarmPopulation.getParticle(0);
+			results.add(harness.measure("psoMove", instance, new BenchmarkOperation() {
+				@Override
+				public void run() {
+					BenchmarkHarness.consume(pso.move(particle));
+				}
+			}));
+		}
+
+		if (benchmarks.contains("compactPsoMove")) {
+			// one generation: every particle moves and is evaluated, in parallel
+			final CompactPSOAlgorithm pso = new CompactPSOAlgorithm(SchedulingAlgorithm.NUMBER_INDIVIDUAL);
+			pso.calcMinTimeCost(fogDevices, cloudletList);
+			final CompactSwarm swarm = pso.initSwarm(cloudletList.size(), maxValue);
+			pso.evalSwarm(swarm);
+			results.add(harness.measure("compactPsoMove", instance, new BenchmarkOperation() {
+				@Override
+				public void run() {
+					pso.updatePosition(swarm);
+				}
+			}));
+		}
+
+		if (benchmarks.contains("tabuScan")) {
+			// evaluate every move of the neighbourhood, as a tabu search step does
+			final FitnessState state = fitnessEngine
+					.createState(new Individual(cloudletList.size(), maxValue).getChromosome());
+			final int numberCloudlets = cloudletList.size();
+			final int numberDevices = fogDevices.size();
+			results.add(harness.measure("tabuScan", instance, new BenchmarkOperation() {
+				@Override
+				public void run() {
+					double best = -1;
+					for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+						for (int fogId = 0; fogId < numberDevices; fogId++) {
+							best = Math.max(best, state.evaluateMove(cloudletIndex, fogId));
+						}
+					}
+					BenchmarkHarness.consume(best);
+				}
+			}));
+		}
+
+		if (benchmarks.contains("run")) {
+			ProblemInstance problem = new ProblemInstance(fogDevices, cloudletList);
+			for (String name : SchedulerRegistry.getNames()) {
+				results.add(runScheduler(SchedulerRegistry.getScheduler(name), problem, instance));
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Run a scheduler for RUN_MILLIS; the throughput is in generations per
+	 * second
+	 */
+	public BenchmarkResult runScheduler(Scheduler scheduler, ProblemInstance problem, String instance) {
+		SearchControl control = new SearchControl(new MaxTime(RUN_MILLIS));
+		long startBytes = BenchmarkHarness.allocatedBytes();
+		long start = System.nanoTime();
+		BenchmarkHarness.silence();
+		Assignment assignment;
+		try {
+			assignment = scheduler.schedule(problem, control);
+		} finally {
+			BenchmarkHarness.restore();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long bytes = BenchmarkHarness.allocatedBytes() - startBytes;
+		int generations = Math.max(1, assignment.getGenerations());
+		return new BenchmarkResult("run:" + scheduler.getName(), instance, assignment.getGenerations() / seconds,
+				startBytes < 0 ? -1 : (double) bytes / generations, assignment.getFitness(),
+				assignment.getFitness() / seconds);
+	}
+}
@@ -0,0 +1,199 @@
+package org.fog.scheduling.bounds;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+
+/**
+ * A lower bound of the total cost of the schedules whose makespan is at most a
+ * given time T.
+ *
+ * The bound is the linear relaxation of the assignment: cloudlet i may be
+ * split between the fogDevices it fits on (time(i, j) <= T), and each
+ * fogDevice executes at most T of time. The relaxation is solved through its
+ * Lagrangian dual: with a price v[j] >= 0 per unit of time of fogDevice j,
+ *
+ * g(v) = sum over i of min over j of (cost(i, j) + v[j] * time(i, j)) - T * sum over j of v[j]
+ *
+ * is a lower bound of the cost for every v, and its maximum is the optimum of
+ * the relaxation. g is maximized by coordinate ascent: the best price of one
+ * fogDevice, the others fixed, is a weighted quantile of the prices at which
+ * the cloudlets leave it. Every price vector gives a valid bound, so stopping
+ * the ascent early only loosens it.
+ *
+ * The prices are kept between calls, so bounding a decreasing sequence of T
+ * starts each ascent from the previous optimum.
+ */
+public class CostBound {
+
+	// the passes over the fogDevices of an ascent
+	public static final int MAX_PASSES = 50;
+	// an ascent stops when a pass improves the bound by less than this ratio
+	public static final double PRECISION = 1e-9;
+
+	private final FitnessEngine fitnessEngine;
+	private final int numberCloudlets;
+	private final int numberDevices;
+
+	// the price of a unit of time of each fogDevice
+	private final double[] price;
+
+	// scratch buffers of a coordinate step
+	private final double[] keys;
+	private final double[] weights;
+
+	public CostBound(FitnessEngine fitnessEngine) {
+		this.fitnessEngine = fitnessEngine;
+		this.numberCloudlets = fitnessEngine.getNumberCloudlets();
+		this.numberDevices = fitnessEngine.getNumberDevices();
+		this.price = new double[numberDevices];
+		this.keys = new double[numberCloudlets];
+		this.weights = new double[numberCloudlets];
+	}
+
+	/**
+	 * @param makespan the largest makespan T of the schedules
+	 * @return a lower bound of their total cost, Double.POSITIVE_INFINITY if no
+	 *         schedule has a makespan of at most T
+	 */
+	public double compute(double makespan) {
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			boolean fits = false;
+			for (int fogId = 0; fogId < numberDevices && !fits; fogId++) {
+				fits = fitnessEngine.getTime(cloudletIndex, fogId) <= makespan;
+			}
+			if (!fits) {
+				return Double.POSITIVE_INFINITY;
+			}
+		}
+
+		double bound = dual(makespan);
+		for (int pass = 0; pass < MAX_PASSES; pass++) {
+			for (int fogId = 0; fogId < numberDevices; fogId++) {
+				if (!step(fogId, makespan)) {
+					return Double.POSITIVE_INFINITY;
+				}
+			}
+			double value = dual(makespan);
+			if (value - bound <= PRECISION * Math.abs(value)) {
+				return Math.max(bound, value);
+			}
+			bound = value;
+		}
+		return bound;
+	}
+
+	// the value of the dual at the current prices
+	private double dual(double makespan) {
+		double value = 0;
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			value += reducedCost(cloudletIndex, -1, makespan);
+		}
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			value -= makespan * price[fogId];
+		}
+		return value;
+	}
+
+	// the cheapest priced cost of a cloudlet on the fogDevices it fits on,
+	// except excludedId
+	private double reducedCost(int cloudletIndex, int excludedId, double makespan) {
+		double min = Double.POSITIVE_INFINITY;
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			double time = fitnessEngine.getTime(cloudletIndex, fogId);
+			if (fogId == excludedId || time > makespan) {
+				continue;
+			}
+			double cost = fitnessEngine.getCost(cloudletIndex, fogId) + price[fogId] * time;
+			if (cost < min) {
+				min = cost;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Set the price of a fogDevice to the maximum of the dual, the other prices
+	 * fixed. The dual is concave and piecewise linear in the price: cloudlet i
+	 * prefers the fogDevice below the price at which it costs as much as on its
+	 * best other fogDevice, and the slope is the time of the cloudlets preferring
+	 * it minus T.
+	 *
+	 * @return false if the cloudlets fitting only on the fogDevice exceed T
+	 */
+	private boolean step(int fogId, double makespan) {
+		int count = 0;
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			double time = fitnessEngine.getTime(cloudletIndex, fogId);
+			if (time > makespan || time == 0) {
+				continue;
+			}
+			double other = reducedCost(cloudletIndex, fogId, makespan);
+			double leave = (other - fitnessEngine.getCost(cloudletIndex, fogId)) / time;
+			if (leave > 0) {
+				keys[count] = leave;
+				weights[count] = time;
+				count++;
+			}
+		}
+		double best = weightedThreshold(count, makespan);
+		if (best == Double.POSITIVE_INFINITY) {
+			return false;
+		}
+		price[fogId] = best;
+		return true;
+	}
+
+	/**
+	 * The smallest s >= 0 such that the weights of the keys greater than s sum
+	 * to at most capacity, found by a three-way quickselect on the keys
+	 */
+	private double weightedThreshold(int count, double capacity) {
+		int from = 0;
+		int to = count;
+		// the weight of the keys greater than the keys in [from, to)
+		double above = 0;
+		while (from < to) {
+			double pivot = keys[(from + to) >>> 1];
+			// [from, greater) > pivot, [greater, equal) == pivot, [equal, to) < pivot
+			int greater = from;
+			int equal = from;
+			int less = to;
+			double greaterWeight = 0;
+			double equalWeight = 0;
+			while (equal < less) {
+				double key = keys[equal];
+				if (key > pivot) {
+					greaterWeight += weights[equal];
+					swap(equal++, greater++);
+				} else if (key == pivot) {
+					equalWeight += weights[equal];
+					equal++;
+				} else {
+					swap(equal, --less);
+				}
+			}
+			if (above + greaterWeight > capacity) {
+				to = greater;
+			} else if (above + greaterWeight + equalWeight > capacity) {
+				return pivot;
+			} else {
+				above += greaterWeight + equalWeight;
+				from = equal;
+			}
+		}
+		return 0;
+	}
+
+	private void swap(int i, int j) {
+		double key = keys[i];
+		keys[i] = keys[j];
+		keys[j] = key;
+		double weight = weights[i];
+		weights[i] = weights[j];
+		weights[j] = weight;
+	}
+
+	// the price of a unit of time of a fogDevice
+	public double getPrice(int fogId) {
+		return price[fogId];
+	}
+}
@@ -0,0 +1,50 @@
+package org.fog.scheduling.bounds;
+
+import java.util.Arrays;
+
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * A lower bound of the makespan of any schedule of a ProblemInstance.
+ *
+ * A cloudlet runs on a fogDevice in length / mips, so the fogDevices are
+ * uniform machines. The bound is the optimal makespan when a cloudlet may be
+ * split between fogDevices (preemption): the k longest cloudlets need at least
+ * the k fastest fogDevices, for every k, and all cloudlets share all
+ * fogDevices. It is at least the bound of the FitnessEngine, totalLength /
+ * totalMips, and the longest cloudlet on the fastest fogDevice.
+ */
+public class MakespanBound {
+
+	public static double compute(ProblemInstance problem) {
+		int numberCloudlets = problem.getNumberCloudlets();
+		int numberDevices = problem.getNumberDevices();
+		long[] length = new long[numberCloudlets];
+		double totalLength = 0;
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			length[cloudletIndex] = problem.getLength(cloudletIndex);
+			totalLength += length[cloudletIndex];
+		}
+		double[] mips = new double[numberDevices];
+		double totalMips = 0;
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			mips[fogId] = problem.getMips(fogId);
+			totalMips += mips[fogId];
+		}
+		Arrays.sort(length);
+		Arrays.sort(mips);
+
+		// the k longest cloudlets on the k fastest fogDevices, k < numberDevices
+		double bound = totalLength / totalMips;
+		double topLength = 0;
+		double topMips = 0;
+		for (int k = 1; k < numberDevices && k <= numberCloudlets; k++) {
+			topLength += length[numberCloudlets - k];
+			topMips += mips[numberDevices - k];
+			if (bound < topLength / topMips) {
+				bound = topLength / topMips;
+			}
+		}
+		return bound;
+	}
+}
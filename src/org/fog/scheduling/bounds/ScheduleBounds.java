@@ -0,0 +1,111 @@
+package org.fog.scheduling.bounds;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * Lower bounds of the makespan and the total cost of the schedules of a
+ * ProblemInstance, and the upper bound of their fitness.
+ *
+ * The fitness of the FitnessEngine normalizes the makespan and the cost by
+ * loose bounds, so the fittest schedule is usually far below 1. The fitness
+ * bound here accounts for the trade-off between time and cost: the makespans
+ * from the MakespanBound to the makespan of the cheapest schedule are cut in
+ * NUMBER_STEPS intervals, and a schedule with a makespan in [T(k), T(k + 1)]
+ * has a fitness of at most calcFitness(T(k), CostBound(T(k + 1))). A schedule
+ * with a makespan above the cheapest one has a fitness of at most
+ * calcFitness(cheapest makespan, minCost).
+ *
+ * getGap(fitness) is then a certified optimality gap: a schedule with a gap of
+ * 0.05 is within 5% of the fittest schedule, see OptimalityGap.
+ */
+public class ScheduleBounds {
+
+	// the intervals of makespan of the fitness bound
+	public static final int NUMBER_STEPS = 32;
+
+	private final double makespanBound;
+	private final double costBound;
+	private final double fitnessBound;
+
+	public ScheduleBounds(double makespanBound, double costBound, double fitnessBound) {
+		this.makespanBound = makespanBound;
+		this.costBound = costBound;
+		this.fitnessBound = fitnessBound;
+	}
+
+	/**
+	 * Compute the bounds of a ProblemInstance, for the fitness of a FitnessEngine
+	 * of the instance
+	 */
+	public static ScheduleBounds compute(ProblemInstance problem) {
+		FitnessEngine fitnessEngine = new FitnessEngine(problem);
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		double makespanBound = MakespanBound.compute(problem);
+		double minCost = fitnessEngine.getMinCost();
+
+		// the makespan of the cheapest schedule
+		double[] deviceTime = new double[numberDevices];
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			int cheapest = 0;
+			for (int fogId = 1; fogId < numberDevices; fogId++) {
+				if (fitnessEngine.getCost(cloudletIndex, fogId) < fitnessEngine.getCost(cloudletIndex, cheapest)) {
+					cheapest = fogId;
+				}
+			}
+			deviceTime[cheapest] += fitnessEngine.getTime(cloudletIndex, cheapest);
+		}
+		double cheapestMakespan = fitnessEngine.calcMakespan(deviceTime);
+		if (cheapestMakespan <= makespanBound) {
+			return new ScheduleBounds(makespanBound, minCost, fitnessEngine.calcFitness(makespanBound, minCost));
+		}
+
+		// from the longest makespan down, so each ascent of the CostBound starts
+		// from the prices of the previous one
+		CostBound costBound = new CostBound(fitnessEngine);
+		double ratio = Math.pow(cheapestMakespan / makespanBound, 1.0 / NUMBER_STEPS);
+		double fitnessBound = fitnessEngine.calcFitness(cheapestMakespan, minCost);
+		double upper = cheapestMakespan;
+		for (int step = NUMBER_STEPS - 1; step >= 0; step--) {
+			double lower = step == 0 ? makespanBound : makespanBound * Math.pow(ratio, step);
+			double cost = costBound.compute(upper);
+			if (cost == Double.POSITIVE_INFINITY) {
+				// no schedule has a makespan of at most upper
+				makespanBound = upper;
+				break;
+			}
+			fitnessBound = Math.max(fitnessBound, fitnessEngine.calcFitness(lower, Math.max(cost, minCost)));
+			upper = lower;
+		}
+		return new ScheduleBounds(makespanBound, minCost, fitnessBound);
+	}
+
+	/**
+	 * The optimality gap of a schedule: 1 - fitness / getFitnessBound(), 0 for a
+	 * schedule proven optimal
+	 */
+	public double getGap(double fitness) {
+		return Math.max(0, 1 - fitness / fitnessBound);
+	}
+
+	// the lower bound of the makespan
+	public double getMakespanBound() {
+		return makespanBound;
+	}
+
+	// the lower bound of the total cost
+	public double getCostBound() {
+		return costBound;
+	}
+
+	// the upper bound of the fitness
+	public double getFitnessBound() {
+		return fitnessBound;
+	}
+
+	@Override
+	public String toString() {
+		return "makespan >= " + makespanBound + ", total cost >= " + costBound + ", fitness <= " + fitnessBound;
+	}
+}
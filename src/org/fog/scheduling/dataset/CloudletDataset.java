@@ -0,0 +1,157 @@
+package org.fog.scheduling.dataset;
+
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+
+/**
+ * The binary columnar format of a cloudlet dataset, the binary counterpart of
+ * the CSV files of data/ (id,length,fileSize,outputSize,memRequired).
+ *
+ * A file is a header followed by one column per attribute, all little endian:
+ *
+ * <pre>
+ * offset  0  int   MAGIC
+ * offset  4  int   VERSION
+ * offset  8  int   number of cloudlets n
+ * offset 12  int   number of columns, NUMBER_COLUMNS
+ * offset 16  long  CRC32 of the columns
+ * offset 24  int[n] id, int[n] length, int[n] fileSize, int[n] outputSize, int[n] memRequired
+ * </pre>
+ *
+ * The attributes are packed as int: the generated values are far below
+ * Integer.MAX_VALUE, a larger value is rejected when written. A file is read
+ * by mapping it in memory, see map(): the columns stay off the heap and are
+ * read in place, so opening a dataset of millions of cloudlets does not parse
+ * anything.
+ */
+public class CloudletDataset {
+
+	// "FOGC" in the little endian bytes of the file
+	public static final int MAGIC = 0x43474F46;
+	public static final int VERSION = 1;
+	public static final int NUMBER_COLUMNS = 5;
+	public static final int HEADER_BYTES = 24;
+
+	// the largest dataset, a file is mapped by one buffer
+	public static final int MAX_CLOUDLETS = (Integer.MAX_VALUE - HEADER_BYTES) / (NUMBER_COLUMNS * 4);
+
+	// the size of a file of count cloudlets
+	public static long fileSize(int count) {
+		return HEADER_BYTES + (long) NUMBER_COLUMNS * 4 * count;
+	}
+
+	/**
+	 * Check the magic of a file, so CSV and binary datasets can be told apart
+	 */
+	public static boolean isDataset(String fileName) {
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new FileInputStream(fileName));
+			return Integer.reverseBytes(in.readInt()) == MAGIC;
+		} catch (IOException e) {
+			return false;
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Map a dataset read only, checking its header
+	 *
+	 * @param verify also check the CRC32 of the columns, which reads the whole
+	 *               file
+	 * @throws IOException if the file is not a valid dataset
+	 */
+	public static MappedCloudletDataset map(String fileName, boolean verify) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		try {
+			long size = file.length();
+			if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+				throw new IOException(fileName + " is not a cloudlet dataset, size " + size);
+			}
+			MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			if (buffer.getInt(0) != MAGIC) {
+				throw new IOException(fileName + " is not a cloudlet dataset");
+			}
+			if (buffer.getInt(4) != VERSION || buffer.getInt(12) != NUMBER_COLUMNS) {
+				throw new IOException(fileName + ": unsupported version " + buffer.getInt(4) + " with "
+						+ buffer.getInt(12) + " columns");
+			}
+			int count = buffer.getInt(8);
+			if (count < 0 || fileSize(count) != size) {
+				throw new IOException(fileName + ": truncated, " + count + " cloudlets in " + size + " bytes");
+			}
+			MappedCloudletDataset dataset = new MappedCloudletDataset(buffer, count);
+			if (verify && !dataset.verify()) {
+				throw new IOException(fileName + ": checksum mismatch");
+			}
+			return dataset;
+		} finally {
+			// the mapping stays valid once the file is closed
+			file.close();
+		}
+	}
+
+	public static MappedCloudletDataset map(String fileName) throws IOException {
+		return map(fileName, false);
+	}
+
+	/**
+	 * Create and map a dataset of count cloudlets, to be filled with
+	 * MappedCloudletDataset.set then sealed
+	 */
+	public static MappedCloudletDataset create(String fileName, int count) throws IOException {
+		if (count < 0 || count > MAX_CLOUDLETS) {
+			throw new IllegalArgumentException("A dataset holds 0 to " + MAX_CLOUDLETS + " cloudlets, not " + count);
+		}
+		RandomAccessFile file = new RandomAccessFile(fileName, "rw");
+		try {
+			long size = fileSize(count);
+			file.setLength(size);
+			MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(8, count);
+			buffer.putInt(12, NUMBER_COLUMNS);
+			return new MappedCloudletDataset(buffer, count);
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Write a list of cloudlets to a dataset
+	 */
+	public static void write(String fileName, List<? extends Cloudlet> cloudletList) throws IOException {
+		MappedCloudletDataset dataset = create(fileName, cloudletList.size());
+		int index = 0;
+		for (Cloudlet cloudlet : cloudletList) {
+			dataset.set(index++, cloudlet.getCloudletId(), cloudlet.getCloudletLength(),
+					cloudlet.getCloudletFileSize(), cloudlet.getCloudletOutputSize(), cloudlet.getMemRequired());
+		}
+		dataset.seal();
+	}
+
+	/**
+	 * Load the cloudlets of a dataset, in file order
+	 */
+	public static List<Cloudlet> load(String fileName) throws IOException {
+		return map(fileName).toCloudlets();
+	}
+}
@@ -0,0 +1,35 @@
+package org.fog.scheduling.dataset;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.scheduling.FogSchedulingExample;
+
+/**
+ * Convert the CSV cloudlet files to binary datasets.
+ *
+ * Arguments: the CSV files; each is written next to it with the suffix
+ * EXTENSION, e.g. data/data200 to data/data200.bin.
+ */
+public class CloudletDatasetConverter {
+
+	public static final String EXTENSION = ".bin";
+
+	public static void main(String[] args) throws IOException {
+		for (String csvFile : args) {
+			String datasetFile = csvFile + EXTENSION;
+			int count = convert(csvFile, datasetFile);
+			System.out.println(csvFile + " -> " + datasetFile + ": " + count + " cloudlets");
+		}
+	}
+
+	/**
+	 * @return the number of cloudlets converted
+	 */
+	public static int convert(String csvFile, String datasetFile) throws IOException {
+		List<Cloudlet> cloudletList = FogSchedulingExample.createCloudlet(csvFile);
+		CloudletDataset.write(datasetFile, cloudletList);
+		return cloudletList.size();
+	}
+}
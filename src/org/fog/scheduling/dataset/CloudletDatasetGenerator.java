@@ -0,0 +1,46 @@
+package org.fog.scheduling.dataset;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import org.fog.scheduling.CloudletCreation;
+
+/**
+ * Generate a binary dataset of random cloudlets, with the attribute bounds of
+ * CloudletCreation. The cloudlets are written straight to the mapped file, so
+ * a dataset of millions of cloudlets needs no heap.
+ *
+ * Arguments: [number of cloudlets] [seed] [output file, default data/dataN.bin]
+ */
+public class CloudletDatasetGenerator {
+
+	public static void main(String[] args) throws IOException {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+		String output = args.length > 2 ? args[2] : "data/data" + count + CloudletDatasetConverter.EXTENSION;
+
+		long start = System.nanoTime();
+		generate(output, count, seed);
+		System.out.println(output + ": " + count + " cloudlets in " + (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * Generate count cloudlets with ids 0 to count - 1, the same seed gives the
+	 * same dataset
+	 */
+	public static void generate(String fileName, int count, long seed) throws IOException {
+		SplittableRandom random = new SplittableRandom(seed);
+		MappedCloudletDataset dataset = CloudletDataset.create(fileName, count);
+		for (int index = 0; index < count; index++) {
+			long length = random.nextInt((int) CloudletCreation.LENGTH_MIN, (int) CloudletCreation.LENGTH_MAX + 1);
+			long fileSize = random.nextInt((int) CloudletCreation.FILESIZE_MIN,
+					(int) CloudletCreation.FILESIZE_MAX + 1);
+			long outputSize = random.nextInt((int) CloudletCreation.OUTPUTSIZE_MIN,
+					(int) CloudletCreation.OUTPUTSIZE_MAX + 1);
+			long memRequired = random.nextInt((int) CloudletCreation.MEM_REQUIRED_MIN,
+					(int) CloudletCreation.MEM_REQUIRED_MAX + 1);
+			dataset.set(index, index, length, fileSize, outputSize, memRequired);
+		}
+		dataset.seal();
+	}
+}
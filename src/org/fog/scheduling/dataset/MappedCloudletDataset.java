@@ -0,0 +1,137 @@
+package org.fog.scheduling.dataset;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+
+/**
+ * A cloudlet dataset mapped in memory, see CloudletDataset for the format.
+ *
+ * The columns are read in place: get the attributes of cloudlet i with
+ * getLength(i), ... without creating Cloudlet objects, or create them all with
+ * toCloudlets(). Reads are thread safe, writes (set, seal) are not.
+ */
+public class MappedCloudletDataset {
+
+	private final MappedByteBuffer buffer;
+	private final int count;
+
+	private final IntBuffer ids;
+	private final IntBuffer lengths;
+	private final IntBuffer fileSizes;
+	private final IntBuffer outputSizes;
+	private final IntBuffer memRequired;
+
+	MappedCloudletDataset(MappedByteBuffer buffer, int count) {
+		this.buffer = buffer;
+		this.count = count;
+		this.ids = column(0);
+		this.lengths = column(1);
+		this.fileSizes = column(2);
+		this.outputSizes = column(3);
+		this.memRequired = column(4);
+	}
+
+	// a view of the column at index, absolute reads do not move it
+	private IntBuffer column(int index) {
+		return columnBytes(index, 1).asIntBuffer();
+	}
+
+	// the bytes of columns [index, index + columns), little endian
+	private ByteBuffer columnBytes(int index, int columns) {
+		ByteBuffer bytes = buffer.duplicate();
+		bytes.position(CloudletDataset.HEADER_BYTES + index * count * 4);
+		bytes.limit(CloudletDataset.HEADER_BYTES + (index + columns) * count * 4);
+		return bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public int getId(int index) {
+		return ids.get(index);
+	}
+
+	public long getLength(int index) {
+		return lengths.get(index);
+	}
+
+	public long getFileSize(int index) {
+		return fileSizes.get(index);
+	}
+
+	public long getOutputSize(int index) {
+		return outputSizes.get(index);
+	}
+
+	public long getMemRequired(int index) {
+		return memRequired.get(index);
+	}
+
+	/**
+	 * Set the attributes of the cloudlet at index of a dataset being created
+	 *
+	 * @throws IllegalArgumentException if an attribute does not fit an int
+	 */
+	public void set(int index, int id, long length, long fileSize, long outputSize, long memRequired) {
+		ids.put(index, id);
+		lengths.put(index, pack(length));
+		fileSizes.put(index, pack(fileSize));
+		outputSizes.put(index, pack(outputSize));
+		this.memRequired.put(index, pack(memRequired));
+	}
+
+	private static int pack(long value) {
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The attribute " + value + " does not fit the dataset format");
+		}
+		return (int) value;
+	}
+
+	// the CRC32 of the columns
+	public long checksum() {
+		CRC32 crc = new CRC32();
+		crc.update(columnBytes(0, CloudletDataset.NUMBER_COLUMNS));
+		return crc.getValue();
+	}
+
+	// check the columns against the checksum of the header
+	public boolean verify() {
+		return buffer.getLong(16) == checksum();
+	}
+
+	/**
+	 * Write the checksum of a dataset being created and flush it to the file
+	 */
+	public void seal() {
+		buffer.putLong(16, checksum());
+		buffer.force();
+	}
+
+	/**
+	 * Create the cloudlets of the dataset, like FogSchedulingExample.createCloudlet
+	 */
+	public List<Cloudlet> toCloudlets() {
+		return toCloudlets(0, count);
+	}
+
+	// create the cloudlets in [from, to)
+	public List<Cloudlet> toCloudlets(int from, int to) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		List<Cloudlet> list = new ArrayList<Cloudlet>(to - from);
+		for (int index = from; index < to; index++) {
+			list.add(new Cloudlet(getId(index), getLength(index), 1, getFileSize(index), getOutputSize(index),
+					getMemRequired(index), utilizationModel, utilizationModel, utilizationModel));
+		}
+		return list;
+	}
+}
@@ -0,0 +1,99 @@
+package org.fog.scheduling.experiment;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.fog.scheduling.scheduler.Assignment;
+
+/**
+ * Appends one CSV line per completed cell to a file, and flushes it, so an
+ * interrupted experiment keeps all the results written so far. The header is
+ * written when the file is new.
+ *
+ * The first five columns are the key of the cell, see getCompletedKeys to
+ * resume an experiment.
+ */
+public class CsvExperimentSink implements ExperimentSink {
+
+	public static final String HEADER = "algorithm,cloudletFile,fogFile,seed,repetition,runSeed,fitness,makespan,"
+			+ "totalCost,generations,elapsedMillis";
+
+	private final BufferedWriter writer;
+
+	public CsvExperimentSink(String fileName) throws IOException {
+		File file = new File(fileName);
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		boolean newFile = !file.exists() || file.length() == 0;
+		this.writer = new BufferedWriter(new FileWriter(file, true));
+		if (newFile) {
+			writer.write(HEADER);
+			writer.newLine();
+			writer.flush();
+		} else if (!endsWithNewLine(file)) {
+			// terminate the line truncated by an interrupted experiment
+			writer.newLine();
+			writer.flush();
+		}
+	}
+
+	private static boolean endsWithNewLine(File file) throws IOException {
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			input.seek(file.length() - 1);
+			int last = input.read();
+			return last == '\n' || last == '\r';
+		} finally {
+			input.close();
+		}
+	}
+
+	@Override
+	public synchronized void write(ExperimentCell cell, Assignment assignment) throws IOException {
+		writer.write(cell.getKey() + "," + cell.getRunSeed() + "," + assignment.getFitness() + ","
+				+ assignment.getMakespan() + "," + assignment.getTotalCost() + "," + assignment.getGenerations() + ","
+				+ assignment.getElapsedMillis());
+		writer.newLine();
+		writer.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+
+	/**
+	 * The keys of the cells already in a result file, empty if the file does not
+	 * exist. A truncated last line is ignored.
+	 */
+	public static Set<String> getCompletedKeys(String fileName) throws IOException {
+		Set<String> keys = new HashSet<String>();
+		File file = new File(fileName);
+		if (!file.exists()) {
+			return keys;
+		}
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			int columns = HEADER.split(",").length;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] values = line.split(",");
+				if (line.equals(HEADER) || values.length != columns) {
+					continue;
+				}
+				keys.add(values[0] + "," + values[1] + "," + values[2] + "," + values[3] + "," + values[4]);
+			}
+		} finally {
+			reader.close();
+		}
+		return keys;
+	}
+}
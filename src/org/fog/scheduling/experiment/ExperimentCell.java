@@ -0,0 +1,69 @@
+package org.fog.scheduling.experiment;
+
+/**
+ * One run of an experiment matrix: an algorithm on a cloudlet file and a fog
+ * topology, with a seed and a repetition number.
+ */
+public class ExperimentCell {
+
+	// the increment between the seeds of two repetitions, the golden gamma of
+	// SplittableRandom
+	private static final long REPETITION_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final String algorithm;
+	private final String cloudletFile;
+	private final String fogFile;
+	private final long seed;
+	private final int repetition;
+
+	public ExperimentCell(String algorithm, String cloudletFile, String fogFile, long seed, int repetition) {
+		this.algorithm = algorithm;
+		this.cloudletFile = cloudletFile;
+		this.fogFile = fogFile;
+		this.seed = seed;
+		this.repetition = repetition;
+	}
+
+	/**
+	 * The seed of the random generator of the run. Repetition 0 runs with the
+	 * seed itself, so a cell can be replayed with FogSchedulingExample.
+	 */
+	public long getRunSeed() {
+		return seed + repetition * REPETITION_GAMMA;
+	}
+
+	// the instance of the cell, the cells of an instance share its files
+	public String getInstance() {
+		return cloudletFile + "/" + fogFile;
+	}
+
+	// identifies the cell in a result file
+	public String getKey() {
+		return algorithm + "," + cloudletFile + "," + fogFile + "," + seed + "," + repetition;
+	}
+
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public String getCloudletFile() {
+		return cloudletFile;
+	}
+
+	public String getFogFile() {
+		return fogFile;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getRepetition() {
+		return repetition;
+	}
+
+	@Override
+	public String toString() {
+		return getKey();
+	}
+}
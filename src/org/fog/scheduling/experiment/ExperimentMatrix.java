@@ -0,0 +1,49 @@
+package org.fog.scheduling.experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The cross product algorithms x cloudlet files x fog files x seeds x
+ * repetitions.
+ *
+ * The cells are ordered by instance (fog file, then cloudlet file), so the
+ * consecutive cells taken by a worker mostly share the instance it loaded.
+ */
+public class ExperimentMatrix {
+
+	private final List<String> algorithms;
+	private final List<String> cloudletFiles;
+	private final List<String> fogFiles;
+	private final List<Long> seeds;
+	private final int repetitions;
+
+	public ExperimentMatrix(List<String> algorithms, List<String> cloudletFiles, List<String> fogFiles,
+			List<Long> seeds, int repetitions) {
+		this.algorithms = algorithms;
+		this.cloudletFiles = cloudletFiles;
+		this.fogFiles = fogFiles;
+		this.seeds = seeds;
+		this.repetitions = repetitions;
+	}
+
+	public List<ExperimentCell> getCells() {
+		List<ExperimentCell> cells = new ArrayList<ExperimentCell>();
+		for (String fogFile : fogFiles) {
+			for (String cloudletFile : cloudletFiles) {
+				for (String algorithm : algorithms) {
+					for (long seed : seeds) {
+						for (int repetition = 0; repetition < repetitions; repetition++) {
+							cells.add(new ExperimentCell(algorithm, cloudletFile, fogFile, seed, repetition));
+						}
+					}
+				}
+			}
+		}
+		return cells;
+	}
+
+	public int size() {
+		return algorithms.size() * cloudletFiles.size() * fogFiles.size() * seeds.size() * repetitions;
+	}
+}
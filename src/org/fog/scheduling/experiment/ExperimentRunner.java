@@ -0,0 +1,249 @@
+package org.fog.scheduling.experiment;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fog.scheduling.benchmark.SchedulerBenchmarks;
+import org.fog.scheduling.bounds.ScheduleBounds;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.Assignment;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.scheduler.ProblemInstanceReader;
+import org.fog.scheduling.scheduler.Scheduler;
+import org.fog.scheduling.scheduler.SchedulerRegistry;
+import org.fog.scheduling.termination.AnyCondition;
+import org.fog.scheduling.termination.MaxTime;
+import org.fog.scheduling.termination.OptimalityGap;
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * Runs the cells of an ExperimentMatrix on a fixed number of worker threads and
+ * streams each result to an ExperimentSink as soon as it completes.
+ *
+ * The instances are read by ProblemInstanceReader, without CloudSim entities:
+ * they are immutable, so the workers share them, and each instance is read
+ * once. A run only returns its schedule.
+ *
+ * With a target gap, the ScheduleBounds of each instance stop a run as soon as
+ * its best schedule is proven within the gap, and the certified gap of each
+ * result is printed with its progress line. Without a target gap, the bounds
+ * are never computed.
+ * Each run draws from a generator seeded with the run seed of its cell, so the
+ * result of a cell does not depend on the worker running it.
+ *
+ * Usage: ExperimentRunner [algorithms] [cloudletFiles] [fogFiles] [seeds]
+ * [repetitions] [workers] [budgetMillis] [output] [gap]. The first four are
+ * comma separated lists or "all", and an algorithm name followed by
+ * " (seeded)" runs it with heuristic seeding, see SeededScheduler. A budget of
+ * 0 runs each algorithm with its own termination condition, and a gap of 0
+ * never stops a run early. The cells already in the output file are skipped,
+ * so an interrupted experiment is resumed by running it again.
+ */
+public class ExperimentRunner {
+
+	public static final String DEFAULT_OUTPUT = "results_ex/experiment.csv";
+
+	private final int workers;
+	private final long budgetMillis;
+	// the target optimality gap, 0 if none
+	private final double gap;
+
+	// the instances read and their bounds, by name. A task is run by the first
+	// worker needing it, the others wait for that task only.
+	private final ConcurrentMap<String, FutureTask<ProblemInstance>> instances =
+			new ConcurrentHashMap<String, FutureTask<ProblemInstance>>();
+	private final ConcurrentMap<String, FutureTask<ScheduleBounds>> bounds =
+			new ConcurrentHashMap<String, FutureTask<ScheduleBounds>>();
+
+	public ExperimentRunner(int workers, long budgetMillis) {
+		this(workers, budgetMillis, 0);
+	}
+
+	public ExperimentRunner(int workers, long budgetMillis, double gap) {
+		this.workers = workers;
+		this.budgetMillis = budgetMillis;
+		this.gap = gap;
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<String> algorithms = select(args, 0, SchedulerRegistry.getNames());
+		List<String> cloudletFiles = select(args, 1, Arrays.asList(SchedulerBenchmarks.CLOUDLET_FILES));
+		List<String> fogFiles = select(args, 2, Arrays.asList(SchedulerBenchmarks.FOG_FILES));
+		List<Long> seeds = new ArrayList<Long>();
+		for (String seed : select(args, 3, Arrays.asList("42"))) {
+			seeds.add(Long.parseLong(seed));
+		}
+		int repetitions = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+		int workers = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+		long budgetMillis = args.length > 6 ? Long.parseLong(args[6]) : 0;
+		String output = args.length > 7 ? args[7] : DEFAULT_OUTPUT;
+		double gap = args.length > 8 ? Double.parseDouble(args[8]) : 0;
+
+		// check the names before the first run
+		for (String algorithm : algorithms) {
+			SchedulerRegistry.getScheduler(algorithm);
+		}
+		ExperimentMatrix matrix = new ExperimentMatrix(algorithms, cloudletFiles, fogFiles, seeds, repetitions);
+		List<ExperimentCell> cells = new ArrayList<ExperimentCell>();
+		Set<String> completed = CsvExperimentSink.getCompletedKeys(output);
+		for (ExperimentCell cell : matrix.getCells()) {
+			if (!completed.contains(cell.getKey())) {
+				cells.add(cell);
+			}
+		}
+		System.err.println(matrix.size() + " cells, " + (matrix.size() - cells.size()) + " already in " + output);
+
+		CsvExperimentSink sink = new CsvExperimentSink(output);
+		try {
+			new ExperimentRunner(workers, budgetMillis, gap).run(cells, sink);
+		} finally {
+			sink.close();
+		}
+	}
+
+	// the values of argument index, or all the values
+	private static List<String> select(String[] args, int index, List<String> all) {
+		if (args.length <= index || args[index].equals("all")) {
+			return all;
+		}
+		return Arrays.asList(args[index].split(","));
+	}
+
+	/**
+	 * Run the cells and write their results to the sink, in completion order.
+	 * The first failing cell stops the experiment: the cells not started are
+	 * dropped, and run returns once the running cells complete, so the sink
+	 * can be closed afterwards.
+	 */
+	public void run(List<ExperimentCell> cells, final ExperimentSink sink) throws IOException, InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		ExecutorCompletionService<ExperimentCell> completion = new ExecutorCompletionService<ExperimentCell>(executor);
+		final AtomicInteger done = new AtomicInteger();
+		final int total = cells.size();
+		try {
+			for (final ExperimentCell cell : cells) {
+				completion.submit(new Callable<ExperimentCell>() {
+					@Override
+					public ExperimentCell call() throws Exception {
+						Assignment assignment = runCell(cell);
+						sink.write(cell, assignment);
+						String progress = done.incrementAndGet() + "/" + total + " " + cell + " " + assignment;
+						if (gap > 0) {
+							progress += ", gap " + getBounds(cell).getGap(assignment.getFitness());
+						}
+						System.err.println(progress);
+						return cell;
+					}
+				});
+			}
+			for (int index = 0; index < total; index++) {
+				try {
+					completion.take().get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof IOException) {
+						throw (IOException) e.getCause();
+					}
+					throw new IllegalStateException("Experiment failed", e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			// the searches do not check for interrupts, a running cell ends with
+			// its budget
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Run one cell on the calling thread
+	 */
+	public Assignment runCell(ExperimentCell cell) throws IOException {
+		ProblemInstance problem = getInstance(cell);
+		Scheduler scheduler = SchedulerRegistry.getScheduler(cell.getAlgorithm());
+		SearchControl control = budgetMillis > 0 ? new SearchControl(new MaxTime(budgetMillis))
+				: scheduler.createControl();
+		if (gap > 0) {
+			control = new SearchControl(
+					new AnyCondition(control.getCondition(), new OptimalityGap(gap, getBounds(cell))));
+		}
+
+		// the generator Service.setSeed(runSeed) gives the calling thread
+		SplittableRandom previous = Service.current();
+		Service.setCurrent(new SplittableRandom(cell.getRunSeed()).split());
+		try {
+			return scheduler.schedule(problem, control);
+		} finally {
+			Service.setCurrent(previous);
+		}
+	}
+
+	// the instance of the cell, read by the first worker running it
+	private ProblemInstance getInstance(final ExperimentCell cell) throws IOException {
+		return getOnce(instances, cell.getInstance(), new Callable<ProblemInstance>() {
+			@Override
+			public ProblemInstance call() throws IOException {
+				return loadInstance(cell.getCloudletFile(), cell.getFogFile());
+			}
+		});
+	}
+
+	// the bounds of the instance of the cell, computed by the first worker
+	// needing them
+	public ScheduleBounds getBounds(ExperimentCell cell) throws IOException {
+		final ProblemInstance problem = getInstance(cell);
+		return getOnce(bounds, cell.getInstance(), new Callable<ScheduleBounds>() {
+			@Override
+			public ScheduleBounds call() {
+				return ScheduleBounds.compute(problem);
+			}
+		});
+	}
+
+	// the value of key, computed by the first caller and awaited by the others
+	private static <V> V getOnce(ConcurrentMap<String, FutureTask<V>> cache, String key, Callable<V> compute)
+			throws IOException {
+		FutureTask<V> task = cache.get(key);
+		if (task == null) {
+			FutureTask<V> created = new FutureTask<V>(compute);
+			task = cache.putIfAbsent(key, created);
+			if (task == null) {
+				task = created;
+				created.run();
+			}
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for " + key);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	public static ProblemInstance loadInstance(String cloudletFile, String fogFile) throws IOException {
+		return ProblemInstanceReader.read(SchedulerBenchmarks.CLOUDLET_DIRECTORY + cloudletFile,
+				SchedulerBenchmarks.FOG_DIRECTORY + fogFile);
+	}
+}
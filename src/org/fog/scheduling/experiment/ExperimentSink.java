@@ -0,0 +1,15 @@
+package org.fog.scheduling.experiment;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.fog.scheduling.scheduler.Assignment;
+
+/**
+ * Receives the result of each cell of an experiment as soon as it completes.
+ * The workers of the ExperimentRunner call write concurrently.
+ */
+public interface ExperimentSink extends Closeable {
+
+	void write(ExperimentCell cell, Assignment assignment) throws IOException;
+}
@@ -0,0 +1,300 @@
+package org.fog.scheduling.fitness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * The FitnessEngine evaluates schedules (chromosomes) of a fixed pair of fog
+ * infrastructure and cloudlet list, a ProblemInstance.
+ *
+ * The cost of each cloudlet on each fogDevice and the execution time of each
+ * cloudlet on each fogDevice are computed once, when the engine is created, and
+ * stored in flat matrices indexed by [cloudletIndex * numberDevices + fogId]. A
+ * full evaluation is then a single pass over the chromosome, and a single gene
+ * change can be evaluated in constant time with a {@link FitnessState}.
+ *
+ * The engine never writes the assignment lists of the fogDevices while
+ * evaluating; use {@link #applyAssignment(int[], List)} to publish the final
+ * schedule of an instance with entities. Evaluation only reads the matrices and uses a scratch buffer per
+ * thread, so individuals can be evaluated concurrently, see
+ * {@link #calcFitness(List)}.
+ */
+public class FitnessEngine {
+
+	private final int numberCloudlets;
+	private final int numberDevices;
+
+	// costMatrix[cloudletIndex * numberDevices + fogId] is the cost (G$) of the
+	// cloudlet when executed by the fogDevice
+	private final double[] costMatrix;
+	// timeMatrix[cloudletIndex * numberDevices + fogId] is the execution time of
+	// the cloudlet on the fogDevice
+	private final double[] timeMatrix;
+
+	// the number of individuals evaluated by one task of a parallel evaluation
+	public static final int SEQUENTIAL_THRESHOLD = 8;
+
+	private final double minTime;
+	private final double minCost;
+
+	// scratch buffer used by the full evaluation, one per thread
+	private final ThreadLocal<double[]> deviceTime;
+
+	// the pool running parallel evaluations
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	// the cloudlets of the instance, to publish a schedule; null if the
+	// instance has no entities
+	private final List<Cloudlet> cloudlets;
+
+	public FitnessEngine(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		this(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public FitnessEngine(ProblemInstance problem) {
+		// copy the cloudlets to an indexed list, cloudletList may be a LinkedList
+		this.cloudlets = problem.hasEntities() ? new ArrayList<Cloudlet>(problem.getCloudletList()) : null;
+		this.numberCloudlets = problem.getNumberCloudlets();
+		this.numberDevices = problem.getNumberDevices();
+		this.costMatrix = new double[numberCloudlets * numberDevices];
+		this.timeMatrix = new double[numberCloudlets * numberDevices];
+
+		double totalMips = 0;
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			totalMips += problem.getMips(fogId);
+		}
+
+		double totalLength = 0;
+		double minCost = 0;
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			long length = problem.getLength(cloudletIndex);
+			totalLength += length;
+			double minCloudletCost = Double.MAX_VALUE;
+			for (int fogId = 0; fogId < numberDevices; fogId++) {
+				double cost = calcCost(problem, cloudletIndex, fogId);
+				costMatrix[cloudletIndex * numberDevices + fogId] = cost;
+				timeMatrix[cloudletIndex * numberDevices + fogId] = length / problem.getMips(fogId);
+				if (minCloudletCost > cost) {
+					minCloudletCost = cost;
+				}
+			}
+			// the minCost is defined as the sum of all minCloudletCost
+			minCost += minCloudletCost;
+		}
+		// the lower bound of the makespan: all fogDevices share the total length
+		this.minTime = totalLength / totalMips;
+		this.minCost = minCost;
+		this.deviceTime = new ThreadLocal<double[]>() {
+			@Override
+			protected double[] initialValue() {
+				return new double[FitnessEngine.this.numberDevices];
+			}
+		};
+	}
+
+	// the method calculates the cost (G$) when a fogDevice executes a cloudlet
+	private static double calcCost(ProblemInstance problem, int cloudletIndex, int fogId) {
+		double cost = 0;
+		// cost includes the processing cost
+		cost += problem.getCostPerSecond(fogId) * problem.getLength(cloudletIndex) / problem.getMips(fogId);
+		// cost includes the memory cost
+		cost += problem.getCostPerMem(fogId) * problem.getMemRequired(cloudletIndex);
+		// cost includes the bandwidth cost
+		cost += problem.getCostPerBw(fogId) * problem.getTransferSize(cloudletIndex);
+		return cost;
+	}
+
+	/**
+	 * Calculate the execution time of every fogDevice for a chromosome.
+	 *
+	 * @param chromosome the fogId assigned to each cloudlet
+	 * @param deviceTime output, the time each fogDevice finishes its cloudlets
+	 * @return the total cost of the chromosome
+	 */
+	public double calcDeviceTime(int[] chromosome, double[] deviceTime) {
+		return calcDeviceTime(chromosome, 0, deviceTime);
+	}
+
+	/**
+	 * Calculate the execution time of every fogDevice for a chromosome stored
+	 * in a larger array, starting at geneOffset.
+	 *
+	 * @return the total cost of the chromosome
+	 */
+	public double calcDeviceTime(int[] genes, int geneOffset, double[] deviceTime) {
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			deviceTime[fogId] = 0;
+		}
+		double totalCost = 0;
+		int offset = 0;
+		for (int geneIndex = 0; geneIndex < numberCloudlets; geneIndex++, offset += numberDevices) {
+			int fogId = genes[geneOffset + geneIndex];
+			deviceTime[fogId] += timeMatrix[offset + fogId];
+			totalCost += costMatrix[offset + fogId];
+		}
+		return totalCost;
+	}
+
+	/**
+	 * Calculate fitness for an individual and store its makespan, cost and
+	 * fitness.
+	 *
+	 * @param individual the individual to evaluate
+	 * @return double The fitness value for individual
+	 */
+	public double calcFitness(Individual individual) {
+		double[] deviceTime = this.deviceTime.get();
+		double totalCost = calcDeviceTime(individual.getChromosome(), deviceTime);
+		double makespan = calcMakespan(deviceTime);
+
+		individual.setTime(makespan);
+		individual.setCost(totalCost);
+		double fitness = calcFitness(makespan, totalCost);
+		individual.setFitness(fitness);
+		return fitness;
+	}
+
+	/**
+	 * Calculate fitness for a chromosome without storing it anywhere.
+	 */
+	public double calcFitness(int[] chromosome) {
+		double[] deviceTime = this.deviceTime.get();
+		double totalCost = calcDeviceTime(chromosome, deviceTime);
+		return calcFitness(calcMakespan(deviceTime), totalCost);
+	}
+
+	/**
+	 * Calculate fitness for a list of individuals in parallel.
+	 *
+	 * Each individual is evaluated independently, so the result does not depend
+	 * on the number of threads. The same individual may appear several times in
+	 * the list.
+	 *
+	 * @param individuals the individuals to evaluate
+	 */
+	public void calcFitness(List<Individual> individuals) {
+		if (individuals.size() <= SEQUENTIAL_THRESHOLD) {
+			for (Individual individual : individuals) {
+				calcFitness(individual);
+			}
+			return;
+		}
+		pool.invoke(new EvaluationTask(individuals, 0, individuals.size()));
+	}
+
+	// evaluate the individuals in [from, to), splitting the range in halves
+	private class EvaluationTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<Individual> individuals;
+		private final int from;
+		private final int to;
+
+		EvaluationTask(List<Individual> individuals, int from, int to) {
+			this.individuals = individuals;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				for (int index = from; index < to; index++) {
+					calcFitness(individuals.get(index));
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new EvaluationTask(individuals, from, middle), new EvaluationTask(individuals, middle, to));
+			}
+		}
+	}
+
+	/**
+	 * The fitness is the weighted sum of the normalized makespan and the
+	 * normalized total cost.
+	 */
+	public double calcFitness(double makespan, double totalCost) {
+		return SchedulingAlgorithm.TIME_WEIGHT * minTime / makespan
+				+ (1 - SchedulingAlgorithm.TIME_WEIGHT) * minCost / totalCost;
+	}
+
+	// makespan is defined as when all fogDevices finish their work
+	public double calcMakespan(double[] deviceTime) {
+		double makespan = 0;
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			if (deviceTime[fogId] > makespan) {
+				makespan = deviceTime[fogId];
+			}
+		}
+		return makespan;
+	}
+
+	/**
+	 * Create an incremental evaluation state for a chromosome.
+	 */
+	public FitnessState createState(int[] chromosome) {
+		FitnessState state = new FitnessState(this);
+		state.load(chromosome);
+		return state;
+	}
+
+	/**
+	 * Publish a schedule: fill the assignment list of each fogDevice with the
+	 * cloudlets assigned to it.
+	 */
+	public void applyAssignment(int[] chromosome, List<FogDevice> fogDevices) {
+		if (cloudlets == null) {
+			throw new IllegalStateException("The problem instance has no cloudlets to assign");
+		}
+		for (FogDevice fogDevice : fogDevices) {
+			fogDevice.getCloudletListAssignment().clear();
+		}
+		for (int geneIndex = 0; geneIndex < numberCloudlets; geneIndex++) {
+			fogDevices.get(chromosome[geneIndex]).getCloudletListAssignment().add(cloudlets.get(geneIndex));
+		}
+	}
+
+	public double getCost(int cloudletIndex, int fogId) {
+		return costMatrix[cloudletIndex * numberDevices + fogId];
+	}
+
+	public double getTime(int cloudletIndex, int fogId) {
+		return timeMatrix[cloudletIndex * numberDevices + fogId];
+	}
+
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Set the pool running parallel evaluations, a pool with parallelism 1
+	 * evaluates sequentially.
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	public int getNumberCloudlets() {
+		return numberCloudlets;
+	}
+
+	public int getNumberDevices() {
+		return numberDevices;
+	}
+
+	public double getMinTime() {
+		return minTime;
+	}
+
+	public double getMinCost() {
+		return minCost;
+	}
+}
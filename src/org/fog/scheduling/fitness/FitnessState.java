@@ -0,0 +1,138 @@
+package org.fog.scheduling.fitness;
+
+/**
+ * Incremental evaluation state of one chromosome.
+ *
+ * The state keeps the execution time of every fogDevice and the total cost of
+ * the chromosome it was loaded with, so that changing a single gene updates
+ * them in time independent of the chromosome length instead of re-evaluating
+ * the whole chromosome.
+ *
+ * It also keeps the two largest fogDevice execution times, which lets
+ * {@link #evaluateMove(int, int)} score a reassignment of one cloudlet in
+ * constant time without changing the chromosome.
+ */
+public class FitnessState {
+
+	private final FitnessEngine engine;
+	private final double[] deviceTime;
+	private int[] chromosome;
+	private double totalCost;
+
+	// the fogDevice with the largest execution time (the makespan) and the
+	// largest execution time of the other fogDevices
+	private int firstDevice;
+	private double firstTime;
+	private double secondTime;
+
+	public FitnessState(FitnessEngine engine) {
+		this.engine = engine;
+		this.deviceTime = new double[engine.getNumberDevices()];
+	}
+
+	/**
+	 * Load a chromosome. The chromosome is not copied: later calls to setGene
+	 * write to it.
+	 */
+	public void load(int[] chromosome) {
+		this.chromosome = chromosome;
+		this.totalCost = engine.calcDeviceTime(chromosome, deviceTime);
+		updateTopTimes();
+	}
+
+	/**
+	 * Assign the cloudlet to another fogDevice and update the accumulators. The
+	 * two largest times are updated in constant time, unless the move shortens
+	 * one of them and all fogDevices are scanned.
+	 */
+	public void setGene(int cloudletIndex, int fogId) {
+		int oldFogId = chromosome[cloudletIndex];
+		if (oldFogId == fogId) {
+			return;
+		}
+		double oldTime = deviceTime[oldFogId];
+		deviceTime[oldFogId] -= engine.getTime(cloudletIndex, oldFogId);
+		deviceTime[fogId] += engine.getTime(cloudletIndex, fogId);
+		totalCost += engine.getCost(cloudletIndex, fogId) - engine.getCost(cloudletIndex, oldFogId);
+		chromosome[cloudletIndex] = fogId;
+		if (oldFogId == firstDevice || oldTime >= secondTime) {
+			updateTopTimes();
+			return;
+		}
+		// only the time of fogId grows among the two largest
+		double newTime = deviceTime[fogId];
+		if (fogId == firstDevice) {
+			firstTime = newTime;
+		} else if (newTime > firstTime) {
+			secondTime = firstTime;
+			firstDevice = fogId;
+			firstTime = newTime;
+		} else if (newTime > secondTime) {
+			secondTime = newTime;
+		}
+	}
+
+	/**
+	 * Calculate the fitness the chromosome would have if the cloudlet was
+	 * assigned to the fogDevice, without changing the chromosome.
+	 */
+	public double evaluateMove(int cloudletIndex, int fogId) {
+		int oldFogId = chromosome[cloudletIndex];
+		if (oldFogId == fogId) {
+			return getFitness();
+		}
+		double oldDeviceTime = deviceTime[oldFogId] - engine.getTime(cloudletIndex, oldFogId);
+		double newDeviceTime = deviceTime[fogId] + engine.getTime(cloudletIndex, fogId);
+
+		// the largest time of the fogDevices other than oldFogId. It may be the
+		// time of fogId, which is harmless because newDeviceTime is larger.
+		double makespan = (firstDevice != oldFogId) ? firstTime : secondTime;
+		if (oldDeviceTime > makespan) {
+			makespan = oldDeviceTime;
+		}
+		if (newDeviceTime > makespan) {
+			makespan = newDeviceTime;
+		}
+		double newCost = totalCost + engine.getCost(cloudletIndex, fogId) - engine.getCost(cloudletIndex, oldFogId);
+		return engine.calcFitness(makespan, newCost);
+	}
+
+	private void updateTopTimes() {
+		firstDevice = 0;
+		firstTime = deviceTime[0];
+		secondTime = 0;
+		for (int fogId = 1; fogId < deviceTime.length; fogId++) {
+			if (deviceTime[fogId] > firstTime) {
+				secondTime = firstTime;
+				firstTime = deviceTime[fogId];
+				firstDevice = fogId;
+			} else if (deviceTime[fogId] > secondTime) {
+				secondTime = deviceTime[fogId];
+			}
+		}
+	}
+
+	public int getGene(int cloudletIndex) {
+		return chromosome[cloudletIndex];
+	}
+
+	public int[] getChromosome() {
+		return chromosome;
+	}
+
+	public double getDeviceTime(int fogId) {
+		return deviceTime[fogId];
+	}
+
+	public double getMakespan() {
+		return firstTime;
+	}
+
+	public double getTotalCost() {
+		return totalCost;
+	}
+
+	public double getFitness() {
+		return engine.calcFitness(getMakespan(), totalCost);
+	}
+}
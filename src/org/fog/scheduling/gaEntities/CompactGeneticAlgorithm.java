@@ -0,0 +1,172 @@
+package org.fog.scheduling.gaEntities;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.selection.PrefixSumSelection;
+import org.fog.scheduling.selection.SelectionStrategy;
+
+/**
+ * The genetic algorithm of GeneticAlgorithm (crossoverPopulation,
+ * mutatePopulation and evalPopulation) running on a CompactPopulation.
+ *
+ * The operators read the current generation and write the next one in place,
+ * so a generation performs no heap allocation.
+ */
+public class CompactGeneticAlgorithm {
+	private int populationSize;
+	private double mutationRate;
+	private double crossoverRate;
+	private int elitismCount;
+
+	private FitnessEngine fitnessEngine;
+	private SplittableRandom random;
+
+	// the parent selection, see GeneticAlgorithm.prepareSelection
+	private SelectionStrategy selection = new PrefixSumSelection();
+	// the fitness of the individuals in rank order, read by the selection
+	private double[] selectionFitness;
+
+	public CompactGeneticAlgorithm(int populationSize, double mutationRate, double crossoverRate, int elitismCount) {
+		this.populationSize = populationSize;
+		this.mutationRate = mutationRate;
+		this.crossoverRate = crossoverRate;
+		this.elitismCount = elitismCount;
+		this.random = Service.split();
+		this.selectionFitness = new double[populationSize];
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost
+	 *
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+	}
+
+	/**
+	 * Initialize and evaluate the population
+	 */
+	public CompactPopulation initPopulation(int chromosomeLength, int maxValue) {
+		CompactPopulation population = new CompactPopulation(this.populationSize, chromosomeLength, maxValue,
+				fitnessEngine.getNumberDevices(), random);
+		population.evaluate(fitnessEngine);
+		return population;
+	}
+
+	/**
+	 * Create the next generation: crossover, mutation and evaluation, then make
+	 * it the current generation.
+	 */
+	public void evolve(CompactPopulation population) {
+		crossoverPopulation(population);
+		mutatePopulation(population);
+		population.swap();
+	}
+
+	/**
+	 * Prepare the selection for the current generation, the individuals are
+	 * given to the selection in rank order
+	 */
+	public void prepareSelection(CompactPopulation population) {
+		for (int rank = 0; rank < population.size(); rank++) {
+			selectionFitness[rank] = population.getFitness(population.getFittest(rank));
+		}
+		selection.prepare(selectionFitness, population.size());
+	}
+
+	/**
+	 * Select parent for crossover
+	 *
+	 * @return The slot of the individual selected as a parent
+	 */
+	public int selectIndividual(CompactPopulation population) {
+		return population.getFittest(selection.select(random));
+	}
+
+	/**
+	 * Apply crossover to population, see GeneticAlgorithm.crossoverPopulation.
+	 * The individual at rank r of the current generation is written to slot r of
+	 * the next generation, or its offspring if the offspring is as good and new.
+	 */
+	public void crossoverPopulation(CompactPopulation population) {
+		prepareSelection(population);
+		for (int rank = 0; rank < population.size(); rank++) {
+			int parent1 = population.getFittest(rank);
+
+			// Apply crossover to this individual?
+			if (this.crossoverRate > random.nextDouble()) {
+				// Find second parent
+				int parent2 = selectIndividual(population);
+				crossover2Point(population, parent1, parent2, rank);
+
+				if (population.getFitness(parent1) <= population.evaluateNext(rank, fitnessEngine)
+						&& !population.currentIncludesNext(rank)) {
+					continue;
+				}
+			}
+			population.copyToNext(parent1, rank);
+		}
+	}
+
+	// crossover 2 points between 2 parents and write the offspring to nextSlot
+	public void crossover2Point(CompactPopulation population, int parent1, int parent2, int nextSlot) {
+		int chromosomeLength = population.getChromosomeLength();
+		int crossoverPoint1 = random.nextInt(chromosomeLength);
+		int crossoverPoint2 = crossoverPoint1 + 1 + random.nextInt(chromosomeLength);
+
+		for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
+			boolean fromParent2;
+			if (crossoverPoint2 >= chromosomeLength) {
+				fromParent2 = geneIndex >= crossoverPoint1 || geneIndex < (crossoverPoint2 - chromosomeLength);
+			} else {
+				fromParent2 = geneIndex >= crossoverPoint1 && geneIndex < crossoverPoint2;
+			}
+			population.setNextGene(nextSlot, geneIndex,
+					population.getGene(fromParent2 ? parent2 : parent1, geneIndex));
+		}
+	}
+
+	/**
+	 * Apply mutation to the next generation, see GeneticAlgorithm.mutatePopulation.
+	 * Slot r of the next generation holds the individual of rank r, so the first
+	 * elitismCount slots are the elite.
+	 */
+	public void mutatePopulation(CompactPopulation population) {
+		for (int nextSlot = 0; nextSlot < population.size(); nextSlot++) {
+			if (this.mutationRate > random.nextDouble() && nextSlot >= this.elitismCount) {
+				population.setNextGene(nextSlot, random.nextInt(population.getChromosomeLength()),
+						random.nextInt(population.getMaxValue() + 1));
+				population.evaluateNext(nextSlot, fitnessEngine);
+			}
+		}
+	}
+
+	public SelectionStrategy getSelection() {
+		return this.selection;
+	}
+
+	public void setSelection(SelectionStrategy selection) {
+		this.selection = selection;
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return this.fitnessEngine;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+}
@@ -0,0 +1,294 @@
+package org.fog.scheduling.gaEntities;
+
+import java.util.SplittableRandom;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+
+/**
+ * A population stored as arrays of primitives instead of a list of Individual
+ * objects.
+ *
+ * The chromosomes of all individuals are stored in one contiguous int[], the
+ * chromosome of the individual in slot i starting at i * chromosomeLength. The
+ * fitness, time and cost of the individuals are stored in parallel double[]
+ * arrays.
+ *
+ * The population has two buffers: the current generation, which is read, and
+ * the next generation, which is written by the genetic operators. swap() makes
+ * the next generation current. The individuals are ranked by an index array
+ * sorted by decreasing fitness, so sorting never moves chromosomes. Once
+ * created, the population does not allocate memory.
+ *
+ * Every evaluated slot also keeps the hash of its chromosome, the same as
+ * Individual.getHash, so that currentIncludesNext compares genes only for
+ * slots with the same hash.
+ */
+public class CompactPopulation {
+
+	private final int populationSize;
+	private final int chromosomeLength;
+	private final int maxValue;
+
+	// current generation
+	private int[] genes;
+	private double[] fitness;
+	private double[] time;
+	private double[] cost;
+	private long[] hash;
+
+	// next generation
+	private int[] nextGenes;
+	private double[] nextFitness;
+	private double[] nextTime;
+	private double[] nextCost;
+	private long[] nextHash;
+
+	// order[rank] is the slot of the individual at rank, 0 is the fittest
+	private final int[] order;
+	private final int[] sortBuffer;
+
+	private double populationFitness = -1;
+
+	// scratch buffer of the evaluation
+	private final double[] deviceTime;
+
+	/**
+	 * Initializes a population of random individuals
+	 *
+	 * @param populationSize   The number of individuals in the population
+	 * @param chromosomeLength The size of each individual's chromosome
+	 * @param maxValue         The largest value of a gene
+	 * @param numberDevices    The number of fogDevices of the FitnessEngine
+	 */
+	public CompactPopulation(int populationSize, int chromosomeLength, int maxValue, int numberDevices,
+			SplittableRandom random) {
+		this.populationSize = populationSize;
+		this.chromosomeLength = chromosomeLength;
+		this.maxValue = maxValue;
+		this.genes = new int[populationSize * chromosomeLength];
+		this.fitness = new double[populationSize];
+		this.time = new double[populationSize];
+		this.cost = new double[populationSize];
+		this.hash = new long[populationSize];
+		this.nextGenes = new int[populationSize * chromosomeLength];
+		this.nextFitness = new double[populationSize];
+		this.nextTime = new double[populationSize];
+		this.nextCost = new double[populationSize];
+		this.nextHash = new long[populationSize];
+		this.order = new int[populationSize];
+		this.sortBuffer = new int[populationSize];
+		this.deviceTime = new double[numberDevices];
+
+		for (int gene = 0; gene < genes.length; gene++) {
+			genes[gene] = random.nextInt(maxValue + 1);
+		}
+		for (int slot = 0; slot < populationSize; slot++) {
+			order[slot] = slot;
+			fitness[slot] = -1;
+		}
+	}
+
+	/**
+	 * Evaluate every individual of the current generation, then sort it
+	 *
+	 * @return the population fitness
+	 */
+	public double evaluate(FitnessEngine fitnessEngine) {
+		for (int slot = 0; slot < populationSize; slot++) {
+			double totalCost = fitnessEngine.calcDeviceTime(genes, slot * chromosomeLength, deviceTime);
+			double makespan = fitnessEngine.calcMakespan(deviceTime);
+			time[slot] = makespan;
+			cost[slot] = totalCost;
+			fitness[slot] = fitnessEngine.calcFitness(makespan, totalCost);
+			hash[slot] = hash(genes, slot * chromosomeLength);
+		}
+		sortPopulation();
+		return populationFitness;
+	}
+
+	/**
+	 * Evaluate the individual in a slot of the next generation
+	 *
+	 * @return the fitness of the individual
+	 */
+	public double evaluateNext(int nextSlot, FitnessEngine fitnessEngine) {
+		double totalCost = fitnessEngine.calcDeviceTime(nextGenes, nextSlot * chromosomeLength, deviceTime);
+		double makespan = fitnessEngine.calcMakespan(deviceTime);
+		nextTime[nextSlot] = makespan;
+		nextCost[nextSlot] = totalCost;
+		nextFitness[nextSlot] = fitnessEngine.calcFitness(makespan, totalCost);
+		nextHash[nextSlot] = hash(nextGenes, nextSlot * chromosomeLength);
+		return nextFitness[nextSlot];
+	}
+
+	/**
+	 * Copy an individual of the current generation, with its evaluation, to a
+	 * slot of the next generation
+	 */
+	public void copyToNext(int slot, int nextSlot) {
+		System.arraycopy(genes, slot * chromosomeLength, nextGenes, nextSlot * chromosomeLength, chromosomeLength);
+		nextFitness[nextSlot] = fitness[slot];
+		nextTime[nextSlot] = time[slot];
+		nextCost[nextSlot] = cost[slot];
+		nextHash[nextSlot] = hash[slot];
+	}
+
+	// the hash of the chromosome starting at offset, see Individual.rehash
+	private long hash(int[] chromosomes, int offset) {
+		long chromosomeHash = 0;
+		for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
+			chromosomeHash ^= Individual.geneHash(geneIndex, chromosomes[offset + geneIndex]);
+		}
+		return chromosomeHash;
+	}
+
+	/**
+	 * Make the next generation current and sort it. The previous generation
+	 * becomes the buffer of the next generation.
+	 */
+	public void swap() {
+		int[] swapGenes = genes;
+		genes = nextGenes;
+		nextGenes = swapGenes;
+		double[] swapValues = fitness;
+		fitness = nextFitness;
+		nextFitness = swapValues;
+		swapValues = time;
+		time = nextTime;
+		nextTime = swapValues;
+		swapValues = cost;
+		cost = nextCost;
+		nextCost = swapValues;
+		long[] swapHash = hash;
+		hash = nextHash;
+		nextHash = swapHash;
+		sortPopulation();
+	}
+
+	/**
+	 * Order the slots by decreasing fitness and update the population fitness.
+	 * The sort is a stable bottom-up merge sort of the order array.
+	 */
+	public void sortPopulation() {
+		double totalFitness = 0;
+		for (int slot = 0; slot < populationSize; slot++) {
+			order[slot] = slot;
+			totalFitness += fitness[slot];
+		}
+		populationFitness = totalFitness;
+
+		int[] source = order;
+		int[] target = sortBuffer;
+		for (int width = 1; width < populationSize; width *= 2) {
+			for (int left = 0; left < populationSize; left += 2 * width) {
+				int middle = Math.min(left + width, populationSize);
+				int right = Math.min(left + 2 * width, populationSize);
+				int i = left;
+				int j = middle;
+				for (int k = left; k < right; k++) {
+					if (i < middle && (j >= right || fitness[source[i]] >= fitness[source[j]])) {
+						target[k] = source[i++];
+					} else {
+						target[k] = source[j++];
+					}
+				}
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		if (source != order) {
+			System.arraycopy(source, 0, order, 0, populationSize);
+		}
+	}
+
+	/**
+	 * Check if an individual of the next generation is equal to an individual of
+	 * the current generation. Slots with another hash are skipped, the others
+	 * are confirmed gene by gene. The next slot must have been evaluated.
+	 */
+	public boolean currentIncludesNext(int nextSlot) {
+		int nextOffset = nextSlot * chromosomeLength;
+		for (int slot = 0; slot < populationSize; slot++) {
+			if (hash[slot] != nextHash[nextSlot]) {
+				continue;
+			}
+			int offset = slot * chromosomeLength;
+			boolean similar = true;
+			for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
+				if (genes[offset + geneIndex] != nextGenes[nextOffset + geneIndex]) {
+					similar = false;
+					break;
+				}
+			}
+			if (similar) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copy an individual of the current generation to an Individual object
+	 */
+	public Individual toIndividual(int slot) {
+		Individual individual = new Individual(chromosomeLength);
+		System.arraycopy(genes, slot * chromosomeLength, individual.getChromosome(), 0, chromosomeLength);
+		individual.setMaxValue(maxValue);
+		individual.setFitness(fitness[slot]);
+		individual.setTime(time[slot]);
+		individual.setCost(cost[slot]);
+		individual.rehash();
+		return individual;
+	}
+
+	// the genes of the current generation, slot i starts at i * chromosomeLength
+	public int[] getGenes() {
+		return genes;
+	}
+
+	// the slot of the individual at rank, 0 is the fittest
+	public int getFittest(int rank) {
+		return order[rank];
+	}
+
+	public int getGene(int slot, int geneIndex) {
+		return genes[slot * chromosomeLength + geneIndex];
+	}
+
+	public int getNextGene(int nextSlot, int geneIndex) {
+		return nextGenes[nextSlot * chromosomeLength + geneIndex];
+	}
+
+	public void setNextGene(int nextSlot, int geneIndex, int gene) {
+		nextGenes[nextSlot * chromosomeLength + geneIndex] = gene;
+	}
+
+	public double getFitness(int slot) {
+		return fitness[slot];
+	}
+
+	public double getTime(int slot) {
+		return time[slot];
+	}
+
+	public double getCost(int slot) {
+		return cost[slot];
+	}
+
+	public double getPopulationFitness() {
+		return populationFitness;
+	}
+
+	public int getChromosomeLength() {
+		return chromosomeLength;
+	}
+
+	public int getMaxValue() {
+		return maxValue;
+	}
+
+	public int size() {
+		return populationSize;
+	}
+}
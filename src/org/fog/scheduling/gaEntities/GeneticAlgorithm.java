@@ -1,11 +1,20 @@
 package org.fog.scheduling.gaEntities;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.fog.entities.FogDevice;
 import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.fitness.FitnessState;
+import org.fog.scheduling.localSearchAlgorithm.LocalSearchAlgorithm;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.selection.PrefixSumSelection;
+import org.fog.scheduling.selection.SelectionStrategy;
 
 /**
  * The GeneticAlgorithm class is our main abstraction for managing the
@@ -59,6 +68,27 @@ public class GeneticAlgorithm {
 	private double minTime;
 	private double minCost;
 
+	private FitnessEngine fitnessEngine;
+
+	/**
+	 * The parent selection, prepared once per generation by prepareSelection. The
+	 * default PrefixSumSelection selects like the linear roulette wheel in
+	 * O(log n).
+	 */
+	private SelectionStrategy selection = new PrefixSumSelection();
+	// the fitness of the individuals in list order, read by the selection
+	private double[] selectionFitness = new double[0];
+
+	/**
+	 * The memetic refinement of refinePopulation: the refineCount fittest
+	 * individuals climb at most refineMoves moves after each evaluation. A
+	 * refineCount of 0, the default, disables it.
+	 */
+	private int refineCount;
+	private int refineMoves;
+	// the chromosome hashes of the individuals known to be local optima
+	private final Set<Long> localOptima = new HashSet<Long>();
+
 	public GeneticAlgorithm(int populationSize, double mutationRate, double crossoverRate, int elitismCount) {
 		this.populationSize = populationSize;
 		this.mutationRate = mutationRate;
@@ -71,53 +101,13 @@ public class GeneticAlgorithm {
 	 *
 	 */
 	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-		this.minTime = calcMinTime(fogDevices, cloudletList);
-		this.minCost = calcMinCost(fogDevices, cloudletList);
-	}
-
-	private double calcMinCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-		double minCost = 0;
-		for (Cloudlet cloudlet : cloudletList) {
-			double minCloudletCost = Double.MAX_VALUE;
-			for (FogDevice fogDevice : fogDevices) {
-				double cost = calcCost(cloudlet, fogDevice);
-				if (minCloudletCost > cost) {
-					minCloudletCost = cost;
-				}
-			}
-			// the minCost is defined as the sum of all minCloudletCost
-			minCost += minCloudletCost;
-		}
-		return minCost;
-	}
-
-	// the method calculates the cost (G$) when a fogDevice executes a cloudlet
-	private double calcCost(Cloudlet cloudlet, FogDevice fogDevice) {
-		double cost = 0;
-		// cost includes the processing cost
-		cost += fogDevice.getCharacteristics().getCostPerSecond() * cloudlet.getCloudletLength()
-				/ fogDevice.getHost().getTotalMips();
-		// cost includes the memory cost
-		cost += fogDevice.getCharacteristics().getCostPerMem() * cloudlet.getMemRequired();
-		// cost includes the bandwidth cost
-		cost += fogDevice.getCharacteristics().getCostPerBw()
-				* (cloudlet.getCloudletFileSize() + cloudlet.getCloudletOutputSize());
-		return cost;
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
 	}
 
-	// the function calculate the lower bound of the solution about time execution
-	private double calcMinTime(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-		double minTime = 0;
-		double totalLength = 0;
-		double totalMips = 0;
-		for (Cloudlet cloudlet : cloudletList) {
-			totalLength += cloudlet.getCloudletLength();
-		}
-		for (FogDevice fogDevice : fogDevices) {
-			totalMips += fogDevice.getHost().getTotalMips();
-		}
-		minTime = totalLength / totalMips;
-		return minTime;
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+		this.minTime = fitnessEngine.getMinTime();
+		this.minCost = fitnessEngine.getMinCost();
 	}
 
 	/**
@@ -132,65 +122,38 @@ public class GeneticAlgorithm {
 		return population;
 	}
 
+	/**
+	 * Warm start the first count individuals of a random population from a
+	 * previous schedule: the genes of a known cloudlet take its previous fogId,
+	 * the genes of a new cloudlet keep their random value.
+	 *
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet
+	 */
+	public void seedPopulation(Population population, int[] initial, int count) {
+		int seeded = Math.min(count, population.size());
+		for (int individualIndex = 0; individualIndex < seeded; individualIndex++) {
+			Individual individual = population.getIndividual(individualIndex);
+			for (int geneIndex = 0; geneIndex < initial.length; geneIndex++) {
+				if (initial[geneIndex] >= 0) {
+					individual.setGene(geneIndex, initial[geneIndex]);
+				}
+			}
+		}
+		population.invalidateChromosomeIndex();
+	}
+
 	/**
 	 * Calculate fitness for an individual.
 	 *
-	 * In this case, the fitness score is very simple: it's the number of ones in
-	 * the chromosome. Don't forget that this method, and this whole
-	 * GeneticAlgorithm class, is meant to solve the problem in the "AllOnesGA"
-	 * class and example. For different problems, you'll need to create a different
-	 * version of this method to appropriately calculate the fitness of an
-	 * individual.
+	 * The fitness is the weighted sum of the normalized makespan and total cost,
+	 * evaluated by the FitnessEngine built in calcMinTimeCost.
 	 *
 	 * @param individual the individual to evaluate
 	 * @return double The fitness value for individual
 	 */
 	public double calcFitness(Individual individual, List<FogDevice> fogDevices,
 			List<? extends Cloudlet> cloudletList) {
-
-		// clear the fogDevice - task list before calculate
-		for (FogDevice fogDevice : fogDevices) {
-			fogDevice.getCloudletListAssignment().clear();
-		}
-
-		// Loop over individual's genes to all the task assigned to the fogDevice
-		for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-			// add current cloudlet to fog device respectively
-			fogDevices.get(individual.getGene(geneIndex)).getCloudletListAssignment().add(cloudletList.get(geneIndex));
-		}
-
-		// Calculate makespan and cost
-		double makespan = 0;
-		double execTime = 0;
-		double totalCost = 0;
-		for (FogDevice fogDevice : fogDevices) {
-			double totalLength = 0;
-			for (Cloudlet cloudlet : fogDevice.getCloudletListAssignment()) {
-				totalLength += cloudlet.getCloudletLength();
-				// the total cost is sum of the cost execution of each cloudlet
-				totalCost += calcCost(cloudlet, fogDevice);
-			}
-			// execTime is the time that fogDevice finishes its list cloudlet assignment
-			execTime = totalLength / fogDevice.getHostList().get(0).getTotalMips();
-			// makespan is defined as when the last cloudlet finished or when all fogDevices
-			// finish its work.
-			if (execTime > makespan) {
-				makespan = execTime;
-			}
-		}
-
-		// store makespan
-		individual.setTime(makespan);
-		// store cost
-		individual.setCost(totalCost);
-
-		// Calculate fitness
-		double fitness = SchedulingAlgorithm.TIME_WEIGHT * minTime / makespan
-				+ (1 - SchedulingAlgorithm.TIME_WEIGHT) * minCost / totalCost;
-
-		// Store fitness
-		individual.setFitness(fitness);
-		return fitness;
+		return fitnessEngine.calcFitness(individual);
 	}
 
 	/**
@@ -208,18 +171,103 @@ public class GeneticAlgorithm {
 
 		double populationFitness = 0;
 
-		// Loop over population evaluating individuals and summing population fitness
+		// Evaluate the individuals in parallel, then sum population fitness in order
+		fitnessEngine.calcFitness(population.getPopulation());
 		for (Individual individual : population.getPopulation()) {
-			populationFitness += calcFitness(individual, fogDevices, cloudletList);
+			populationFitness += individual.getFitness();
 		}
 
 		// sort population with increasing fitness value
 		population.sortPopulation();
+		// the individuals may have been changed since the last evaluation
+		population.invalidateChromosomeIndex();
 
 		population.setPopulationFitness(populationFitness);
 		return population;
 	}
 
+	/**
+	 * Refine the fittest individuals of an evaluated population, the memetic
+	 * step: each of the refineCount fittest individuals climbs at most
+	 * refineMoves moves with LocalSearchAlgorithm.climb, which scores a move in
+	 * constant time. The individuals climb in parallel on the pool of the
+	 * FitnessEngine; a climb draws no random number, so the result does not
+	 * depend on the threads. An individual known to be a local optimum is
+	 * skipped, so an elite that survives many generations is climbed once.
+	 *
+	 * @return the number of individuals improved
+	 */
+	public int refinePopulation(Population population) {
+		List<Individual> candidates = new ArrayList<Individual>();
+		int count = Math.min(refineCount, population.size());
+		for (int populationIndex = 0; populationIndex < count; populationIndex++) {
+			Individual individual = population.getFittest(populationIndex);
+			if (!localOptima.contains(individual.getHash())) {
+				candidates.add(individual);
+			}
+		}
+		if (candidates.isEmpty()) {
+			return 0;
+		}
+		int[] moves = new int[candidates.size()];
+		fitnessEngine.getPool().invoke(new RefinementTask(candidates, moves, 0, candidates.size()));
+
+		int improved = 0;
+		for (int index = 0; index < candidates.size(); index++) {
+			if (moves[index] < refineMoves) {
+				localOptima.add(candidates.get(index).getHash());
+			}
+			if (moves[index] > 0) {
+				improved++;
+			}
+		}
+		if (improved > 0) {
+			double populationFitness = 0;
+			for (Individual individual : population.getPopulation()) {
+				populationFitness += individual.getFitness();
+			}
+			population.sortPopulation();
+			population.invalidateChromosomeIndex();
+			population.setPopulationFitness(populationFitness);
+		}
+		return improved;
+	}
+
+	// climb the candidates in [from, to), one task per candidate
+	private class RefinementTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<Individual> candidates;
+		private final int[] moves;
+		private final int from;
+		private final int to;
+
+		RefinementTask(List<Individual> candidates, int[] moves, int from, int to) {
+			this.candidates = candidates;
+			this.moves = moves;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				Individual individual = candidates.get(from);
+				FitnessState state = fitnessEngine.createState(individual.getChromosome());
+				moves[from] = LocalSearchAlgorithm.climb(state, fitnessEngine.getNumberDevices() - 1, refineMoves);
+				if (moves[from] > 0) {
+					// the state wrote the chromosome directly
+					individual.rehash();
+					fitnessEngine.calcFitness(individual);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new RefinementTask(candidates, moves, from, middle),
+						new RefinementTask(candidates, moves, middle, to));
+			}
+		}
+	}
+
 	/**
 	 * Check if population has met termination condition
 	 *
@@ -240,28 +288,31 @@ public class GeneticAlgorithm {
 	}
 
 	/**
-	 * Select parent for crossover
+	 * Prepare the selection for the individuals of the population, before the
+	 * parents of a generation are selected
+	 *
+	 * @param population The population to select parents from
+	 */
+	public void prepareSelection(Population population) {
+		int size = population.size();
+		if (selectionFitness.length < size) {
+			selectionFitness = new double[size];
+		}
+		for (int index = 0; index < size; index++) {
+			selectionFitness[index] = population.getIndividual(index).getFitness();
+		}
+		selection.prepare(selectionFitness, size);
+	}
+
+	/**
+	 * Select parent for crossover, with the selection prepared by
+	 * prepareSelection for this population
 	 *
 	 * @param population The population to select parent from
 	 * @return The individual selected as a parent
 	 */
 	public Individual selectIndividual(Population population) {
-		// Get individuals
-		List<Individual> individuals = population.getPopulation();
-
-		// Spin roulette wheel
-		double populationFitness = population.getPopulationFitness();
-		double rouletteWheelPosition = Math.random() * populationFitness;
-
-		// Find parent
-		double spinWheel = 0;
-		for (Individual individual : individuals) {
-			spinWheel += individual.getFitness();
-			if (spinWheel >= rouletteWheelPosition) {
-				return individual;
-			}
-		}
-		return individuals.get(population.size() - 1);
+		return population.getIndividual(selection.select(Service.current()));
 	}
 
 	/**
@@ -290,28 +341,39 @@ public class GeneticAlgorithm {
 		// Create new population
 		List<Individual> newPopulation = new ArrayList<Individual>();
 
-		newPopulation.clear();
+		// index the chromosomes so the duplicate checks are constant time
+		population.indexChromosomes();
+		prepareSelection(population);
+
+		// offsprings[populationIndex] is the offspring of the individual at
+		// populationIndex, or null if it does not mate
+		Individual[] offsprings = new Individual[population.size()];
+		List<Individual> listOffsprings = new ArrayList<Individual>();
+
 		// Loop over current population by fitness
 		for (int populationIndex = 0; populationIndex < population.size(); populationIndex++) {
 			Individual parent1 = population.getFittest(populationIndex);
 
 			// Apply crossover to this individual?
-			if (this.crossoverRate > Math.random()) {
-				// Initialize offspring
-				Individual offspring = new Individual(parent1.getChromosomeLength());
-
+			if (this.crossoverRate > Service.random()) {
 				// Find second parent
 				Individual parent2 = selectIndividual(population);
-				offspring = crossover2Point(parent1, parent2);
+				offsprings[populationIndex] = crossover2Point(parent1, parent2);
+				listOffsprings.add(offsprings[populationIndex]);
+			}
+		}
 
-				if (parent1.getFitness() <= calcFitness(offspring, fogDevices, cloudletList)
-						&& !doesPopupationIncludeIndividual(population, offspring)) {
-					newPopulation.add(offspring);
-				} else {
-					newPopulation.add(parent1);
-				}
+		// Evaluate all offsprings in parallel
+		fitnessEngine.calcFitness(listOffsprings);
+
+		for (int populationIndex = 0; populationIndex < population.size(); populationIndex++) {
+			Individual parent1 = population.getFittest(populationIndex);
+			Individual offspring = offsprings[populationIndex];
+			if (offspring != null && parent1.getFitness() <= offspring.getFitness()
+					&& !doesPopupationIncludeIndividual(population, offspring)) {
+				newPopulation.add(offspring);
 			} else {
-				newPopulation.add(population.getFittest(populationIndex));
+				newPopulation.add(parent1);
 			}
 		}
 		population.getPopulation().clear();
@@ -325,6 +387,7 @@ public class GeneticAlgorithm {
 // crossover 2 points between 2 parents and create an offspring
 	public Individual crossover2Point(Individual parent1, Individual parent2) {
 		Individual offspring = new Individual(parent1.getChromosomeLength());
+		offspring.setMaxValue(parent1.getMaxValue());
 		int crossoverPoint1 = Service.rand(0, parent1.getChromosomeLength() - 1);
 		int crossoverPoint2 = Service.rand(crossoverPoint1 + 1, crossoverPoint1 + parent1.getChromosomeLength());
 
@@ -350,7 +413,9 @@ public class GeneticAlgorithm {
 	public List<Individual> crossover2Point2(Individual parent1, Individual parent2) {
 		List<Individual> listOffsprings = new ArrayList<Individual>();
 		Individual offspring1 = new Individual(parent1.getChromosomeLength());
+		offspring1.setMaxValue(parent1.getMaxValue());
 		Individual offspring2 = new Individual(parent1.getChromosomeLength());
+		offspring2.setMaxValue(parent1.getMaxValue());
 		int crossoverPoint1 = Service.rand(0, parent1.getChromosomeLength() - 1);
 		int crossoverPoint2 = Service.rand(crossoverPoint1 + 1, crossoverPoint1 + parent1.getChromosomeLength() - 1);
 
@@ -381,6 +446,7 @@ public class GeneticAlgorithm {
 // crossover 1 points between 2 parents and create an offspring
 	public Individual crossover1Point(Individual parent1, Individual parent2) {
 		Individual offspring = new Individual(parent1.getChromosomeLength());
+		offspring.setMaxValue(parent1.getMaxValue());
 		int crossoverPoint = Service.rand(0, parent1.getChromosomeLength());
 		for (int geneIndex = 0; geneIndex < parent1.getChromosomeLength(); geneIndex++) {
 			// Use half of parent1's genes and half of parent2's genes
@@ -414,7 +480,7 @@ public class GeneticAlgorithm {
 		// Loop over current population by fitness
 		for (int populationIndex = 0; populationIndex < population.size(); populationIndex++) {
 			// if the current individual is selected to mutation phase
-			if (this.mutationRate > Math.random() && populationIndex >= this.elitismCount) {
+			if (this.mutationRate > Service.random() && populationIndex >= this.elitismCount) {
 				Individual individual = population.getFittest(populationIndex);
 				individual.setGene(Service.rand(0, individual.getChromosomeLength() - 1),
 						Service.rand(0, individual.getMaxValue()));
@@ -453,25 +519,9 @@ public class GeneticAlgorithm {
 		return population;
 	}
 
+	// check with the chromosome hashes if the population includes the individual
 	public boolean doesPopupationIncludeIndividual(Population population, Individual individual) {
-		boolean include = false;
-		for (int index = 0; index < population.size(); index++) {
-			boolean similar = true;
-			if (individual.getFitness() == population.getIndividual(index).getFitness()) {
-				for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-					if (individual.getGene(geneIndex) != population.getIndividual(index).getGene(geneIndex)) {
-						similar = false;
-					}
-				}
-				if (similar == true) {
-					include = true;
-					break;
-				}
-			}
-			if (include == true)
-				break;
-		}
-		return include;
+		return population.includes(individual);
 	}
 
 	public void selectPopulation(Population population) {
@@ -499,14 +549,18 @@ public class GeneticAlgorithm {
 
 		population.sortPopulation();
 
-		System.out.println("Before Selection: ");
-		population.printPopulation();
+		if (SchedulingAlgorithm.verbose) {
+			System.out.println("Before Selection: ");
+			population.printPopulation();
+		}
 
 		while (population.size() > SchedulingAlgorithm.NUMBER_INDIVIDUAL) {
 			population.getPopulation().remove(SchedulingAlgorithm.NUMBER_INDIVIDUAL);
 		}
-		System.out.println("After Selection: ");
-		population.printPopulation();
+		if (SchedulingAlgorithm.verbose) {
+			System.out.println("After Selection: ");
+			population.printPopulation();
+		}
 
 //              System.out.println("--------AFTER select--------");
 //              population.printPopulation();
@@ -534,15 +588,39 @@ public class GeneticAlgorithm {
 		return this.minCost;
 	}
 
+	public FitnessEngine getFitnessEngine() {
+		return this.fitnessEngine;
+	}
+
+	/**
+	 * Make the algorithm memetic, see refinePopulation
+	 *
+	 * @param refineCount the number of fittest individuals refined, 0 disables
+	 *                    the refinement
+	 * @param refineMoves the largest number of moves of a refinement
+	 */
+	public void setRefinement(int refineCount, int refineMoves) {
+		this.refineCount = refineCount;
+		this.refineMoves = refineMoves;
+	}
+
+	public SelectionStrategy getSelection() {
+		return this.selection;
+	}
+
+	public void setSelection(SelectionStrategy selection) {
+		this.selection = selection;
+	}
+
+	// share an engine already built for the same fogDevices and cloudlets
+	public void setFitnessEngine(FitnessEngine fitnessEngine) {
+		this.fitnessEngine = fitnessEngine;
+		this.minTime = fitnessEngine.getMinTime();
+		this.minCost = fitnessEngine.getMinCost();
+	}
+
 	public boolean isSameIndividual(Individual individual1, Individual individual2) {
-		boolean same = true;
-		for (int geneIndex = 0; geneIndex < individual1.getChromosomeLength(); geneIndex++) {
-			if (individual1.getGene(geneIndex) != individual2.getGene(geneIndex)) {
-				same = false;
-				break;
-			}
-		}
-		return same;
+		return individual1.hasSameChromosome(individual2);
 	}
 
 	public static void main(String[] args) {
@@ -556,6 +634,7 @@ public class GeneticAlgorithm {
 		// Copy some individuals to population of next generation
 		int numberOfParentPairs = (int) (population.size() * this.crossoverRate / 2);
 		int numberOfCopyIndividuals = population.size() - 2 * numberOfParentPairs;
+		prepareSelection(population);
 
 		for (int index = 0; index < numberOfCopyIndividuals; index++) {
 			if (index < this.elitismCount) {
@@ -598,7 +677,7 @@ public class GeneticAlgorithm {
 		// Loop over current population by fitness
 		for (int populationIndex = 0; populationIndex < newPopulation.size(); populationIndex++) {
 			// if the current individual is selected to mutation phase
-			if (this.mutationRate > Math.random() && populationIndex >= this.elitismCount) {
+			if (this.mutationRate > Service.random() && populationIndex >= this.elitismCount) {
 				Individual individual = newPopulation.getFittest(populationIndex);
 				individual.setGene(Service.rand(0, individual.getChromosomeLength() - 1),
 						Service.rand(0, individual.getMaxValue()));
@@ -616,8 +695,10 @@ public class GeneticAlgorithm {
 		newPopulation.getPopulation().clear();
 		population = this.evalPopulation(population, fogDevices, cloudletList);
 
-		System.out.println("Before Selection: ");
-		population.printPopulation();
+		if (SchedulingAlgorithm.verbose) {
+			System.out.println("Before Selection: ");
+			population.printPopulation();
+		}
 
 		while (population.size() > SchedulingAlgorithm.NUMBER_INDIVIDUAL) {
 			population.getPopulation().remove(SchedulingAlgorithm.NUMBER_INDIVIDUAL);
@@ -7,10 +7,14 @@ public class Individual {
 	private double time;
 	private double fitness = -1;
 	private int maxValue;
+	// Zobrist hash of the chromosome, the xor of geneHash(offset, gene) over all
+	// genes, updated by setGene
+	private long hash;
 	
 	public Individual(int chromosomeLength, int maxValue) {
 		this.chromosome = new int[chromosomeLength];
 		this.maxValue = maxValue;
+		this.rehash();
 		for (int gene = 0; gene < chromosomeLength; gene++) {
 			this.setGene(gene, Service.rand(0, maxValue));
 		}
@@ -19,6 +23,7 @@ public class Individual {
 	public Individual(int chromosomeLength, int maxValue, int value) {
 		this.chromosome = new int[chromosomeLength];
 		this.maxValue = maxValue;
+		this.rehash();
 		for (int gene = 0; gene < chromosomeLength; gene++) {
 			this.setGene(gene, value);
 		}
@@ -26,6 +31,17 @@ public class Individual {
 	
 	public Individual(int chromosomeLength) {
 		this.chromosome = new int[chromosomeLength];
+		this.rehash();
+	}
+
+	// copy an individual with its evaluation
+	public Individual(Individual individual) {
+		this.chromosome = individual.chromosome.clone();
+		this.maxValue = individual.maxValue;
+		this.cost = individual.cost;
+		this.time = individual.time;
+		this.fitness = individual.fitness;
+		this.hash = individual.hash;
 	}
 	
 	public void printGene() {
@@ -56,6 +72,9 @@ public class Individual {
 	/**
 	 * Gets individual's chromosome
 	 * 
+	 * Genes written directly to the array are not seen by the hash: call
+	 * rehash() afterwards.
+	 * 
 	 * @return The individual's chromosome
 	 */
 	public int[] getChromosome() {
@@ -79,6 +98,7 @@ public class Individual {
 	 * @return gene
 	 */
 	public void setGene(int offset, int gene) {
+		this.hash ^= geneHash(offset, this.chromosome[offset]) ^ geneHash(offset, gene);
 		this.chromosome[offset] = gene;
 	}
 
@@ -92,6 +112,44 @@ public class Individual {
 		return this.chromosome[offset];
 	}
 
+	public long getHash() {
+		return hash;
+	}
+
+	// recompute the hash after the chromosome array was written directly
+	public void rehash() {
+		long hash = 0;
+		for (int offset = 0; offset < chromosome.length; offset++) {
+			hash ^= geneHash(offset, chromosome[offset]);
+		}
+		this.hash = hash;
+	}
+
+	/**
+	 * Check if two individuals have the same chromosome. Different hashes
+	 * answer in constant time; equal hashes are confirmed gene by gene.
+	 */
+	public boolean hasSameChromosome(Individual individual) {
+		if (this.hash != individual.hash || this.chromosome.length != individual.chromosome.length) {
+			return false;
+		}
+		for (int offset = 0; offset < chromosome.length; offset++) {
+			if (this.chromosome[offset] != individual.chromosome[offset]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// random-looking 64 bits of a (offset, gene) pair: the SplitMix64 finalizer,
+	// which plays the role of the Zobrist table without storing it
+	static long geneHash(int offset, int gene) {
+		long z = (((long) offset << 32) | (gene & 0xffffffffL)) + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
 	public int getMaxValue() {
 		return maxValue;
 	}
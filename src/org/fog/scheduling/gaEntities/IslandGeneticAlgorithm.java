@@ -0,0 +1,231 @@
+package org.fog.scheduling.gaEntities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * The island model runs several independent populations (islands) of the
+ * genetic algorithm in parallel. Every migration interval the islands stop and
+ * exchange copies of their best individuals, which replace the weakest
+ * individuals of the receiving islands.
+ *
+ * All islands share one FitnessEngine and one ForkJoinPool, which runs both the
+ * islands and their parallel evaluations on at most one thread per island and
+ * per processor. Each island draws from its own random
+ * generator, split from the caller's when the islands are created, so a seeded
+ * run is reproducible whatever thread evolves each island.
+ */
+public class IslandGeneticAlgorithm {
+
+	/**
+	 * The migration topology. In a RING, island i sends its migrants to island
+	 * i + 1; in ALL_TO_ALL, every island sends its migrants to all the others.
+	 */
+	public enum Topology {
+		RING, ALL_TO_ALL
+	}
+
+	private int numberIslands;
+	private int numberMigrants;
+	private int elitismCount;
+	private Topology topology;
+
+	private GeneticAlgorithm[] islands;
+	private Population[] populations;
+	private SplittableRandom[] randoms;
+
+	private FitnessEngine fitnessEngine;
+	private ForkJoinPool pool;
+
+	private List<FogDevice> fogDevices;
+	private List<? extends Cloudlet> cloudletList;
+
+	public IslandGeneticAlgorithm(int numberIslands, int populationSize, double mutationRate, double crossoverRate,
+			int elitismCount, int numberMigrants, Topology topology) {
+		this.numberIslands = numberIslands;
+		this.numberMigrants = numberMigrants;
+		this.elitismCount = elitismCount;
+		this.topology = topology;
+		this.islands = new GeneticAlgorithm[numberIslands];
+		this.populations = new Population[numberIslands];
+		this.randoms = new SplittableRandom[numberIslands];
+		for (int island = 0; island < numberIslands; island++) {
+			islands[island] = new GeneticAlgorithm(populationSize, mutationRate, crossoverRate, elitismCount);
+			randoms[island] = Service.split();
+		}
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost, and share the FitnessEngine
+	 * between the islands
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fogDevices = problem.getFogDevices();
+		this.cloudletList = problem.getCloudletList();
+		this.fitnessEngine = new FitnessEngine(problem);
+		this.pool = new ForkJoinPool(Math.min(numberIslands, Runtime.getRuntime().availableProcessors()));
+		fitnessEngine.setPool(pool);
+		for (GeneticAlgorithm island : islands) {
+			island.setFitnessEngine(fitnessEngine);
+		}
+	}
+
+	/**
+	 * Initialize and evaluate the population of each island
+	 */
+	public void initPopulation(int chromosomeLength, int maxValue) {
+		SplittableRandom previous = Service.current();
+		for (int island = 0; island < numberIslands; island++) {
+			Service.setCurrent(randoms[island]);
+			populations[island] = islands[island].initPopulation(chromosomeLength, maxValue);
+			islands[island].evalPopulation(populations[island], fogDevices, cloudletList);
+		}
+		Service.setCurrent(previous);
+	}
+
+	/**
+	 * Evolve all islands in parallel for a number of generations
+	 */
+	public void evolve(final int generations) {
+		pool.invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+				for (int island = 0; island < numberIslands; island++) {
+					tasks.add(new EvolutionTask(island, generations));
+				}
+				invokeAll(tasks);
+			}
+		});
+	}
+
+	// evolve one island, the same loop as SchedulingAlgorithm.runGeneticAlgorithm
+	private class EvolutionTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int island;
+		private final int generations;
+
+		EvolutionTask(int island, int generations) {
+			this.island = island;
+			this.generations = generations;
+		}
+
+		@Override
+		protected void compute() {
+			// a worker may run another island while it waits, so restore its generator
+			SplittableRandom previous = Service.current();
+			Service.setCurrent(randoms[island]);
+			try {
+				GeneticAlgorithm ga = islands[island];
+				Population population = populations[island];
+				for (int generation = 0; generation < generations; generation++) {
+					population = ga.crossoverPopulation(population, fogDevices, cloudletList);
+					population = ga.mutatePopulation(population, fogDevices, cloudletList);
+					ga.evalPopulation(population, fogDevices, cloudletList);
+				}
+				populations[island] = population;
+			} finally {
+				Service.setCurrent(previous);
+			}
+		}
+	}
+
+	/**
+	 * Exchange the best individuals between the islands.
+	 *
+	 * The migrants of all islands are collected before any island is changed, so
+	 * the result does not depend on the order of the islands. Each migrant
+	 * replaces one of the weakest individuals of the receiving island; the elite
+	 * individuals are never replaced.
+	 */
+	public void migrate() {
+		if (numberIslands < 2) {
+			return;
+		}
+		// migrants[island] are the best individuals of the island
+		List<List<Individual>> migrants = new ArrayList<List<Individual>>();
+		for (int island = 0; island < numberIslands; island++) {
+			List<Individual> islandMigrants = new ArrayList<Individual>();
+			for (int index = 0; index < numberMigrants && index < populations[island].size(); index++) {
+				islandMigrants.add(populations[island].getFittest(index));
+			}
+			migrants.add(islandMigrants);
+		}
+
+		for (int island = 0; island < numberIslands; island++) {
+			List<Individual> immigrants = new ArrayList<Individual>();
+			if (topology == Topology.RING) {
+				immigrants.addAll(migrants.get((island + numberIslands - 1) % numberIslands));
+			} else {
+				for (int source = 0; source < numberIslands; source++) {
+					if (source != island) {
+						immigrants.addAll(migrants.get(source));
+					}
+				}
+			}
+
+			Population population = populations[island];
+			int replaceIndex = population.size() - 1;
+			for (Individual immigrant : immigrants) {
+				if (replaceIndex < elitismCount) {
+					break;
+				}
+				if (!islands[island].doesPopupationIncludeIndividual(population, immigrant)) {
+					population.setIndividual(replaceIndex, new Individual(immigrant));
+					replaceIndex--;
+				}
+			}
+			// sort the island and update its population fitness
+			islands[island].evalPopulation(population, fogDevices, cloudletList);
+		}
+	}
+
+	/**
+	 * Get the fittest individual of all islands
+	 */
+	public Individual getFittest() {
+		Individual fittest = populations[0].getFittest(0);
+		for (int island = 1; island < numberIslands; island++) {
+			if (populations[island].getFittest(0).getFitness() > fittest.getFitness()) {
+				fittest = populations[island].getFittest(0);
+			}
+		}
+		return fittest;
+	}
+
+	public Population getPopulation(int island) {
+		return populations[island];
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return fitnessEngine;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+
+	// release the threads of the islands
+	public void shutdown() {
+		pool.shutdown();
+	}
+}
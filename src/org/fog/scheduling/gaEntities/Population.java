@@ -3,11 +3,17 @@ package org.fog.scheduling.gaEntities;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Population {
 	private List<Individual> population;
 	private double populationFitness = -1;
+	// the individuals of each chromosome hash, built by indexChromosomes() and
+	// kept up to date by addIndividual, removeIndividual and setIndividual.
+	// null when the population may have changed another way.
+	private Map<Long, List<Individual>> chromosomeIndex;
 
 	/**
 	 * Initializes blank population of individuals
@@ -62,6 +68,90 @@ public class Population {
 
 	public void setPopulation(List<Individual> population) {
 		this.population = population;
+		this.chromosomeIndex = null;
+	}
+
+	/**
+	 * Index the chromosome hashes of the individuals, so that includes() answers
+	 * in constant expected time
+	 */
+	public void indexChromosomes() {
+		this.chromosomeIndex = new HashMap<Long, List<Individual>>();
+		for (Individual individual : this.population) {
+			addToIndex(individual);
+		}
+	}
+
+	private void addToIndex(Individual individual) {
+		List<Individual> members = chromosomeIndex.get(individual.getHash());
+		if (members == null) {
+			// a bucket rarely holds more than one chromosome
+			members = new ArrayList<Individual>(1);
+			chromosomeIndex.put(individual.getHash(), members);
+		}
+		members.add(individual);
+	}
+
+	private void removeFromIndex(Individual individual) {
+		List<Individual> members = chromosomeIndex.get(individual.getHash());
+		if (members == null) {
+			return;
+		}
+		// the same object, as the population holds it
+		for (int index = 0; index < members.size(); index++) {
+			if (members.get(index) == individual) {
+				members.remove(index);
+				break;
+			}
+		}
+		if (members.isEmpty()) {
+			chromosomeIndex.remove(individual.getHash());
+		}
+	}
+
+	/**
+	 * Check if the population includes an individual with the same chromosome.
+	 *
+	 * A hash absent from the index answers in constant time; a present hash is
+	 * confirmed against the genes of the individuals with that hash only.
+	 */
+	public boolean includes(Individual individual) {
+		if (this.chromosomeIndex == null) {
+			indexChromosomes();
+		}
+		List<Individual> members = this.chromosomeIndex.get(individual.getHash());
+		if (members == null) {
+			return false;
+		}
+		for (Individual member : members) {
+			if (member.hasSameChromosome(individual)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void addIndividual(Individual individual) {
+		this.population.add(individual);
+		if (this.chromosomeIndex != null) {
+			addToIndex(individual);
+		}
+	}
+
+	public boolean removeIndividual(Individual individual) {
+		boolean removed = this.population.remove(individual);
+		if (removed && this.chromosomeIndex != null) {
+			removeFromIndex(individual);
+		}
+		return removed;
+	}
+
+	/**
+	 * Forget the chromosome index, after individuals of the population were
+	 * changed
+	 */
+	public void invalidateChromosomeIndex() {
+		this.chromosomeIndex = null;
 	}
 	
 	/**
@@ -127,7 +217,12 @@ public class Population {
 	 * @return individual
 	 */
 	public Individual setIndividual(int offset, Individual individual) {
-		return population.set(offset, individual);
+		Individual previous = population.set(offset, individual);
+		if (this.chromosomeIndex != null) {
+			removeFromIndex(previous);
+			addToIndex(individual);
+		}
+		return previous;
 	}
 
 	/**
@@ -1,20 +1,67 @@
 package org.fog.scheduling.gaEntities;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
+/**
+ * The random source of the scheduling algorithms.
+ *
+ * Each thread draws from its own SplittableRandom, so drawing never allocates
+ * and never contends on a lock. All generators derive from one experiment seed:
+ * after setSeed, a single-threaded run is bit-reproducible. Code running work on
+ * other threads (e.g. one generator per island) binds a generator split from
+ * the current one with setCurrent, which keeps parallel runs reproducible too.
+ */
 public class Service {
+
+	// the root generator, the thread generators are split from it
+	private static SplittableRandom root = new SplittableRandom();
+
+	private static final ThreadLocal<SplittableRandom> CURRENT = new ThreadLocal<SplittableRandom>() {
+		@Override
+		protected SplittableRandom initialValue() {
+			return splitRoot();
+		}
+	};
+
+	private static synchronized SplittableRandom splitRoot() {
+		return root.split();
+	}
+
+	/**
+	 * Set the experiment seed and reset the generator of the calling thread.
+	 */
+	public static synchronized void setSeed(long seed) {
+		root = new SplittableRandom(seed);
+		CURRENT.set(root.split());
+	}
+
+	// the generator of the calling thread
+	public static SplittableRandom current() {
+		return CURRENT.get();
+	}
+
+	// bind a generator to the calling thread
+	public static void setCurrent(SplittableRandom random) {
+		CURRENT.set(random);
+	}
+
+	// a new generator split from the generator of the calling thread
+	public static SplittableRandom split() {
+		return CURRENT.get().split();
+	}
+
+	// random integer in [min, max]
 	public static int rand(int min, int max) {
-        try {
-            Random rn = new Random();
-            int range = max - min + 1;
-            int randomNum = min + rn.nextInt(range);
-            return randomNum;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return -1;
-        }
-    }
-	
-	
-	
+		try {
+			return CURRENT.get().nextInt(min, max + 1);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return -1;
+		}
+	}
+
+	// random double in [0, 1), replaces Math.random()
+	public static double random() {
+		return CURRENT.get().nextDouble();
+	}
 }
@@ -0,0 +1,97 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+
+/**
+ * Base of the batch heuristics (Min-Min, Max-Min, Sufferage): while cloudlets
+ * are unassigned, compute for each the completion time on each fogDevice (the
+ * time the fogDevice is ready plus the execution time), pick the cloudlet with
+ * the highest priority and assign it to the fogDevice completing it first.
+ *
+ * Each cloudlet keeps its best and second best fogDevice. Assigning a cloudlet
+ * only delays the fogDevice receiving it, so only the cloudlets whose best or
+ * second best fogDevice it is are recomputed; a schedule takes O(n^2) steps
+ * plus O(n * m) per recomputation instead of O(n^2 * m). Ties go to the
+ * lowest cloudlet index and the lowest fogId.
+ */
+public abstract class CompletionTimeHeuristic implements Heuristic {
+
+	/**
+	 * The priority of an unassigned cloudlet, the highest is assigned first
+	 *
+	 * @param bestTime   the earliest completion time of the cloudlet
+	 * @param secondTime the second earliest completion time, on another fogDevice
+	 */
+	protected abstract double priority(double bestTime, double secondTime);
+
+	@Override
+	public int[] schedule(FitnessEngine fitnessEngine) {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		double[] readyTime = new double[numberDevices];
+		int[] chromosome = new int[numberCloudlets];
+
+		boolean[] assigned = new boolean[numberCloudlets];
+		int[] bestDevice = new int[numberCloudlets];
+		int[] secondDevice = new int[numberCloudlets];
+		double[] bestTime = new double[numberCloudlets];
+		double[] secondTime = new double[numberCloudlets];
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			update(fitnessEngine, readyTime, cloudletIndex, bestDevice, secondDevice, bestTime, secondTime);
+		}
+
+		for (int step = 0; step < numberCloudlets; step++) {
+			int selected = -1;
+			double selectedPriority = Double.NEGATIVE_INFINITY;
+			for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+				if (assigned[cloudletIndex]) {
+					continue;
+				}
+				double priority = priority(bestTime[cloudletIndex], secondTime[cloudletIndex]);
+				if (selected < 0 || priority > selectedPriority) {
+					selected = cloudletIndex;
+					selectedPriority = priority;
+				}
+			}
+
+			int fogId = bestDevice[selected];
+			chromosome[selected] = fogId;
+			assigned[selected] = true;
+			readyTime[fogId] = bestTime[selected];
+
+			for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+				if (!assigned[cloudletIndex]
+						&& (bestDevice[cloudletIndex] == fogId || secondDevice[cloudletIndex] == fogId)) {
+					update(fitnessEngine, readyTime, cloudletIndex, bestDevice, secondDevice, bestTime, secondTime);
+				}
+			}
+		}
+		return chromosome;
+	}
+
+	// recompute the best and second best fogDevice of a cloudlet
+	private static void update(FitnessEngine fitnessEngine, double[] readyTime, int cloudletIndex, int[] bestDevice,
+			int[] secondDevice, double[] bestTime, double[] secondTime) {
+		int best = -1;
+		int second = -1;
+		double first = Double.MAX_VALUE;
+		double next = Double.MAX_VALUE;
+		for (int fogId = 0; fogId < readyTime.length; fogId++) {
+			double completionTime = readyTime[fogId] + fitnessEngine.getTime(cloudletIndex, fogId);
+			if (completionTime < first) {
+				second = best;
+				next = first;
+				best = fogId;
+				first = completionTime;
+			} else if (completionTime < next) {
+				second = fogId;
+				next = completionTime;
+			}
+		}
+		bestDevice[cloudletIndex] = best;
+		secondDevice[cloudletIndex] = second;
+		bestTime[cloudletIndex] = first;
+		// a single fogDevice has no second best, the sufferage is 0
+		secondTime[cloudletIndex] = second < 0 ? first : next;
+	}
+}
@@ -0,0 +1,40 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+
+/**
+ * Cost greedy: each cloudlet is assigned to its cheapest fogDevice, the
+ * schedule reaches the minCost of the FitnessEngine. Among fogDevices of equal
+ * cost, the one completing the cloudlet first is chosen.
+ */
+public class CostGreedyHeuristic implements Heuristic {
+
+	@Override
+	public String getName() {
+		return SchedulingAlgorithm.COST_GREEDY;
+	}
+
+	@Override
+	public int[] schedule(FitnessEngine fitnessEngine) {
+		double[] readyTime = new double[fitnessEngine.getNumberDevices()];
+		int[] chromosome = new int[fitnessEngine.getNumberCloudlets()];
+		for (int cloudletIndex = 0; cloudletIndex < chromosome.length; cloudletIndex++) {
+			int best = 0;
+			double bestCost = Double.MAX_VALUE;
+			double bestTime = Double.MAX_VALUE;
+			for (int fogId = 0; fogId < readyTime.length; fogId++) {
+				double cost = fitnessEngine.getCost(cloudletIndex, fogId);
+				double completionTime = readyTime[fogId] + fitnessEngine.getTime(cloudletIndex, fogId);
+				if (cost < bestCost || (cost == bestCost && completionTime < bestTime)) {
+					best = fogId;
+					bestCost = cost;
+					bestTime = completionTime;
+				}
+			}
+			chromosome[cloudletIndex] = best;
+			readyTime[best] = bestTime;
+		}
+		return chromosome;
+	}
+}
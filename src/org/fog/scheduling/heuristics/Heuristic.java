@@ -0,0 +1,22 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+
+/**
+ * A constructive list scheduler: builds one schedule of the cloudlets of a
+ * FitnessEngine from its execution time and cost matrices, without search.
+ *
+ * A heuristic is deterministic and stateless, so one instance may be shared.
+ */
+public interface Heuristic {
+
+	// the name of the heuristic, e.g. SchedulingAlgorithm.MIN_MIN
+	String getName();
+
+	/**
+	 * Build a schedule
+	 *
+	 * @return the fogId assigned to each cloudlet
+	 */
+	int[] schedule(FitnessEngine fitnessEngine);
+}
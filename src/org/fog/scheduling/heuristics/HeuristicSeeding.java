@@ -0,0 +1,157 @@
+package org.fog.scheduling.heuristics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.fog.scheduling.aco.AntColony;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.CompactPopulation;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.Population;
+import org.fog.scheduling.pso.CompactSwarm;
+import org.fog.scheduling.pso.Particle;
+import org.fog.scheduling.pso.SwarmPopulation;
+
+/**
+ * Seeds the initial population or swarm of a metaheuristic with the schedules
+ * of the heuristics, so the search starts near good regions instead of from
+ * random schedules only.
+ *
+ * The seeds replace the last individuals or particles of a freshly initialized
+ * population, the first ones are left to a warm start, see
+ * SchedulingAlgorithm.WARM_START_RATE. Heuristics building the same schedule
+ * give one seed.
+ */
+public class HeuristicSeeding {
+
+	// the heuristics seeding a population, in seeding order
+	public static List<Heuristic> getHeuristics() {
+		return Arrays.<Heuristic>asList(new MinMinHeuristic(), new SufferageHeuristic(), new MctHeuristic(),
+				new MaxMinHeuristic(), new CostGreedyHeuristic());
+	}
+
+	/**
+	 * The distinct schedules of the heuristics
+	 */
+	public static List<int[]> seeds(FitnessEngine fitnessEngine) {
+		List<int[]> seeds = new ArrayList<int[]>();
+		for (Heuristic heuristic : getHeuristics()) {
+			int[] chromosome = heuristic.schedule(fitnessEngine);
+			boolean duplicate = false;
+			for (int[] seed : seeds) {
+				if (Arrays.equals(seed, chromosome)) {
+					duplicate = true;
+					break;
+				}
+			}
+			if (!duplicate) {
+				seeds.add(chromosome);
+			}
+		}
+		return seeds;
+	}
+
+	/**
+	 * The fittest schedule of the heuristics, the start of a trajectory search
+	 */
+	public static int[] best(FitnessEngine fitnessEngine) {
+		int[] best = null;
+		double bestFitness = -1;
+		for (int[] seed : seeds(fitnessEngine)) {
+			double fitness = fitnessEngine.calcFitness(seed);
+			if (fitness > bestFitness) {
+				best = seed;
+				bestFitness = fitness;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Seed a population before it is evaluated
+	 *
+	 * @return the number of seeded individuals
+	 */
+	public static int seed(Population population, FitnessEngine fitnessEngine) {
+		List<int[]> seeds = seeds(fitnessEngine);
+		int seeded = Math.min(seeds.size(), population.size());
+		for (int seedIndex = 0; seedIndex < seeded; seedIndex++) {
+			Individual individual = population.getIndividual(population.size() - 1 - seedIndex);
+			int[] seed = seeds.get(seedIndex);
+			for (int geneIndex = 0; geneIndex < seed.length; geneIndex++) {
+				individual.setGene(geneIndex, seed[geneIndex]);
+			}
+		}
+		population.invalidateChromosomeIndex();
+		return seeded;
+	}
+
+	/**
+	 * Seed a compact population and evaluate it again
+	 *
+	 * @return the number of seeded individuals
+	 */
+	public static int seed(CompactPopulation population, FitnessEngine fitnessEngine) {
+		List<int[]> seeds = seeds(fitnessEngine);
+		int seeded = Math.min(seeds.size(), population.size());
+		int chromosomeLength = population.getChromosomeLength();
+		for (int seedIndex = 0; seedIndex < seeded; seedIndex++) {
+			int slot = population.size() - 1 - seedIndex;
+			System.arraycopy(seeds.get(seedIndex), 0, population.getGenes(), slot * chromosomeLength,
+					chromosomeLength);
+		}
+		population.evaluate(fitnessEngine);
+		return seeded;
+	}
+
+	/**
+	 * Seed a swarm before it is evaluated, the seeds are the pBest of their
+	 * particles
+	 *
+	 * @return the number of seeded particles
+	 */
+	public static int seed(SwarmPopulation swarmPopulation, FitnessEngine fitnessEngine) {
+		List<int[]> seeds = seeds(fitnessEngine);
+		int seeded = Math.min(seeds.size(), swarmPopulation.size());
+		for (int seedIndex = 0; seedIndex < seeded; seedIndex++) {
+			Particle particle = swarmPopulation.getParticle(swarmPopulation.size() - 1 - seedIndex);
+			int[] seed = seeds.get(seedIndex);
+			for (int gene = 0; gene < seed.length; gene++) {
+				particle.setGene(gene, seed[gene]);
+			}
+			particle.setpBest(particle);
+		}
+		return seeded;
+	}
+
+	/**
+	 * Seed a compact swarm before it is evaluated
+	 *
+	 * @return the number of seeded particles
+	 */
+	public static int seed(CompactSwarm swarm, FitnessEngine fitnessEngine) {
+		List<int[]> seeds = seeds(fitnessEngine);
+		int seeded = Math.min(seeds.size(), swarm.size());
+		int xLength = swarm.getXLength();
+		for (int seedIndex = 0; seedIndex < seeded; seedIndex++) {
+			int particle = swarm.size() - 1 - seedIndex;
+			System.arraycopy(seeds.get(seedIndex), 0, swarm.getPositions(), particle * xLength, xLength);
+		}
+		return seeded;
+	}
+
+	/**
+	 * Seed a colony before its first iteration, the fittest seed is its best
+	 * tour and the first deposits of the best tour lay pheromone on it
+	 *
+	 * @return the number of seeds offered
+	 */
+	public static int seed(AntColony colony, FitnessEngine fitnessEngine) {
+		List<int[]> seeds = seeds(fitnessEngine);
+		for (int[] seed : seeds) {
+			colony.offer(seed, fitnessEngine);
+		}
+		return seeds.size();
+	}
+}
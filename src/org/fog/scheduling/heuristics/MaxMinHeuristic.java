@@ -0,0 +1,18 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+
+// Max-Min: the cloudlet with the latest earliest completion time is assigned
+// first, so the long cloudlets do not end the schedule
+public class MaxMinHeuristic extends CompletionTimeHeuristic {
+
+	@Override
+	public String getName() {
+		return SchedulingAlgorithm.MAX_MIN;
+	}
+
+	@Override
+	protected double priority(double bestTime, double secondTime) {
+		return bestTime;
+	}
+}
@@ -0,0 +1,36 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+
+/**
+ * Minimum Completion Time: the cloudlets, in list order, are each assigned to
+ * the fogDevice which completes them first.
+ */
+public class MctHeuristic implements Heuristic {
+
+	@Override
+	public String getName() {
+		return SchedulingAlgorithm.MCT;
+	}
+
+	@Override
+	public int[] schedule(FitnessEngine fitnessEngine) {
+		double[] readyTime = new double[fitnessEngine.getNumberDevices()];
+		int[] chromosome = new int[fitnessEngine.getNumberCloudlets()];
+		for (int cloudletIndex = 0; cloudletIndex < chromosome.length; cloudletIndex++) {
+			int best = 0;
+			double bestTime = Double.MAX_VALUE;
+			for (int fogId = 0; fogId < readyTime.length; fogId++) {
+				double completionTime = readyTime[fogId] + fitnessEngine.getTime(cloudletIndex, fogId);
+				if (completionTime < bestTime) {
+					best = fogId;
+					bestTime = completionTime;
+				}
+			}
+			chromosome[cloudletIndex] = best;
+			readyTime[best] = bestTime;
+		}
+		return chromosome;
+	}
+}
@@ -0,0 +1,17 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+
+// Min-Min: the cloudlet with the earliest completion time is assigned first
+public class MinMinHeuristic extends CompletionTimeHeuristic {
+
+	@Override
+	public String getName() {
+		return SchedulingAlgorithm.MIN_MIN;
+	}
+
+	@Override
+	protected double priority(double bestTime, double secondTime) {
+		return -bestTime;
+	}
+}
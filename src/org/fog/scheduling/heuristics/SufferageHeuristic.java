@@ -0,0 +1,18 @@
+package org.fog.scheduling.heuristics;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+
+// Sufferage: the cloudlet which would suffer most from losing its best
+// fogDevice (second best minus best completion time) is assigned first
+public class SufferageHeuristic extends CompletionTimeHeuristic {
+
+	@Override
+	public String getName() {
+		return SchedulingAlgorithm.SUFFERAGE;
+	}
+
+	@Override
+	protected double priority(double bestTime, double secondTime) {
+		return secondTime - bestTime;
+	}
+}
@@ -0,0 +1,105 @@
+package org.fog.scheduling.localSearchAlgorithm;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * The fittest distinct schedules found by concurrent searches, at most
+ * capacity of them. Searches offer and draw schedules without locking: the
+ * pool is a ConcurrentSkipListSet ordered by decreasing fitness, trimmed after
+ * each insertion. Schedules with the same fitness and hash count as one.
+ */
+public class ElitePool {
+
+	// a schedule of the pool, never changed once offered
+	public static class Elite {
+		private final int[] chromosome;
+		private final double fitness;
+		private final double time;
+		private final double cost;
+		private final int hash;
+
+		public Elite(int[] chromosome, double fitness, double time, double cost) {
+			this.chromosome = chromosome.clone();
+			this.fitness = fitness;
+			this.time = time;
+			this.cost = cost;
+			this.hash = Arrays.hashCode(chromosome);
+		}
+
+		public int[] getChromosome() {
+			return chromosome;
+		}
+
+		public double getFitness() {
+			return fitness;
+		}
+
+		public double getTime() {
+			return time;
+		}
+
+		public double getCost() {
+			return cost;
+		}
+
+		public int getHash() {
+			return hash;
+		}
+	}
+
+	private static final Comparator<Elite> BY_FITNESS = new Comparator<Elite>() {
+		@Override
+		public int compare(Elite first, Elite second) {
+			int byFitness = Double.compare(second.fitness, first.fitness);
+			return byFitness != 0 ? byFitness : Integer.compare(first.hash, second.hash);
+		}
+	};
+
+	private final int capacity;
+	private final ConcurrentSkipListSet<Elite> elites = new ConcurrentSkipListSet<Elite>(BY_FITNESS);
+
+	public ElitePool(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Offer a schedule, kept if the pool is not full or it is fitter than the
+	 * least fit elite
+	 *
+	 * @return true if the schedule entered the pool
+	 */
+	public boolean offer(Elite elite) {
+		if (elites.size() >= capacity && elite.fitness <= elites.last().fitness) {
+			return false;
+		}
+		if (!elites.add(elite)) {
+			return false;
+		}
+		while (elites.size() > capacity) {
+			elites.pollLast();
+		}
+		return true;
+	}
+
+	/**
+	 * A random elite other than the schedule with the given hash, null if there
+	 * is none
+	 */
+	public Elite draw(SplittableRandom random, int excludedHash) {
+		Object[] snapshot = elites.toArray();
+		int count = 0;
+		for (Object elite : snapshot) {
+			if (((Elite) elite).hash != excludedHash) {
+				snapshot[count++] = elite;
+			}
+		}
+		return count == 0 ? null : (Elite) snapshot[random.nextInt(count)];
+	}
+
+	public int size() {
+		return elites.size();
+	}
+}
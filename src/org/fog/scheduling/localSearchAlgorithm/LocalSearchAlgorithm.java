@@ -2,54 +2,78 @@ package org.fog.scheduling.localSearchAlgorithm;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.fog.entities.FogDevice;
 import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.fitness.FitnessState;
 import org.fog.scheduling.gaEntities.Individual;
 import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.telemetry.ConvergenceTelemetry;
+import org.fog.scheduling.termination.AnyCondition;
+import org.fog.scheduling.termination.MaxGenerations;
+import org.fog.scheduling.termination.MaxTime;
+import org.fog.scheduling.termination.SearchControl;
 
 public class LocalSearchAlgorithm {
 
         private double minTime;
         private double minCost;
+        private FitnessEngine fitnessEngine;
 
         public LocalSearchAlgorithm() {
 
         }
 
+        // climb until no move improves the individual
         public Individual hillCliming(Individual individual, List<FogDevice> fogDevices,
                         List<? extends Cloudlet> cloudletList) {
+                return hillCliming(individual, fogDevices, cloudletList,
+                                new SearchControl(new MaxGenerations(Integer.MAX_VALUE)));
+        }
+
+        // climb until no move improves the individual or the control stops the
+        // search, each round is one generation of the control
+        public Individual hillCliming(Individual individual, List<FogDevice> fogDevices,
+                        List<? extends Cloudlet> cloudletList, SearchControl control) {
 
                 // listChange contains which gene change makes the individual better
                 List<Pair> listChange = new ArrayList<Pair>();
 
+                // the state follows the individual's chromosome and scores each move
+                // from the fogDevice loads, without building neighbour individuals
+                FitnessState state = fitnessEngine.createState(individual.getChromosome());
+                // the start schedule is the best one until a move improves it, even
+                // if it is already a local optimum
+                control.update(state.getChromosome(), state.getFitness(), state.getMakespan(), state.getTotalCost(), 0);
+                recordTelemetry(control, state);
+
                 int numberRound = 0;
 
                 // Start local search loop
                 do {
                         numberRound++;
-                        System.out.println("\n--------------------------------------");
-                        System.out.println("Round " + numberRound + ": ");
+                        if (SchedulingAlgorithm.verbose) {
+                                System.out.println("\n--------------------------------------");
+                                System.out.println("Round " + numberRound + ": ");
+                        }
                         listChange.clear();
-                        // fitness stores the fitness value of current individual
+                        // fitness stores the fitness value of current individual, the
+                        // state is reloaded so both are computed the same way
                         double fitness = calcFitness(individual, fogDevices, cloudletList);
+                        state.load(individual.getChromosome());
 
                         // consider which gene changed makes individual better
                         for (int cloudletId = 0; cloudletId < individual.getChromosomeLength(); cloudletId++) {
                                 for (int fogId = 0; fogId < individual.getMaxValue() + 1; fogId++) {
-
-                                        // create newIndividual similar to individual
-                                        Individual newIndividual = new Individual(individual.getChromosomeLength());
-                                        for (int geneIndex = 0; geneIndex < newIndividual.getChromosomeLength(); geneIndex++) {
-                                                newIndividual.setGene(geneIndex, individual.getGene(geneIndex));
+                                        if (fogId == individual.getGene(cloudletId)) {
+                                                continue;
                                         }
-
-                                        // change a gene of individual to form newIndividual
-                                        newIndividual.setGene(cloudletId, fogId);
-                                        double newFitness = calcFitness(newIndividual, fogDevices, cloudletList);
-                                        // if newIndividual is better then individual, store change
+                                        double newFitness = state.evaluateMove(cloudletId, fogId);
+                                        // if the move makes individual better, store change
                                         // in listChange
                                         if (newFitness > fitness) {
                                                 listChange.add(new Pair(cloudletId, fogId));
@@ -59,23 +83,73 @@ public class LocalSearchAlgorithm {
 
                         // if exist any gene make individual better, select randomly a gene
                         // change to have newIndividual
-                        System.out.println("Number of changelist: " + listChange.size());
+                        if (SchedulingAlgorithm.verbose) {
+                                System.out.println("Number of changelist: " + listChange.size());
+                        }
                         if (!listChange.isEmpty()) {
                                 int change = Service.rand(0, listChange.size() - 1);
-                                individual.setGene(listChange.get(change).getCloudletId(), listChange.get(change).getFogId());
-                                System.out.println("change possition: " + listChange.get(change).getCloudletId() + " "
-                                                + listChange.get(change).getFogId());
+                                state.setGene(listChange.get(change).getCloudletId(), listChange.get(change).getFogId());
+                                control.update(state.getChromosome(), state.getFitness(), state.getMakespan(),
+                                                state.getTotalCost(), 1);
+                                recordTelemetry(control, state);
+                                if (SchedulingAlgorithm.verbose) {
+                                        System.out.println("change possition: " + listChange.get(change).getCloudletId() + " "
+                                                        + listChange.get(change).getFogId());
+                                }
                         }
-                        individual.printGene();
+                        if (SchedulingAlgorithm.verbose) {
+                                individual.printGene();
 
-                        System.out.println("\nFitness value: " + individual.getFitness());
-                        System.out.println("Min Time: " + this.getMinTime() + "/// Makespan: " + individual.getTime());
-                        System.out.println("Min Cost: " + this.getMinCost() + "/// TotalCost: " + individual.getCost());
+                                System.out.println("\nFitness value: " + individual.getFitness());
+                                System.out.println("Min Time: " + this.getMinTime() + "/// Makespan: " + individual.getTime());
+                                System.out.println("Min Cost: " + this.getMinCost() + "/// TotalCost: " + individual.getCost());
+                        }
 
-                } while (!listChange.isEmpty());
+                } while (!listChange.isEmpty() && !control.isTerminated());
+                // the state wrote the chromosome directly
+                individual.rehash();
+                calcFitness(individual, fogDevices, cloudletList);
                 return individual;
         }
 
+        /**
+         * Climb from the chromosome of a state with the moves of hillCliming, one
+         * cloudlet to another fogDevice, for at most maxMoves moves. Each move is
+         * the best improving one, so the climb draws no random number and can run
+         * on any thread. The state writes the chromosome in place.
+         *
+         * @return the number of moves, less than maxMoves if the chromosome is a
+         *         local optimum
+         */
+        public static int climb(FitnessState state, int maxValue, int maxMoves) {
+                int[] chromosome = state.getChromosome();
+                int moves = 0;
+                while (moves < maxMoves) {
+                        double bestFitness = state.getFitness();
+                        int bestCloudlet = -1;
+                        int bestFogId = -1;
+                        for (int cloudletId = 0; cloudletId < chromosome.length; cloudletId++) {
+                                for (int fogId = 0; fogId < maxValue + 1; fogId++) {
+                                        if (fogId == chromosome[cloudletId]) {
+                                                continue;
+                                        }
+                                        double newFitness = state.evaluateMove(cloudletId, fogId);
+                                        if (newFitness > bestFitness) {
+                                                bestFitness = newFitness;
+                                                bestCloudlet = cloudletId;
+                                                bestFogId = fogId;
+                                        }
+                                }
+                        }
+                        if (bestCloudlet < 0) {
+                                break;
+                        }
+                        state.setGene(bestCloudlet, bestFogId);
+                        moves++;
+                }
+                return moves;
+        }
+
         public void restart(Individual individual, int tabu[][]) {
                 individual = new Individual(individual.getChromosomeLength(), individual.getMaxValue());
 
@@ -88,8 +162,18 @@ public class LocalSearchAlgorithm {
 
         }
 
+        // tabu search for maxInteration steps or maxTime seconds
         public Individual tabuSearch(Individual individual, List<FogDevice> fogDevices,
                         List<? extends Cloudlet> cloudletList, int maxStable, int maxInteration, int maxTime, int tabuLength) {
+                SearchControl control = new SearchControl(
+                                new AnyCondition(new MaxGenerations(maxInteration), new MaxTime(maxTime * 1000L)));
+                return tabuSearch(individual, fogDevices, cloudletList, maxStable, tabuLength, control);
+        }
+
+        // tabu search until the control stops it, each step is one generation
+        // of the control
+        public Individual tabuSearch(Individual individual, List<FogDevice> fogDevices,
+                        List<? extends Cloudlet> cloudletList, int maxStable, int tabuLength, SearchControl control) {
 
                 // initiate Tabu metric, the value of each element is -1
                 int[][] tabuMetric = new int[individual.getChromosomeLength()][individual.getMaxValue() + 1];
@@ -99,89 +183,87 @@ public class LocalSearchAlgorithm {
                         }
                 }
 
-                Individual bestSolution = new Individual(cloudletList.size(), fogDevices.size() - 1);
+                // the search starts from the given individual, e.g. a warm start or
+                // a seed, so it is the first best solution
+                Individual bestSolution = new Individual(individual);
                 double bestValue = calcFitness(bestSolution, fogDevices, cloudletList);
 
-                // listChange contains which gene change makes the individual better
-                List<Pair> listChange = new ArrayList<Pair>();
+                // the state follows the current individual and scores each move from
+                // the fogDevice loads, without building neighbour individuals
+                FitnessState state = fitnessEngine.createState(individual.getChromosome());
 
-                double start = System.currentTimeMillis();
                 int count = 0;
-                maxTime = maxTime * 1000;
-                Random R = new Random();
+                SplittableRandom R = Service.current();
                 int nic = 0;
 
-                while (System.currentTimeMillis() - start < maxTime && count < maxInteration) {
+                while (!control.isTerminated()) {
                         int sel_i = -1;
                         int sel_v = -1;
-                        listChange.clear();
+                        // number of moves sharing the best delta, the selected one is
+                        // drawn uniformly among them
+                        int numberTies = 0;
                         double min = -10000;
-                        double valueIndividual = calcFitness(individual, fogDevices, cloudletList);
+                        double valueIndividual = state.getFitness();
                         // consider which gene changed makes individual better
                         for (int cloudletId = 0; cloudletId < individual.getChromosomeLength(); cloudletId++) {
                                 for (int fogId = 0; fogId < individual.getMaxValue() + 1; fogId++) {
 
                                         if(tabuMetric[cloudletId][fogId] <= count) {
-                                                // create newIndividual similar to individual
-                                                Individual newIndividual = new Individual(individual.getChromosomeLength());
-                                                for (int geneIndex = 0; geneIndex < newIndividual.getChromosomeLength(); geneIndex++) {
-                                                        newIndividual.setGene(geneIndex, individual.getGene(geneIndex));
-                                                }
-
-                                                // change a gene of individual to form newIndividual
-                                                newIndividual.setGene(cloudletId, fogId);
-                                                double newFitness = calcFitness(newIndividual, fogDevices, cloudletList);
+                                                double newFitness = state.evaluateMove(cloudletId, fogId);
                                                 double deltaF = newFitness - valueIndividual;
-                                                // if newIndividual is better then individual, store change
-                                                // in listChange
+                                                // keep the best move
                                                 if (deltaF > min) {
                                                         min = deltaF;
                                                         sel_i = cloudletId;
                                                         sel_v = fogId;
-                                                        listChange.clear();
-                                                        listChange.add(new Pair(sel_i, sel_v));
+                                                        numberTies = 1;
                                                 } else if (deltaF == min){
-                                                        listChange.add(new Pair(cloudletId, fogId));
+                                                        numberTies++;
+                                                        if (R.nextInt(numberTies) == 0) {
+                                                                sel_i = cloudletId;
+                                                                sel_v = fogId;
+                                                        }
                                                 }
                                         }
 
                                 }
                         }
-                        if(listChange.size() > 0) {
-                                int k = R.nextInt(listChange.size());
-                                Pair p = listChange.get(k);
-                                sel_i = p.getCloudletId();
-                                sel_v = p.getFogId();
-                                individual.setGene(sel_i, sel_v);
+                        if(numberTies > 0) {
+                                state.setGene(sel_i, sel_v);
                                 tabuMetric[sel_i][sel_v] = count + tabuLength;
-                                valueIndividual = calcFitness(individual, fogDevices, cloudletList);
-                                System.out.println("Step: " + count + "----Current value: " + valueIndividual + "----Best value: " + bestValue + "----Delta: " + min + "----Nic: " + nic);
-
-                                if(valueIndividual > bestValue) {
-                                        bestValue = valueIndividual;
-                                        for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-                                                bestSolution.setGene(geneIndex, individual.getGene(geneIndex));
-                                        }
+                                valueIndividual = state.getFitness();
+                                if (SchedulingAlgorithm.verbose) {
+                                        System.out.println("Step: " + count + "----Current value: " + valueIndividual + "----Best value: " + bestValue + "----Delta: " + min + "----Nic: " + nic);
                                 }
-                                if (valueIndividual <= bestValue) {
-                                        nic++;
-                                        if(nic > maxStable) {
-                                                nic = 0;
-                                                System.out.println("Tabu restart:");
-//                                              restart(individual, tabuMetric);
-                                                individual = new Individual(individual.getChromosomeLength(), individual.getMaxValue());
-                                                for (int cloudletId = 0; cloudletId < individual.getChromosomeLength(); cloudletId++) {
-                                                        for (int fogId = 0; fogId < individual.getMaxValue() + 1; fogId++) {
-                                                                tabuMetric[cloudletId][fogId] = -1;
-                                                        }
-                                                }
-                                        }
+                        }
+                        // the control sees the step before a restart replaces it
+                        control.update(state.getChromosome(), state.getFitness(), state.getMakespan(),
+                                        state.getTotalCost(), 1);
+                        recordTelemetry(control, state);
+
+                        boolean restart;
+                        if (numberTies > 0 && valueIndividual > bestValue) {
+                                bestValue = valueIndividual;
+                                for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
+                                        bestSolution.setGene(geneIndex, individual.getGene(geneIndex));
                                 }
+                                nic = 0;
+                                restart = false;
+                        } else if (numberTies > 0) {
+                                nic++;
+                                restart = nic > maxStable;
                         } else {
+                                // every move is tabu
+                                restart = true;
+                        }
+                        if (restart) {
                                 nic = 0;
-                                System.out.println("Tabu restart:");
+                                if (SchedulingAlgorithm.verbose) {
+                                        System.out.println("Tabu restart:");
+                                }
 //                              restart(individual, tabuMetric);
                                 individual = new Individual(individual.getChromosomeLength(), individual.getMaxValue());
+                                state.load(individual.getChromosome());
                                 for (int cloudletId = 0; cloudletId < individual.getChromosomeLength(); cloudletId++) {
                                         for (int fogId = 0; fogId < individual.getMaxValue() + 1; fogId++) {
                                                 tabuMetric[cloudletId][fogId] = -1;
@@ -190,6 +272,7 @@ public class LocalSearchAlgorithm {
                         }
                         count++;
                 }
+                calcFitness(bestSolution, fogDevices, cloudletList);
                 return bestSolution;
 
 //              int numberRound = 0;
@@ -256,12 +339,8 @@ public class LocalSearchAlgorithm {
         /**
          * Calculate fitness for an individual.
          *
-         * In this case, the fitness score is very simple: it's the number of ones
-         * in the chromosome. Don't forget that this method, and this whole
-         * GeneticAlgorithm class, is meant to solve the problem in the "AllOnesGA"
-         * class and example. For different problems, you'll need to create a
-         * different version of this method to appropriately calculate the fitness
-         * of an individual.
+         * The fitness is the weighted sum of the normalized makespan and total
+         * cost, evaluated by the FitnessEngine built in calcMinTimeCost.
          *
          * @param individual
          *            the individual to evaluate
@@ -269,54 +348,7 @@ public class LocalSearchAlgorithm {
          */
         public double calcFitness(Individual individual, List<FogDevice> fogDevices,
                         List<? extends Cloudlet> cloudletList) {
-
-                // clear the fogDevice - task list before calculate
-                for (FogDevice fogDevice : fogDevices) {
-                        fogDevice.getCloudletListAssignment().clear();
-                }
-
-                // Loop over individual's genes to all the task assigned to the
-                // fogDevice
-                for (int geneIndex = 0; geneIndex < individual.getChromosomeLength(); geneIndex++) {
-                        // add current cloudlet to fog device respectively
-                        fogDevices.get(individual.getGene(geneIndex)).getCloudletListAssignment().add(cloudletList.get(geneIndex));
-                }
-
-                // Calculate makespan and cost
-                double makespan = 0;
-                double execTime = 0;
-                double totalCost = 0;
-                for (FogDevice fogDevice : fogDevices) {
-                        double totalLength = 0;
-                        for (Cloudlet cloudlet : fogDevice.getCloudletListAssignment()) {
-                                totalLength += cloudlet.getCloudletLength();
-                                // the total cost is sum of the cost execution of each cloudlet
-                                totalCost += calcCost(cloudlet, fogDevice);
-                        }
-                        // execTime is the time that fogDevice finishes its list cloudlet
-                        // assignment
-                        execTime = totalLength / fogDevice.getHostList().get(0).getTotalMips();
-                        // makespan is defined as when the last cloudlet finished or when
-                        // all fogDevices finish its work.
-                        if (execTime > makespan) {
-                                makespan = execTime;
-                        }
-                }
-
-                // store makespan
-                individual.setTime(makespan);
-                // store cost
-                individual.setCost(totalCost);
-
-                // Calculate fitness
-                double fitness = SchedulingAlgorithm.TIME_WEIGHT * minTime / makespan
-                                + (1 - SchedulingAlgorithm.TIME_WEIGHT) * minCost / totalCost;
-
-                // double fitness = minTime / makespan;
-                // double fitness = minCost / totalCost;
-                // Store fitness
-                individual.setFitness(fitness);
-                return fitness;
+                return fitnessEngine.calcFitness(individual);
         }
 
         /**
@@ -324,54 +356,13 @@ public class LocalSearchAlgorithm {
          *
          */
         public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-                this.minTime = calcMinTime(fogDevices, cloudletList);
-                this.minCost = calcMinCost(fogDevices, cloudletList);
+                calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
         }
 
-        private double calcMinCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-                double minCost = 0;
-                for (Cloudlet cloudlet : cloudletList) {
-                        double minCloudletCost = Double.MAX_VALUE;
-                        for (FogDevice fogDevice : fogDevices) {
-                                double cost = calcCost(cloudlet, fogDevice);
-                                if (minCloudletCost > cost) {
-                                        minCloudletCost = cost;
-                                }
-                        }
-                        // the minCost is defined as the sum of all minCloudletCost
-                        minCost += minCloudletCost;
-                }
-                return minCost;
-        }
-
-        // the method calculates the cost (G$) when a fogDevice executes a cloudlet
-        private double calcCost(Cloudlet cloudlet, FogDevice fogDevice) {
-                double cost = 0;
-                // cost includes the processing cost
-                cost += fogDevice.getCharacteristics().getCostPerSecond() * cloudlet.getCloudletLength()
-                                / fogDevice.getHost().getTotalMips();
-                // cost includes the memory cost
-                cost += fogDevice.getCharacteristics().getCostPerMem() * cloudlet.getMemRequired();
-                // cost includes the bandwidth cost
-                cost += fogDevice.getCharacteristics().getCostPerBw()
-                                * (cloudlet.getCloudletFileSize() + cloudlet.getCloudletOutputSize());
-                return cost;
-        }
-
-        // the function calculate the lower bound of the solution about time
-        // execution
-        private double calcMinTime(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-                double minTime = 0;
-                double totalLength = 0;
-                double totalMips = 0;
-                for (Cloudlet cloudlet : cloudletList) {
-                        totalLength += cloudlet.getCloudletLength();
-                }
-                for (FogDevice fogDevice : fogDevices) {
-                        totalMips += fogDevice.getHost().getTotalMips();
-                }
-                minTime = totalLength / totalMips;
-                return minTime;
+        public void calcMinTimeCost(ProblemInstance problem) {
+                this.fitnessEngine = new FitnessEngine(problem);
+                this.minTime = fitnessEngine.getMinTime();
+                this.minCost = fitnessEngine.getMinCost();
         }
 
         public double getMinTime() {
@@ -381,4 +372,18 @@ public class LocalSearchAlgorithm {
         public double getMinCost() {
                 return minCost;
         }
+
+        // record the current solution of a step, a single solution has no diversity
+        private static void recordTelemetry(SearchControl control, FitnessState state) {
+                ConvergenceTelemetry telemetry = control.getTelemetry();
+                if (telemetry == null) {
+                        return;
+                }
+                telemetry.record(control.getGeneration(), state.getFitness(), state.getFitness(), state.getMakespan(),
+                                state.getTotalCost(), Double.NaN, control.getElapsedNanos());
+        }
+
+        public FitnessEngine getFitnessEngine() {
+                return fitnessEngine;
+        }
 }
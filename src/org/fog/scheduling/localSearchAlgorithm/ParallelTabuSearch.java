@@ -0,0 +1,386 @@
+package org.fog.scheduling.localSearchAlgorithm;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.fitness.FitnessState;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * The tabu search of LocalSearchAlgorithm.tabuSearch on several walks in
+ * parallel, sharing their best schedules.
+ *
+ * Each walk takes the best move that is not tabu, one cloudlet to another
+ * fogDevice, or a tabu move better than the best schedule of its episode
+ * (aspiration). Moving a cloudlet makes its previous fogDevice tabu for
+ * tabuLength moves. A tabu entry is the move count at which it expires, so
+ * clearing the tabu list only advances the move count past every entry.
+ *
+ * After maxStable moves without a better schedule, the walk offers the best
+ * schedule of its episode to an ElitePool shared by the walks and restarts by
+ * path relinking: from its best schedule towards a random elite, it moves the
+ * differing cloudlets one at a time, best move first, and restarts from the
+ * fittest schedule strictly between both. A walk with no other elite to relink
+ * to perturbs its best schedule instead.
+ *
+ * The best schedule of all walks is published without locking, by a compare
+ * and set on an AtomicReference. Each walk has its own random generator split
+ * when the search is created, but the walks exchange elites while they run,
+ * so only a run on one thread is reproducible.
+ */
+public class ParallelTabuSearch {
+
+	// the elites shared by the walks
+	public static final int ELITE_SIZE = 10;
+	// the share of the cloudlets moved by a perturbation
+	public static final double PERTURBATION_RATE = 0.1;
+
+	private final Walk[] walks;
+	private final int maxStable;
+	private final int tabuLength;
+	private FitnessEngine fitnessEngine;
+
+	private ElitePool elitePool;
+	private final AtomicReference<ElitePool.Elite> globalBest = new AtomicReference<ElitePool.Elite>();
+
+	public ParallelTabuSearch(int numberWalks, int maxStable, int tabuLength) {
+		this.maxStable = maxStable;
+		this.tabuLength = tabuLength;
+		this.walks = new Walk[numberWalks];
+		for (int walk = 0; walk < numberWalks; walk++) {
+			walks[walk] = new Walk(Service.split());
+		}
+	}
+
+	// a tabu walk from one schedule
+	private static class Walk {
+		private final SplittableRandom random;
+		private FitnessState state;
+
+		// the move count at which moving cloudlet i to fogDevice j stops being
+		// tabu, at i * numberDevices + j
+		private int[] tabu;
+		private int moves;
+		private int nic;
+
+		// the best schedule of the episode
+		private int[] best;
+		private double bestFitness;
+
+		// scratch buffers of the path relinking
+		private int[] differing;
+		private int[] path;
+
+		Walk(SplittableRandom random) {
+			this.random = random;
+		}
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost
+	 *
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+		this.elitePool = new ElitePool(ELITE_SIZE);
+		this.globalBest.set(null);
+	}
+
+	/**
+	 * Start every walk from a random schedule, drawn from its own generator
+	 */
+	public void initWalks() {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		for (int walk = 0; walk < walks.length; walk++) {
+			int[] chromosome = new int[numberCloudlets];
+			for (int gene = 0; gene < numberCloudlets; gene++) {
+				chromosome[gene] = walks[walk].random.nextInt(numberDevices);
+			}
+			start(walk, chromosome);
+		}
+	}
+
+	/**
+	 * Start a walk from a schedule, which the walk then writes. Call it after
+	 * initWalks, e.g. for a warm start or a seed.
+	 */
+	public void start(int walk, int[] chromosome) {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		Walk current = walks[walk];
+		current.state = fitnessEngine.createState(chromosome);
+		current.tabu = new int[numberCloudlets * fitnessEngine.getNumberDevices()];
+		current.moves = 0;
+		current.nic = 0;
+		current.best = chromosome.clone();
+		current.bestFitness = current.state.getFitness();
+		current.differing = new int[numberCloudlets];
+		current.path = new int[numberCloudlets];
+		publish(current);
+	}
+
+	/**
+	 * One tabu move of every walk in parallel
+	 */
+	public void step() {
+		fitnessEngine.getPool().invoke(new WalkTask(0, walks.length));
+	}
+
+	// move the walks in [from, to)
+	private class WalkTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		WalkTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				for (int walk = from; walk < to; walk++) {
+					move(walks[walk]);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new WalkTask(from, middle), new WalkTask(middle, to));
+			}
+		}
+	}
+
+	// one move of a walk, see the class comment
+	private void move(Walk walk) {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		FitnessState state = walk.state;
+		int[] chromosome = state.getChromosome();
+		int[] tabu = walk.tabu;
+
+		int selectedCloudlet = -1;
+		int selectedFogId = -1;
+		// number of moves sharing the best fitness, the selected one is drawn
+		// uniformly among them
+		int numberTies = 0;
+		double selectedFitness = Double.NEGATIVE_INFINITY;
+		for (int cloudletIndex = 0; cloudletIndex < numberCloudlets; cloudletIndex++) {
+			int current = chromosome[cloudletIndex];
+			int start = cloudletIndex * numberDevices;
+			for (int fogId = 0; fogId < numberDevices; fogId++) {
+				if (fogId == current) {
+					continue;
+				}
+				double newFitness = state.evaluateMove(cloudletIndex, fogId);
+				if (tabu[start + fogId] > walk.moves && newFitness <= walk.bestFitness) {
+					continue;
+				}
+				if (newFitness > selectedFitness) {
+					selectedFitness = newFitness;
+					selectedCloudlet = cloudletIndex;
+					selectedFogId = fogId;
+					numberTies = 1;
+				} else if (newFitness == selectedFitness) {
+					numberTies++;
+					if (walk.random.nextInt(numberTies) == 0) {
+						selectedCloudlet = cloudletIndex;
+						selectedFogId = fogId;
+					}
+				}
+			}
+		}
+		if (numberTies == 0) {
+			// every move is tabu or there is none
+			restart(walk);
+			return;
+		}
+
+		int oldFogId = chromosome[selectedCloudlet];
+		state.setGene(selectedCloudlet, selectedFogId);
+		walk.moves++;
+		tabu[selectedCloudlet * numberDevices + oldFogId] = walk.moves + tabuLength;
+
+		double fitness = state.getFitness();
+		if (fitness > walk.bestFitness) {
+			walk.bestFitness = fitness;
+			System.arraycopy(chromosome, 0, walk.best, 0, numberCloudlets);
+			walk.nic = 0;
+			publish(walk);
+		} else if (++walk.nic > maxStable) {
+			restart(walk);
+		}
+	}
+
+	/**
+	 * Publish the current schedule of a walk if it is better than the global
+	 * best, without locking
+	 */
+	private void publish(Walk walk) {
+		ElitePool.Elite best = globalBest.get();
+		if (best != null && walk.state.getFitness() <= best.getFitness()) {
+			return;
+		}
+		ElitePool.Elite elite = new ElitePool.Elite(walk.state.getChromosome(), walk.state.getFitness(),
+				walk.state.getMakespan(), walk.state.getTotalCost());
+		while (best == null || elite.getFitness() > best.getFitness()) {
+			if (globalBest.compareAndSet(best, elite)) {
+				return;
+			}
+			best = globalBest.get();
+		}
+	}
+
+	// offer the best schedule of the episode, then start the next one
+	private void restart(Walk walk) {
+		FitnessState state = walk.state;
+		int[] chromosome = state.getChromosome();
+		int numberCloudlets = chromosome.length;
+
+		System.arraycopy(walk.best, 0, chromosome, 0, numberCloudlets);
+		state.load(chromosome);
+		ElitePool.Elite initiating = new ElitePool.Elite(chromosome, state.getFitness(), state.getMakespan(),
+				state.getTotalCost());
+		elitePool.offer(initiating);
+
+		ElitePool.Elite guiding = elitePool.draw(walk.random, initiating.getHash());
+		if (guiding == null || !relink(walk, guiding.getChromosome())) {
+			perturb(walk);
+		}
+
+		// every tabu entry expires
+		walk.moves += tabuLength + 1;
+		walk.nic = 0;
+		walk.bestFitness = state.getFitness();
+		System.arraycopy(chromosome, 0, walk.best, 0, numberCloudlets);
+		publish(walk);
+	}
+
+	/**
+	 * Move the state of a walk from its schedule towards the guiding one, then
+	 * back to the fittest schedule strictly between both
+	 *
+	 * @return false if the schedules differ by less than two cloudlets
+	 */
+	private boolean relink(Walk walk, int[] guiding) {
+		FitnessState state = walk.state;
+		int[] chromosome = state.getChromosome();
+		int[] differing = walk.differing;
+		int[] path = walk.path;
+		int count = 0;
+		for (int cloudletIndex = 0; cloudletIndex < chromosome.length; cloudletIndex++) {
+			if (chromosome[cloudletIndex] != guiding[cloudletIndex]) {
+				differing[count++] = cloudletIndex;
+			}
+		}
+		if (count < 2) {
+			return false;
+		}
+
+		// path[k] is the cloudlet moved by the k-th move, walked until one cloudlet
+		// is left, so every schedule on the path differs from both ends
+		int length = 0;
+		int bestLength = 1;
+		double bestFitness = Double.NEGATIVE_INFINITY;
+		while (count > 1) {
+			int selected = 0;
+			double selectedFitness = Double.NEGATIVE_INFINITY;
+			for (int index = 0; index < count; index++) {
+				int cloudletIndex = differing[index];
+				double newFitness = state.evaluateMove(cloudletIndex, guiding[cloudletIndex]);
+				if (newFitness > selectedFitness) {
+					selectedFitness = newFitness;
+					selected = index;
+				}
+			}
+			int cloudletIndex = differing[selected];
+			path[length] = cloudletIndex;
+			// remember the fogId of the initiating schedule in differing
+			differing[selected] = differing[--count];
+			differing[count] = chromosome[cloudletIndex];
+			state.setGene(cloudletIndex, guiding[cloudletIndex]);
+			length++;
+			if (state.getFitness() > bestFitness) {
+				bestFitness = state.getFitness();
+				bestLength = length;
+			}
+		}
+
+		// undo the moves after the fittest schedule, the k-th move from the end
+		// stored its previous fogId at differing[count + k]
+		for (int move = length - 1; move >= bestLength; move--) {
+			int cloudletIndex = path[move];
+			state.setGene(cloudletIndex, differing[count + (length - 1 - move)]);
+		}
+		return true;
+	}
+
+	// move PERTURBATION_RATE of the cloudlets of a walk to random fogDevices
+	private void perturb(Walk walk) {
+		FitnessState state = walk.state;
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		int numberMoves = Math.max(1, (int) (numberCloudlets * PERTURBATION_RATE));
+		for (int move = 0; move < numberMoves && numberCloudlets > 0; move++) {
+			state.setGene(walk.random.nextInt(numberCloudlets), walk.random.nextInt(numberDevices));
+		}
+	}
+
+	// copy the best schedule of all walks to an Individual object
+	public Individual toIndividual() {
+		ElitePool.Elite best = globalBest.get();
+		Individual individual = new Individual(best.getChromosome().length);
+		System.arraycopy(best.getChromosome(), 0, individual.getChromosome(), 0, best.getChromosome().length);
+		individual.setMaxValue(fitnessEngine.getNumberDevices() - 1);
+		individual.setFitness(best.getFitness());
+		individual.setTime(best.getTime());
+		individual.setCost(best.getCost());
+		individual.rehash();
+		return individual;
+	}
+
+	// the best schedule of all walks
+	public ElitePool.Elite getBest() {
+		return globalBest.get();
+	}
+
+	// the mean fitness of the current schedules of the walks
+	public double getMeanFitness() {
+		double totalFitness = 0;
+		for (Walk walk : walks) {
+			totalFitness += walk.state.getFitness();
+		}
+		return totalFitness / walks.length;
+	}
+
+	public ElitePool getElitePool() {
+		return elitePool;
+	}
+
+	public int size() {
+		return walks.length;
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return fitnessEngine;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+}
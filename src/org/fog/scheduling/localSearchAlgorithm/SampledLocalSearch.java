@@ -0,0 +1,375 @@
+package org.fog.scheduling.localSearchAlgorithm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.fitness.FitnessState;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * Local searches sampling one random move at a time, one cloudlet to another
+ * fogDevice, instead of scanning the n * m moves of hillCliming and
+ * tabuSearch. A move is scored by FitnessState.evaluateMove from the fogDevice
+ * loads in constant time, and an accepted move updates them, usually in
+ * constant time too.
+ *
+ * A move is accepted by
+ *
+ * - ANNEALING: simulated annealing, a worse move with probability
+ * exp(delta / temperature). The cooling is adaptive: the target share of
+ * accepted worse moves decays from INITIAL_ACCEPTANCE to FINAL_ACCEPTANCE,
+ * and after each step the temperature cools if more worse moves were accepted
+ * than the target, or warms up otherwise.
+ * - LATE_ACCEPTANCE: late acceptance hill climbing, a move no worse than the
+ * current fitness or the fitness HISTORY_LENGTH moves ago.
+ *
+ * A walk stuck for RESTART_STEPS steps restarts from its best schedule, the
+ * annealing reheated. Several walks are independent searches (multi-start),
+ * run in parallel, each with its own random generator split when the search is
+ * created, so a seeded run is reproducible whatever the number of threads. A
+ * step samples as many moves as the neighbourhood has, n * (m - 1), in every
+ * walk.
+ */
+public class SampledLocalSearch {
+
+	public enum Acceptance {
+		ANNEALING, LATE_ACCEPTANCE
+	}
+
+	// the share of worse moves accepted at the start of the annealing
+	public static final double INITIAL_ACCEPTANCE = 0.5;
+	// the share of worse moves accepted at the end of the annealing
+	public static final double FINAL_ACCEPTANCE = 0.001;
+	// the decay of the target share of accepted worse moves after each step
+	public static final double TARGET_DECAY = 0.95;
+	// the change of the temperature after each step
+	public static final double COOLING = 0.9;
+	// the moves sampled to set the initial temperature
+	public static final int SAMPLE_MOVES = 1000;
+	// the fitness of the last HISTORY_LENGTH moves of late acceptance
+	public static final int HISTORY_LENGTH = 1000;
+	// the steps without a better schedule before a walk restarts from its best
+	public static final int RESTART_STEPS = 20;
+
+	private final Acceptance acceptance;
+	private final Walk[] walks;
+	private FitnessEngine fitnessEngine;
+
+	// the walk with the best schedule
+	private int bestWalk;
+
+	public SampledLocalSearch(Acceptance acceptance, int numberWalks) {
+		this.acceptance = acceptance;
+		this.walks = new Walk[numberWalks];
+		for (int walk = 0; walk < numberWalks; walk++) {
+			walks[walk] = new Walk(Service.split());
+		}
+	}
+
+	// a search from one schedule
+	private static class Walk {
+		private final SplittableRandom random;
+		private FitnessState state;
+		private double fitness;
+
+		private int[] best;
+		private double bestFitness;
+		private double bestTime;
+		private double bestCost;
+		private int stableSteps;
+
+		private double initialTemperature;
+		private double temperature;
+		private double target;
+
+		private double[] history;
+		private long moves;
+
+		Walk(SplittableRandom random) {
+			this.random = random;
+		}
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost
+	 *
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+	}
+
+	/**
+	 * Start every walk from a random schedule, drawn from its own generator
+	 */
+	public void initWalks() {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		for (int walk = 0; walk < walks.length; walk++) {
+			int[] chromosome = new int[numberCloudlets];
+			for (int gene = 0; gene < numberCloudlets; gene++) {
+				chromosome[gene] = walks[walk].random.nextInt(numberDevices);
+			}
+			start(walk, chromosome);
+		}
+	}
+
+	/**
+	 * Start a walk from a schedule, which the walk then writes. Call it after
+	 * initWalks, e.g. for a warm start or a seed.
+	 */
+	public void start(int walk, int[] chromosome) {
+		Walk current = walks[walk];
+		current.state = fitnessEngine.createState(chromosome);
+		current.fitness = current.state.getFitness();
+		current.best = chromosome.clone();
+		current.bestFitness = current.fitness;
+		current.bestTime = current.state.getMakespan();
+		current.bestCost = current.state.getTotalCost();
+		current.stableSteps = 0;
+		if (acceptance == Acceptance.ANNEALING) {
+			current.initialTemperature = sampleTemperature(current);
+			reheat(current);
+		} else {
+			current.history = new double[HISTORY_LENGTH];
+			current.moves = 0;
+			Arrays.fill(current.history, current.fitness);
+		}
+		updateBest();
+	}
+
+	/**
+	 * The temperature accepting a worse move of the mean loss with probability
+	 * INITIAL_ACCEPTANCE, from SAMPLE_MOVES random moves
+	 */
+	private double sampleTemperature(Walk walk) {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		if (numberDevices < 2 || numberCloudlets == 0) {
+			return Double.MIN_VALUE;
+		}
+		double totalLoss = 0;
+		int worse = 0;
+		for (int sample = 0; sample < SAMPLE_MOVES; sample++) {
+			int cloudletIndex = walk.random.nextInt(numberCloudlets);
+			int fogId = walk.random.nextInt(numberDevices - 1);
+			if (fogId >= walk.state.getGene(cloudletIndex)) {
+				fogId++;
+			}
+			double delta = walk.state.evaluateMove(cloudletIndex, fogId) - walk.fitness;
+			if (delta < 0) {
+				totalLoss -= delta;
+				worse++;
+			}
+		}
+		if (worse == 0) {
+			return Double.MIN_VALUE;
+		}
+		return -(totalLoss / worse) / Math.log(INITIAL_ACCEPTANCE);
+	}
+
+	private void reheat(Walk walk) {
+		walk.temperature = walk.initialTemperature;
+		walk.target = INITIAL_ACCEPTANCE;
+	}
+
+	/**
+	 * One step of every walk in parallel, then find the best walk
+	 */
+	public void step() {
+		fitnessEngine.getPool().invoke(new WalkTask(0, walks.length));
+		updateBest();
+	}
+
+	// step the walks in [from, to)
+	private class WalkTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		WalkTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				for (int walk = from; walk < to; walk++) {
+					step(walks[walk]);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new WalkTask(from, middle), new WalkTask(middle, to));
+			}
+		}
+	}
+
+	// sample the moves of one step of a walk, see the class comment
+	private void step(Walk walk) {
+		int numberCloudlets = fitnessEngine.getNumberCloudlets();
+		int numberDevices = fitnessEngine.getNumberDevices();
+		if (numberDevices < 2) {
+			return;
+		}
+		SplittableRandom random = walk.random;
+		FitnessState state = walk.state;
+		int[] chromosome = state.getChromosome();
+		boolean annealing = acceptance == Acceptance.ANNEALING;
+		double temperature = walk.temperature;
+		double fitness = walk.fitness;
+		double bestFitness = walk.bestFitness;
+		int worse = 0;
+		int acceptedWorse = 0;
+
+		int numberMoves = numberCloudlets * (numberDevices - 1);
+		for (int move = 0; move < numberMoves; move++) {
+			int cloudletIndex = random.nextInt(numberCloudlets);
+			int fogId = random.nextInt(numberDevices - 1);
+			if (fogId >= chromosome[cloudletIndex]) {
+				fogId++;
+			}
+			double candidate = state.evaluateMove(cloudletIndex, fogId);
+			boolean accept;
+			int slot = 0;
+			if (annealing) {
+				double delta = candidate - fitness;
+				if (delta >= 0) {
+					accept = true;
+				} else {
+					worse++;
+					accept = random.nextDouble() < Math.exp(delta / temperature);
+					if (accept) {
+						acceptedWorse++;
+					}
+				}
+			} else {
+				slot = (int) (walk.moves++ % HISTORY_LENGTH);
+				accept = candidate >= fitness || candidate >= walk.history[slot];
+			}
+			if (accept) {
+				state.setGene(cloudletIndex, fogId);
+				fitness = state.getFitness();
+			}
+			if (!annealing && fitness > walk.history[slot]) {
+				// a slot keeps the fitness of the walk when it is better
+				walk.history[slot] = fitness;
+			}
+			if (fitness > bestFitness) {
+				bestFitness = fitness;
+				System.arraycopy(chromosome, 0, walk.best, 0, numberCloudlets);
+				walk.bestTime = state.getMakespan();
+				walk.bestCost = state.getTotalCost();
+			}
+		}
+		walk.fitness = fitness;
+
+		if (bestFitness > walk.bestFitness) {
+			walk.bestFitness = bestFitness;
+			walk.stableSteps = 0;
+		} else {
+			walk.stableSteps++;
+		}
+		if (annealing) {
+			double accepted = worse > 0 ? (double) acceptedWorse / worse : 0;
+			walk.temperature = accepted > walk.target ? temperature * COOLING : temperature / COOLING;
+			walk.target = Math.max(FINAL_ACCEPTANCE, walk.target * TARGET_DECAY);
+		}
+		if (walk.stableSteps >= RESTART_STEPS && (!annealing || walk.target == FINAL_ACCEPTANCE)) {
+			restart(walk);
+		}
+	}
+
+	// restart a walk from its best schedule
+	private void restart(Walk walk) {
+		int[] chromosome = walk.state.getChromosome();
+		System.arraycopy(walk.best, 0, chromosome, 0, chromosome.length);
+		walk.state.load(chromosome);
+		walk.fitness = walk.state.getFitness();
+		walk.stableSteps = 0;
+		if (acceptance == Acceptance.ANNEALING) {
+			reheat(walk);
+		} else {
+			Arrays.fill(walk.history, walk.fitness);
+		}
+	}
+
+	// the best walk, the first one on ties
+	private void updateBest() {
+		bestWalk = 0;
+		for (int walk = 1; walk < walks.length; walk++) {
+			if (walks[walk].state != null && walks[walk].bestFitness > walks[bestWalk].bestFitness) {
+				bestWalk = walk;
+			}
+		}
+	}
+
+	// copy the best schedule to an Individual object
+	public Individual toIndividual() {
+		Walk walk = walks[bestWalk];
+		Individual individual = new Individual(walk.best.length);
+		System.arraycopy(walk.best, 0, individual.getChromosome(), 0, walk.best.length);
+		individual.setMaxValue(fitnessEngine.getNumberDevices() - 1);
+		individual.setFitness(walk.bestFitness);
+		individual.setTime(walk.bestTime);
+		individual.setCost(walk.bestCost);
+		individual.rehash();
+		return individual;
+	}
+
+	public int[] getBest() {
+		return walks[bestWalk].best;
+	}
+
+	public double getBestFitness() {
+		return walks[bestWalk].bestFitness;
+	}
+
+	public double getBestTime() {
+		return walks[bestWalk].bestTime;
+	}
+
+	public double getBestCost() {
+		return walks[bestWalk].bestCost;
+	}
+
+	// the mean fitness of the current schedules of the walks
+	public double getMeanFitness() {
+		double totalFitness = 0;
+		for (Walk walk : walks) {
+			totalFitness += walk.fitness;
+		}
+		return totalFitness / walks.length;
+	}
+
+	public int size() {
+		return walks.length;
+	}
+
+	public Acceptance getAcceptance() {
+		return acceptance;
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return fitnessEngine;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+}
@@ -0,0 +1,234 @@
+package org.fog.scheduling.pareto;
+
+/**
+ * Fast non-dominated sorting and crowding distance of schedules over the two
+ * objectives of the scheduling problem, makespan and total cost, both
+ * minimized.
+ *
+ * The schedules are sorted once by makespan, then by cost. Walking them in
+ * this order, a schedule joins the first front whose last member does not
+ * dominate it; the last members of the fronts have increasing costs, so the
+ * front is found by binary search. In the same order the members of a front
+ * have decreasing costs, so the crowding distance needs no other sort. Sorting
+ * P schedules takes O(P log P), the O(M P log P) of the general method with
+ * M = 2 objectives.
+ *
+ * A sorter keeps its buffers between calls, sorting up to capacity schedules
+ * allocates no memory. It is not thread safe.
+ */
+public class NonDominatedSorter {
+
+	private final int capacity;
+
+	// the schedules in (makespan, cost) order
+	private final int[] order;
+	private final int[] sortBuffer;
+
+	// the front of each schedule, 0 is the non-dominated front
+	private final int[] rank;
+	private final double[] distance;
+
+	// the schedules grouped by front, front f is [frontStart[f], frontStart[f + 1])
+	private final int[] members;
+	private final int[] frontStart;
+	private int numberFronts;
+
+	// the last member of each front during the sort
+	private final double[] lastTime;
+	private final double[] lastCost;
+
+	public NonDominatedSorter(int capacity) {
+		this.capacity = capacity;
+		this.order = new int[capacity];
+		this.sortBuffer = new int[capacity];
+		this.rank = new int[capacity];
+		this.distance = new double[capacity];
+		this.members = new int[capacity];
+		this.frontStart = new int[capacity + 1];
+		this.lastTime = new double[capacity];
+		this.lastCost = new double[capacity];
+	}
+
+	/**
+	 * Sort schedules into fronts and compute their crowding distances
+	 *
+	 * @param time the makespan of each schedule
+	 * @param cost the total cost of each schedule
+	 * @param size the number of schedules, at most the capacity
+	 * @return the number of fronts
+	 */
+	public int sort(double[] time, double[] cost, int size) {
+		if (size > capacity) {
+			throw new IllegalArgumentException("Cannot sort " + size + " schedules, the capacity is " + capacity);
+		}
+		sortByObjectives(time, cost, size);
+
+		numberFronts = 0;
+		for (int position = 0; position < size; position++) {
+			int schedule = order[position];
+			int low = 0;
+			int high = numberFronts;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (dominates(lastTime[middle], lastCost[middle], time[schedule], cost[schedule])) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			rank[schedule] = low;
+			lastTime[low] = time[schedule];
+			lastCost[low] = cost[schedule];
+			if (low == numberFronts) {
+				numberFronts++;
+			}
+		}
+
+		// group the schedules by front, keeping the (makespan, cost) order
+		for (int front = 0; front <= numberFronts; front++) {
+			frontStart[front] = 0;
+		}
+		for (int schedule = 0; schedule < size; schedule++) {
+			frontStart[rank[schedule] + 1]++;
+		}
+		for (int front = 0; front < numberFronts; front++) {
+			frontStart[front + 1] += frontStart[front];
+		}
+		// the insertion point of each front, in the sort buffer which is free again
+		int[] next = sortBuffer;
+		System.arraycopy(frontStart, 0, next, 0, numberFronts);
+		for (int position = 0; position < size; position++) {
+			int schedule = order[position];
+			members[next[rank[schedule]]++] = schedule;
+		}
+
+		for (int front = 0; front < numberFronts; front++) {
+			crowdingDistance(time, cost, frontStart[front], frontStart[front + 1]);
+		}
+		return numberFronts;
+	}
+
+	/**
+	 * The crowding distance of the members of a front: the normalized size of
+	 * the box between their neighbours, infinite for the two extreme members
+	 */
+	private void crowdingDistance(double[] time, double[] cost, int from, int to) {
+		int first = members[from];
+		int last = members[to - 1];
+		double timeRange = time[last] - time[first];
+		double costRange = cost[first] - cost[last];
+		distance[first] = Double.POSITIVE_INFINITY;
+		distance[last] = Double.POSITIVE_INFINITY;
+		for (int position = from + 1; position < to - 1; position++) {
+			int previous = members[position - 1];
+			int next = members[position + 1];
+			double crowding = 0;
+			if (timeRange > 0) {
+				crowding += (time[next] - time[previous]) / timeRange;
+			}
+			if (costRange > 0) {
+				crowding += (cost[previous] - cost[next]) / costRange;
+			}
+			distance[members[position]] = crowding;
+		}
+	}
+
+	/**
+	 * Order the members of a front by decreasing crowding distance, the least
+	 * crowded first. Members of equal distance keep their (makespan, cost)
+	 * order.
+	 */
+	public void sortByDistance(int front) {
+		int from = frontStart[front];
+		int to = frontStart[front + 1];
+		int[] source = members;
+		int[] target = sortBuffer;
+		for (int width = 1; width < to - from; width *= 2) {
+			for (int left = from; left < to; left += 2 * width) {
+				int middle = Math.min(left + width, to);
+				int right = Math.min(left + 2 * width, to);
+				int i = left;
+				int j = middle;
+				for (int k = left; k < right; k++) {
+					if (i < middle && (j >= right || distance[source[i]] >= distance[source[j]])) {
+						target[k] = source[i++];
+					} else {
+						target[k] = source[j++];
+					}
+				}
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		if (source != members) {
+			System.arraycopy(source, from, members, from, to - from);
+		}
+	}
+
+	// schedule q dominates p: not worse on both objectives, better on one
+	private static boolean dominates(double timeQ, double costQ, double timeP, double costP) {
+		return timeQ <= timeP && costQ <= costP && (timeQ < timeP || costQ < costP);
+	}
+
+	/**
+	 * Order the schedules by makespan, then cost. The sort is a stable bottom-up
+	 * merge sort, see CompactPopulation.sortPopulation.
+	 */
+	private void sortByObjectives(double[] time, double[] cost, int size) {
+		for (int schedule = 0; schedule < size; schedule++) {
+			order[schedule] = schedule;
+		}
+		int[] source = order;
+		int[] target = sortBuffer;
+		for (int width = 1; width < size; width *= 2) {
+			for (int left = 0; left < size; left += 2 * width) {
+				int middle = Math.min(left + width, size);
+				int right = Math.min(left + 2 * width, size);
+				int i = left;
+				int j = middle;
+				for (int k = left; k < right; k++) {
+					if (i < middle && (j >= right || time[source[i]] < time[source[j]]
+							|| (time[source[i]] == time[source[j]] && cost[source[i]] <= cost[source[j]]))) {
+						target[k] = source[i++];
+					} else {
+						target[k] = source[j++];
+					}
+				}
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		if (source != order) {
+			System.arraycopy(source, 0, order, 0, size);
+		}
+	}
+
+	public int getNumberFronts() {
+		return numberFronts;
+	}
+
+	// the first position of a front in the members
+	public int getFrontStart(int front) {
+		return frontStart[front];
+	}
+
+	// the position after the last member of a front
+	public int getFrontEnd(int front) {
+		return frontStart[front + 1];
+	}
+
+	// the schedule at a position of the members, grouped by front
+	public int getMember(int position) {
+		return members[position];
+	}
+
+	public int getRank(int schedule) {
+		return rank[schedule];
+	}
+
+	public double getDistance(int schedule) {
+		return distance[schedule];
+	}
+}
@@ -0,0 +1,228 @@
+package org.fog.scheduling.pareto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.Population;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * A multi-objective genetic algorithm in the style of NSGA-II, minimizing the
+ * makespan and the total cost of a schedule instead of their weighted sum. One
+ * run finds the whole trade-off between time and cost, see ParetoFront.
+ *
+ * Each generation creates as many offspring as individuals: parents are chosen
+ * by binary tournament on (front, crowding distance), then crossed over with
+ * the 2 point crossover of GeneticAlgorithm and mutated. Parents and new
+ * offspring are sorted into non-dominated fronts; the best fronts survive, the
+ * last front that does not fit entirely is cut by decreasing crowding distance
+ * to keep the front spread. An offspring equal to a member of the population
+ * is dropped, so copies do not crowd the front.
+ *
+ * The population is kept in survivor order: by front, the non-dominated
+ * schedules first.
+ */
+public class NsgaIIAlgorithm {
+	private int populationSize;
+	private double mutationRate;
+	private double crossoverRate;
+
+	private FitnessEngine fitnessEngine;
+
+	// sorts the parents and offspring of a generation
+	private NonDominatedSorter sorter;
+	private double[] time;
+	private double[] cost;
+
+	// the front and crowding distance of each individual of the population, read
+	// by the tournament
+	private int[] rank;
+	private double[] distance;
+
+	public NsgaIIAlgorithm(int populationSize, double mutationRate, double crossoverRate) {
+		this.populationSize = populationSize;
+		this.mutationRate = mutationRate;
+		this.crossoverRate = crossoverRate;
+		this.sorter = new NonDominatedSorter(2 * populationSize);
+		this.time = new double[2 * populationSize];
+		this.cost = new double[2 * populationSize];
+		this.rank = new int[populationSize];
+		this.distance = new double[populationSize];
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost
+	 *
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+	}
+
+	/**
+	 * Initialize a random population, evaluated by evalPopulation
+	 */
+	public Population initPopulation(int chromosomeLength, int maxValue) {
+		return new Population(this.populationSize, chromosomeLength, maxValue);
+	}
+
+	/**
+	 * Evaluate the individuals in parallel and sort them into fronts
+	 */
+	public Population evalPopulation(Population population) {
+		fitnessEngine.calcFitness(population.getPopulation());
+		return selectSurvivors(population);
+	}
+
+	/**
+	 * Create the offspring of a generation and select the survivors among the
+	 * parents and offspring
+	 */
+	public Population evolve(Population population) {
+		List<Individual> offsprings = new ArrayList<Individual>(populationSize);
+		for (int offspringIndex = 0; offspringIndex < populationSize; offspringIndex++) {
+			Individual parent1 = selectIndividual(population);
+			Individual offspring;
+			if (this.crossoverRate > Service.random()) {
+				offspring = crossover2Point(parent1, selectIndividual(population));
+			} else {
+				offspring = new Individual(parent1);
+			}
+			if (this.mutationRate > Service.random()) {
+				offspring.setGene(Service.rand(0, offspring.getChromosomeLength() - 1),
+						Service.rand(0, offspring.getMaxValue()));
+			}
+			offsprings.add(offspring);
+		}
+
+		// Evaluate all offsprings in parallel
+		fitnessEngine.calcFitness(offsprings);
+
+		population.indexChromosomes();
+		for (Individual offspring : offsprings) {
+			if (!population.includes(offspring)) {
+				population.addIndividual(offspring);
+			}
+		}
+		return selectSurvivors(population);
+	}
+
+	/**
+	 * Keep the populationSize best individuals of the candidates, by front then
+	 * by decreasing crowding distance in the last front
+	 */
+	private Population selectSurvivors(Population candidates) {
+		List<Individual> individuals = candidates.getPopulation();
+		for (int index = 0; index < individuals.size(); index++) {
+			time[index] = individuals.get(index).getTime();
+			cost[index] = individuals.get(index).getCost();
+		}
+		int numberFronts = sorter.sort(time, cost, individuals.size());
+
+		List<Individual> survivors = new ArrayList<Individual>(populationSize);
+		double populationFitness = 0;
+		for (int front = 0; front < numberFronts && survivors.size() < populationSize; front++) {
+			if (sorter.getFrontEnd(front) - sorter.getFrontStart(front) > populationSize - survivors.size()) {
+				sorter.sortByDistance(front);
+			}
+			for (int position = sorter.getFrontStart(front); position < sorter.getFrontEnd(front)
+					&& survivors.size() < populationSize; position++) {
+				int member = sorter.getMember(position);
+				rank[survivors.size()] = sorter.getRank(member);
+				distance[survivors.size()] = sorter.getDistance(member);
+				survivors.add(individuals.get(member));
+				populationFitness += individuals.get(member).getFitness();
+			}
+		}
+		candidates.setPopulation(survivors);
+		candidates.setPopulationFitness(populationFitness);
+		return candidates;
+	}
+
+	/**
+	 * Select a parent by binary tournament: the individual of the better front,
+	 * or the less crowded of the same front
+	 */
+	public Individual selectIndividual(Population population) {
+		int index1 = Service.rand(0, population.size() - 1);
+		int index2 = Service.rand(0, population.size() - 1);
+		if (rank[index2] < rank[index1] || (rank[index2] == rank[index1] && distance[index2] > distance[index1])) {
+			return population.getIndividual(index2);
+		}
+		return population.getIndividual(index1);
+	}
+
+	// crossover 2 points between 2 parents and create an offspring, see
+	// GeneticAlgorithm.crossover2Point
+	public Individual crossover2Point(Individual parent1, Individual parent2) {
+		int chromosomeLength = parent1.getChromosomeLength();
+		Individual offspring = new Individual(chromosomeLength);
+		offspring.setMaxValue(parent1.getMaxValue());
+		int crossoverPoint1 = Service.rand(0, chromosomeLength - 1);
+		int crossoverPoint2 = Service.rand(crossoverPoint1 + 1, crossoverPoint1 + chromosomeLength);
+
+		for (int geneIndex = 0; geneIndex < chromosomeLength; geneIndex++) {
+			boolean fromParent2;
+			if (crossoverPoint2 >= chromosomeLength) {
+				fromParent2 = geneIndex >= crossoverPoint1 || geneIndex < (crossoverPoint2 - chromosomeLength);
+			} else {
+				fromParent2 = geneIndex >= crossoverPoint1 && geneIndex < crossoverPoint2;
+			}
+			offspring.setGene(geneIndex, (fromParent2 ? parent2 : parent1).getGene(geneIndex));
+		}
+		return offspring;
+	}
+
+	/**
+	 * The individual with the best weighted fitness, always in the first front
+	 */
+	public Individual getFittest(Population population) {
+		Individual fittest = population.getIndividual(0);
+		for (int index = 1; index < population.size() && rank[index] == 0; index++) {
+			if (population.getIndividual(index).getFitness() > fittest.getFitness()) {
+				fittest = population.getIndividual(index);
+			}
+		}
+		return fittest;
+	}
+
+	/**
+	 * The non-dominated individuals of the population
+	 */
+	public ParetoFront getFront(Population population) {
+		List<Individual> front = new ArrayList<Individual>();
+		for (int index = 0; index < population.size() && rank[index] == 0; index++) {
+			front.add(population.getIndividual(index));
+		}
+		return new ParetoFront(front, getMinTime(), getMinCost());
+	}
+
+	// the front of an individual of the population, 0 is the non-dominated front
+	public int getRank(int index) {
+		return rank[index];
+	}
+
+	public double getDistance(int index) {
+		return distance[index];
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return this.fitnessEngine;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+}
@@ -0,0 +1,117 @@
+package org.fog.scheduling.pareto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.fog.scheduling.gaEntities.Individual;
+
+/**
+ * The non-dominated schedules found by a multi-objective search: no schedule
+ * of the front is both faster and cheaper than another one. The schedules are
+ * ordered by increasing makespan, so by decreasing total cost, and no two of
+ * them have the same makespan and cost.
+ *
+ * The fitness of the schedules is the scalar fitness of the FitnessEngine,
+ * with SchedulingAlgorithm.TIME_WEIGHT. select() picks a schedule for another
+ * weight without running the search again.
+ */
+public class ParetoFront {
+
+	private final List<Individual> individuals;
+	private final double minTime;
+	private final double minCost;
+
+	/**
+	 * @param candidates the non-dominated schedules, in any order and possibly
+	 *                   with duplicates
+	 * @param minTime    the lower boundary of the makespan
+	 * @param minCost    the lower boundary of the total cost
+	 */
+	public ParetoFront(List<Individual> candidates, double minTime, double minCost) {
+		this.minTime = minTime;
+		this.minCost = minCost;
+		List<Individual> sorted = new ArrayList<Individual>(candidates);
+		Collections.sort(sorted, new Comparator<Individual>() {
+			@Override
+			public int compare(Individual o1, Individual o2) {
+				int order = Double.compare(o1.getTime(), o2.getTime());
+				return order != 0 ? order : Double.compare(o1.getCost(), o2.getCost());
+			}
+		});
+		this.individuals = new ArrayList<Individual>();
+		for (Individual individual : sorted) {
+			Individual last = individuals.isEmpty() ? null : individuals.get(individuals.size() - 1);
+			if (last == null || last.getTime() != individual.getTime() || last.getCost() != individual.getCost()) {
+				individuals.add(individual);
+			}
+		}
+	}
+
+	/**
+	 * The schedule of the front with the best weighted fitness
+	 *
+	 * @param timeWeight the weight of the makespan, 1 - timeWeight is the weight
+	 *                   of the total cost
+	 */
+	public Individual select(double timeWeight) {
+		Individual best = null;
+		double bestFitness = -1;
+		for (Individual individual : individuals) {
+			double fitness = timeWeight * minTime / individual.getTime()
+					+ (1 - timeWeight) * minCost / individual.getCost();
+			if (fitness > bestFitness) {
+				best = individual;
+				bestFitness = fitness;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * The area dominated by the front up to a reference point, the larger the
+	 * better. Schedules beyond the reference point do not count.
+	 */
+	public double hypervolume(double referenceTime, double referenceCost) {
+		double volume = 0;
+		double previousCost = referenceCost;
+		for (Individual individual : individuals) {
+			if (individual.getTime() >= referenceTime || individual.getCost() >= previousCost) {
+				continue;
+			}
+			volume += (referenceTime - individual.getTime()) * (previousCost - individual.getCost());
+			previousCost = individual.getCost();
+		}
+		return volume;
+	}
+
+	public void printFront() {
+		for (int index = 0; index < individuals.size(); index++) {
+			Individual individual = individuals.get(index);
+			System.out.println("Schedule " + index + ": Time execution: " + individual.getTime() + "  Total cost: "
+					+ individual.getCost() + "  Fitness: " + individual.getFitness());
+		}
+	}
+
+	// the schedules, by increasing makespan
+	public List<Individual> getIndividuals() {
+		return individuals;
+	}
+
+	public Individual getIndividual(int index) {
+		return individuals.get(index);
+	}
+
+	public int size() {
+		return individuals.size();
+	}
+
+	public double getMinTime() {
+		return minTime;
+	}
+
+	public double getMinCost() {
+		return minCost;
+	}
+}
@@ -0,0 +1,204 @@
+package org.fog.scheduling.pso;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
+
+/**
+ * The particle swarm optimization of PSOAlgorithm running on a CompactSwarm.
+ *
+ * In PSOAlgorithm.move, the velocity of gene x towards fogDevice y gets a random
+ * pull only when y is the current fogId, the pBest fogId or the gBest fogId of
+ * the gene; every other velocity is only scaled by the inertia w. A move scales
+ * the contiguous velocities of a gene in one loop, which the JIT vectorizes, and
+ * draws the random pulls of at most three fogDevices per gene instead of two
+ * random numbers per velocity. The pulls have the same distribution as in
+ * PSOAlgorithm.
+ *
+ * Particles move and are evaluated in parallel, each with its own random
+ * generator split when the swarm is created, then the gBest is updated once
+ * per generation (synchronous PSO; PSOAlgorithm updates it after each
+ * particle). A seeded run is reproducible whatever the number of threads.
+ *
+ * Unlike PSOAlgorithm, whose velocity has maxValue columns, a particle can move
+ * to every fogDevice, including the last one.
+ */
+public class CompactPSOAlgorithm {
+
+	// the number of particles moved by one task of a parallel generation
+	public static final int SEQUENTIAL_THRESHOLD = 4;
+
+	private int swarmSize;
+
+	private float w;
+	private float c1;
+	private float c2;
+
+	private FitnessEngine fitnessEngine;
+	private SplittableRandom[] randoms;
+
+	public CompactPSOAlgorithm(int swarmSize) {
+		this.swarmSize = swarmSize;
+		this.w = 0.9f;
+		this.c1 = 1.5f;
+		this.c2 = 1.5f;
+		this.randoms = new SplittableRandom[swarmSize];
+		for (int particle = 0; particle < swarmSize; particle++) {
+			randoms[particle] = Service.split();
+		}
+	}
+
+	/**
+	 * calculate the lower boundary of time and cost
+	 *
+	 */
+	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
+	}
+
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+	}
+
+	/**
+	 * Initialize the swarm, it is evaluated by evalSwarm
+	 */
+	public CompactSwarm initSwarm(int xLength, int maxValue) {
+		return new CompactSwarm(swarmSize, xLength, maxValue + 1, Service.current());
+	}
+
+	/**
+	 * Evaluate every particle in parallel, then update the gBest
+	 */
+	public void evalSwarm(CompactSwarm swarm) {
+		fitnessEngine.getPool().invoke(new SwarmTask(swarm, 0, swarm.size(), false));
+		swarm.updateGBest();
+	}
+
+	/**
+	 * Move and evaluate every particle in parallel, then update the gBest
+	 */
+	public void updatePosition(CompactSwarm swarm) {
+		fitnessEngine.getPool().invoke(new SwarmTask(swarm, 0, swarm.size(), true));
+		swarm.updateGBest();
+	}
+
+	// move (optionally) and evaluate the particles in [from, to)
+	private class SwarmTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final CompactSwarm swarm;
+		private final int from;
+		private final int to;
+		private final boolean move;
+
+		SwarmTask(CompactSwarm swarm, int from, int to, boolean move) {
+			this.swarm = swarm;
+			this.from = from;
+			this.to = to;
+			this.move = move;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				for (int particle = from; particle < to; particle++) {
+					if (move) {
+						move(swarm, particle);
+					}
+					swarm.evaluate(particle, fitnessEngine);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new SwarmTask(swarm, from, middle, move), new SwarmTask(swarm, middle, to, move));
+			}
+		}
+	}
+
+	/**
+	 * Update the velocity and the position of a particle, see PSOAlgorithm.move
+	 */
+	public void move(CompactSwarm swarm, int particle) {
+		SplittableRandom random = randoms[particle];
+		int xLength = swarm.getXLength();
+		int numberDevices = swarm.getNumberDevices();
+		int[] positions = swarm.getPositions();
+		int[] pBestPositions = swarm.getPBestPositions();
+		int[] gBestPosition = swarm.getGBestPosition();
+		float[] velocity = swarm.getVelocity();
+		float w = this.w;
+		float vMax = PSOAlgorithm.VMAX;
+
+		int geneOffset = particle * xLength;
+		for (int x = 0; x < xLength; x++) {
+			int start = (geneOffset + x) * numberDevices;
+			int end = start + numberDevices;
+			int position = positions[geneOffset + x];
+			int pBest = pBestPositions[geneOffset + x];
+			int gBest = gBestPosition[x];
+
+			// the inertia, for every fogDevice
+			for (int cell = start; cell < end; cell++) {
+				velocity[cell] = Math.max(-vMax, Math.min(vMax, w * velocity[cell]));
+			}
+
+			// the pulls towards the pBest and the gBest, away from the position
+			if (pBest != position) {
+				velocity[start + position] -= (float) random.nextDouble() * c1;
+				velocity[start + pBest] += (float) random.nextDouble() * c1;
+			}
+			if (gBest != position) {
+				velocity[start + position] -= (float) random.nextDouble() * c2;
+				velocity[start + gBest] += (float) random.nextDouble() * c2;
+			}
+			clamp(velocity, start + position, vMax);
+			clamp(velocity, start + pBest, vMax);
+			clamp(velocity, start + gBest, vMax);
+
+			// the new position is the fogDevice with the largest velocity
+			int machine = 0;
+			float maxCol = velocity[start];
+			for (int y = 1; y < numberDevices; y++) {
+				if (maxCol < velocity[start + y]) {
+					maxCol = velocity[start + y];
+					machine = y;
+				}
+			}
+			positions[geneOffset + x] = machine;
+		}
+	}
+
+	private static void clamp(float[] velocity, int cell, float vMax) {
+		if (velocity[cell] > vMax) {
+			velocity[cell] = vMax;
+		} else if (velocity[cell] < -vMax) {
+			velocity[cell] = -vMax;
+		}
+	}
+
+	public FitnessEngine getFitnessEngine() {
+		return fitnessEngine;
+	}
+
+	public float getW() {
+		return w;
+	}
+
+	public void setW(float w) {
+		this.w = w;
+	}
+
+	public double getMinTime() {
+		return fitnessEngine.getMinTime();
+	}
+
+	public double getMinCost() {
+		return fitnessEngine.getMinCost();
+	}
+}
@@ -0,0 +1,211 @@
+package org.fog.scheduling.pso;
+
+import java.util.SplittableRandom;
+
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.Individual;
+
+/**
+ * A swarm stored as arrays of primitives instead of a list of Particle
+ * objects, see CompactPopulation.
+ *
+ * The positions of all particles are stored in one int[], the position of
+ * particle p starting at p * xLength. The velocities are stored in one float[]
+ * slab, the velocity of gene x of particle p towards fogDevice y at
+ * (p * xLength + x) * numberDevices + y, so the velocities of a gene are
+ * contiguous. The pBest of a particle is only a position and its evaluation,
+ * without velocity. Once created, the swarm does not allocate memory.
+ */
+public class CompactSwarm {
+
+	private final int swarmSize;
+	private final int xLength;
+	private final int numberDevices;
+
+	private final int[] positions;
+	private final float[] velocity;
+	private final double[] fitness;
+	private final double[] time;
+	private final double[] cost;
+
+	private final int[] pBestPositions;
+	private final double[] pBestFitness;
+	private final double[] pBestTime;
+	private final double[] pBestCost;
+
+	private final int[] gBestPosition;
+	private double gBestFitness = -1;
+	private double gBestTime;
+	private double gBestCost;
+
+	// scratch buffers of the evaluation, one per particle so particles can be
+	// evaluated concurrently
+	private final double[][] deviceTime;
+
+	/**
+	 * Initializes a swarm of particles at random positions with random
+	 * velocities in [-VMAX, VMAX]
+	 */
+	public CompactSwarm(int swarmSize, int xLength, int numberDevices, SplittableRandom random) {
+		this.swarmSize = swarmSize;
+		this.xLength = xLength;
+		this.numberDevices = numberDevices;
+		this.positions = new int[swarmSize * xLength];
+		this.velocity = new float[swarmSize * xLength * numberDevices];
+		this.fitness = new double[swarmSize];
+		this.time = new double[swarmSize];
+		this.cost = new double[swarmSize];
+		this.pBestPositions = new int[swarmSize * xLength];
+		this.pBestFitness = new double[swarmSize];
+		this.pBestTime = new double[swarmSize];
+		this.pBestCost = new double[swarmSize];
+		this.gBestPosition = new int[xLength];
+		this.deviceTime = new double[swarmSize][numberDevices];
+
+		for (int cell = 0; cell < velocity.length; cell++) {
+			velocity[cell] = (float) (PSOAlgorithm.VMAX * 2 * (random.nextDouble() - 0.5));
+		}
+		for (int gene = 0; gene < positions.length; gene++) {
+			positions[gene] = random.nextInt(numberDevices);
+		}
+		for (int particle = 0; particle < swarmSize; particle++) {
+			fitness[particle] = -1;
+			pBestFitness[particle] = -1;
+		}
+	}
+
+	/**
+	 * Evaluate a particle at its position, and make the position its pBest if it
+	 * is better. Particles may be evaluated concurrently.
+	 *
+	 * @return the fitness of the particle
+	 */
+	public double evaluate(int particle, FitnessEngine fitnessEngine) {
+		int offset = particle * xLength;
+		double totalCost = fitnessEngine.calcDeviceTime(positions, offset, deviceTime[particle]);
+		double makespan = fitnessEngine.calcMakespan(deviceTime[particle]);
+		time[particle] = makespan;
+		cost[particle] = totalCost;
+		fitness[particle] = fitnessEngine.calcFitness(makespan, totalCost);
+		if (fitness[particle] > pBestFitness[particle]) {
+			System.arraycopy(positions, offset, pBestPositions, offset, xLength);
+			pBestFitness[particle] = fitness[particle];
+			pBestTime[particle] = makespan;
+			pBestCost[particle] = totalCost;
+		}
+		return fitness[particle];
+	}
+
+	/**
+	 * Make the best pBest the gBest if it is better. The particles are scanned
+	 * in order and only a strictly better pBest replaces the gBest, so the
+	 * result does not depend on the order of the evaluations.
+	 *
+	 * @return true if the gBest changed
+	 */
+	public boolean updateGBest() {
+		int best = -1;
+		double bestFitness = gBestFitness;
+		for (int particle = 0; particle < swarmSize; particle++) {
+			if (pBestFitness[particle] > bestFitness) {
+				bestFitness = pBestFitness[particle];
+				best = particle;
+			}
+		}
+		if (best < 0) {
+			return false;
+		}
+		System.arraycopy(pBestPositions, best * xLength, gBestPosition, 0, xLength);
+		gBestFitness = pBestFitness[best];
+		gBestTime = pBestTime[best];
+		gBestCost = pBestCost[best];
+		return true;
+	}
+
+	/**
+	 * Warm start the first count particles from a previous schedule, see
+	 * GeneticAlgorithm.seedPopulation. Call it before the first evaluation.
+	 */
+	public void seed(int[] initial, int count) {
+		int seeded = Math.min(count, swarmSize);
+		for (int particle = 0; particle < seeded; particle++) {
+			for (int gene = 0; gene < xLength; gene++) {
+				if (initial[gene] >= 0) {
+					positions[particle * xLength + gene] = initial[gene];
+				}
+			}
+		}
+	}
+
+	// copy the gBest to an Individual object
+	public Individual toIndividual() {
+		Individual individual = new Individual(xLength);
+		System.arraycopy(gBestPosition, 0, individual.getChromosome(), 0, xLength);
+		individual.setMaxValue(numberDevices - 1);
+		individual.setFitness(gBestFitness);
+		individual.setTime(gBestTime);
+		individual.setCost(gBestCost);
+		individual.rehash();
+		return individual;
+	}
+
+	// the positions, particle p starts at p * xLength
+	public int[] getPositions() {
+		return positions;
+	}
+
+	// the velocities, see the class comment for the layout
+	public float[] getVelocity() {
+		return velocity;
+	}
+
+	// the pBest positions, particle p starts at p * xLength
+	public int[] getPBestPositions() {
+		return pBestPositions;
+	}
+
+	public int[] getGBestPosition() {
+		return gBestPosition;
+	}
+
+	public double getFitness(int particle) {
+		return fitness[particle];
+	}
+
+	public double getPBestFitness(int particle) {
+		return pBestFitness[particle];
+	}
+
+	public double getGBestFitness() {
+		return gBestFitness;
+	}
+
+	public double getGBestTime() {
+		return gBestTime;
+	}
+
+	public double getGBestCost() {
+		return gBestCost;
+	}
+
+	// the sum of the fitness of the particles at their positions
+	public double getSwarmFitness() {
+		double totalFitness = 0;
+		for (int particle = 0; particle < swarmSize; particle++) {
+			totalFitness += fitness[particle];
+		}
+		return totalFitness;
+	}
+
+	public int getXLength() {
+		return xLength;
+	}
+
+	public int getNumberDevices() {
+		return numberDevices;
+	}
+
+	public int size() {
+		return swarmSize;
+	}
+}
@@ -4,7 +4,9 @@ import java.util.List;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.fog.entities.FogDevice;
-import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.fitness.FitnessEngine;
+import org.fog.scheduling.gaEntities.Service;
+import org.fog.scheduling.scheduler.ProblemInstance;
 
 /* ParticleSwarm.java
 * @author: Tonny Tran
@@ -25,6 +27,10 @@ public class PSOAlgorithm {
 	private double minCost;
 	public SwarmPopulation swarmPopulation;
 
+	private FitnessEngine fitnessEngine;
+	// execution time of each fogDevice, reused by every evaluation
+	private double[] deviceTime;
+
 	public PSOAlgorithm(int populationSize) {
 		this.populationSize = populationSize;
 		this.w = 0.9f;
@@ -38,53 +44,14 @@ public class PSOAlgorithm {
 	 *
 	 */
 	public void calcMinTimeCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-		this.minTime = calcMinTime(fogDevices, cloudletList);
-		this.minCost = calcMinCost(fogDevices, cloudletList);
-	}
-
-	private double calcMinCost(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-		double minCost = 0;
-		for (Cloudlet cloudlet : cloudletList) {
-			double minCloudletCost = Double.MAX_VALUE;
-			for (FogDevice fogDevice : fogDevices) {
-				double cost = calcCost(cloudlet, fogDevice);
-				if (minCloudletCost > cost) {
-					minCloudletCost = cost;
-				}
-			}
-			// the minCost is defined as the sum of all minCloudletCost
-			minCost += minCloudletCost;
-		}
-		return minCost;
-	}
-
-	// the method calculates the cost (G$) when a fogDevice executes a cloudlet
-	private double calcCost(Cloudlet cloudlet, FogDevice fogDevice) {
-		double cost = 0;
-		// cost includes the processing cost
-		cost += fogDevice.getCharacteristics().getCostPerSecond() * cloudlet.getCloudletLength()
-				/ fogDevice.getHost().getTotalMips();
-		// cost includes the memory cost
-		cost += fogDevice.getCharacteristics().getCostPerMem() * cloudlet.getMemRequired();
-		// cost includes the bandwidth cost
-		cost += fogDevice.getCharacteristics().getCostPerBw()
-				* (cloudlet.getCloudletFileSize() + cloudlet.getCloudletOutputSize());
-		return cost;
+		calcMinTimeCost(new ProblemInstance(fogDevices, cloudletList));
 	}
 
-	// the function calculate the lower bound of the solution about time execution
-	private double calcMinTime(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-		double minTime = 0;
-		double totalLength = 0;
-		double totalMips = 0;
-		for (Cloudlet cloudlet : cloudletList) {
-			totalLength += cloudlet.getCloudletLength();
-		}
-		for (FogDevice fogDevice : fogDevices) {
-			totalMips += fogDevice.getHost().getTotalMips();
-		}
-		minTime = totalLength / totalMips;
-		return minTime;
+	public void calcMinTimeCost(ProblemInstance problem) {
+		this.fitnessEngine = new FitnessEngine(problem);
+		this.deviceTime = new double[problem.getNumberDevices()];
+		this.minTime = fitnessEngine.getMinTime();
+		this.minCost = fitnessEngine.getMinCost();
 	}
 
 	/**
@@ -99,50 +66,38 @@ public class PSOAlgorithm {
 		return swarmPopulation;
 	}
 
+	/**
+	 * Warm start the first count particles from a previous schedule, see
+	 * GeneticAlgorithm.seedPopulation. The pBest of a seeded particle is its new
+	 * position.
+	 *
+	 * @param initial the previous fogId of each cloudlet, -1 for a new cloudlet
+	 */
+	public void seedSwarmPopulation(int[] initial, int count) {
+		int seeded = Math.min(count, swarmPopulation.size());
+		for (int particleIndex = 0; particleIndex < seeded; particleIndex++) {
+			Particle particle = swarmPopulation.getParticle(particleIndex);
+			for (int gene = 0; gene < initial.length; gene++) {
+				if (initial[gene] >= 0) {
+					particle.setGene(gene, initial[gene]);
+				}
+			}
+			particle.setpBest(particle);
+		}
+	}
+
 	/**
 	 * Calculate fitness for an particle.
 	 *
-	 * In this case, the fitness score is very simple: it's the number of ones in
-	 * the chromosome. Don't forget that this method, and this whole
-	 * GeneticAlgorithm class, is meant to solve the problem in the "AllOnesGA"
-	 * class and example. For different problems, you'll need to create a different
-	 * version of this method to appropriately calculate the fitness of an particle.
+	 * The fitness is the weighted sum of the normalized makespan and total cost,
+	 * evaluated by the FitnessEngine built in calcMinTimeCost.
 	 *
 	 * @param particle the particle to evaluate
 	 * @return double The fitness value for particle
 	 */
 	public double calcFitness(Particle particle, List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
-
-		// clear the fogDevice - task list before calculate
-		for (FogDevice fogDevice : fogDevices) {
-			fogDevice.getCloudletListAssignment().clear();
-		}
-
-		// Loop over particle's genes to all the task assigned to the fogDevice
-		for (int geneIndex = 0; geneIndex < particle.getXLength(); geneIndex++) {
-			// add current cloudlet to fog device respectively
-			fogDevices.get(particle.getGene(geneIndex)).getCloudletListAssignment().add(cloudletList.get(geneIndex));
-		}
-
-		// Calculate makespan and cost
-		double makespan = 0;
-		double execTime = 0;
-		double totalCost = 0;
-		for (FogDevice fogDevice : fogDevices) {
-			double totalLength = 0;
-			for (Cloudlet cloudlet : fogDevice.getCloudletListAssignment()) {
-				totalLength += cloudlet.getCloudletLength();
-				// the total cost is sum of the cost execution of each cloudlet
-				totalCost += calcCost(cloudlet, fogDevice);
-			}
-			// execTime is the time that fogDevice finishes its list cloudlet assignment
-			execTime = totalLength / fogDevice.getHostList().get(0).getTotalMips();
-			// makespan is defined as when the last cloudlet finished or when all fogDevices
-			// finish its work.
-			if (execTime > makespan) {
-				makespan = execTime;
-			}
-		}
+		double totalCost = fitnessEngine.calcDeviceTime(particle.getChromosome(), deviceTime);
+		double makespan = fitnessEngine.calcMakespan(deviceTime);
 
 		// store makespan
 		particle.setTime(makespan);
@@ -150,8 +105,7 @@ public class PSOAlgorithm {
 		particle.setCost(totalCost);
 
 		// Calculate fitness
-		double fitness = SchedulingAlgorithm.TIME_WEIGHT * minTime / makespan
-				+ (1 - SchedulingAlgorithm.TIME_WEIGHT) * minCost / totalCost;
+		double fitness = fitnessEngine.calcFitness(makespan, totalCost);
 
 		// Store fitness
 		particle.setFitness(fitness);
@@ -205,8 +159,8 @@ public class PSOAlgorithm {
 		for (int x = 0; x < particle.getXLength(); x++) {
 			for (int y = 0; y < particle.getMaxValue(); y++) {
 				float vNew;
-				float r1 = (float) (Math.random());
-				float r2 = (float) (Math.random());
+				float r1 = (float) (Service.random());
+				float r2 = (float) (Service.random());
 				int pDistance, gDistance;
 
 				if (particle.getGene(x) == y && particle.getpBest().getGene(x) != y) {
@@ -270,6 +224,10 @@ public class PSOAlgorithm {
 		return this.minCost;
 	}
 
+	public FitnessEngine getFitnessEngine() {
+		return fitnessEngine;
+	}
+
 	public float getW() {
 		return w;
 	}
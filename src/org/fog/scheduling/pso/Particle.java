@@ -26,7 +26,7 @@ public class Particle {
 		this.setVelocity(new float[xLength][maxValue]);
 		for (int x=0; x < xLength; x++) {
 			for(int y=0; y < maxValue; y++) {
-				this.setVElement(x, y, (float) (PSOAlgorithm.VMAX * 2 * (Math.random()-0.5)));
+				this.setVElement(x, y, (float) (PSOAlgorithm.VMAX * 2 * (Service.random()-0.5)));
 			}			
 		}
 		this.maxValue = maxValue;
@@ -0,0 +1,39 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * Base of the schedulers running one of the SchedulingAlgorithm runners.
+ */
+public abstract class AbstractScheduler implements Scheduler {
+
+	private final String name;
+
+	protected AbstractScheduler(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public SearchControl createControl() {
+		return SchedulingAlgorithm.createControl(name);
+	}
+
+	// the assignment of a schedule, with the progress recorded by the control
+	protected Assignment toAssignment(int[] chromosome, double fitness, double makespan, double totalCost,
+			SearchControl control) {
+		return new Assignment(name, chromosome, fitness, makespan, totalCost, control.getGeneration(),
+				control.getElapsedMillis());
+	}
+
+	protected Assignment toAssignment(Individual individual, SearchControl control) {
+		return toAssignment(individual.getChromosome(), individual.getFitness(), individual.getTime(),
+				individual.getCost(), control);
+	}
+}
@@ -0,0 +1,24 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// ant colony optimization on an AntColony, see SchedulingAlgorithm.runAntColonyAlgorithm
+public class AntColonyScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public AntColonyScheduler() {
+		super(SchedulingAlgorithm.ACO);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runAntColonyAlgorithm(problem, budget, initial);
+		return toAssignment(solution, budget);
+	}
+}
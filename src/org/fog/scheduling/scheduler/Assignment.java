@@ -0,0 +1,68 @@
+package org.fog.scheduling.scheduler;
+
+/**
+ * The schedule returned by a Scheduler, with its metrics.
+ *
+ * getChromosome()[cloudletIndex] is the fogId executing the cloudlet, in the
+ * order of the cloudlet list of the ProblemInstance.
+ */
+public class Assignment {
+
+	private final String algorithm;
+	private final int[] chromosome;
+	private final double fitness;
+	private final double makespan;
+	private final double totalCost;
+	private final int generations;
+	private final long elapsedMillis;
+
+	public Assignment(String algorithm, int[] chromosome, double fitness, double makespan, double totalCost,
+			int generations, long elapsedMillis) {
+		this.algorithm = algorithm;
+		this.chromosome = chromosome.clone();
+		this.fitness = fitness;
+		this.makespan = makespan;
+		this.totalCost = totalCost;
+		this.generations = generations;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public int[] getChromosome() {
+		return chromosome;
+	}
+
+	public int getFogId(int cloudletIndex) {
+		return chromosome[cloudletIndex];
+	}
+
+	public double getFitness() {
+		return fitness;
+	}
+
+	public double getMakespan() {
+		return makespan;
+	}
+
+	public double getTotalCost() {
+		return totalCost;
+	}
+
+	// the number of generations (or iterations) the algorithm ran
+	public int getGenerations() {
+		return generations;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return algorithm + ": fitness " + fitness + ", makespan " + makespan + ", total cost " + totalCost + ", "
+				+ generations + " generations in " + elapsedMillis + " ms";
+	}
+}
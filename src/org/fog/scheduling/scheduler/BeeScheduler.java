@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// the bee algorithm, see SchedulingAlgorithm.runBeeAlgorithm
+public class BeeScheduler extends AbstractScheduler {
+
+	public BeeScheduler() {
+		super(SchedulingAlgorithm.BEE);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runBeeAlgorithm(problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// the genetic algorithm on a CompactPopulation, see SchedulingAlgorithm.runCompactGeneticAlgorithm
+public class CompactGeneticAlgorithmScheduler extends AbstractScheduler {
+
+	public CompactGeneticAlgorithmScheduler() {
+		super(SchedulingAlgorithm.GA_COMPACT);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runCompactGeneticAlgorithm(problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,24 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// particle swarm optimization on a CompactSwarm, see SchedulingAlgorithm.runCompactPSOAlgorithm
+public class CompactPSOScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public CompactPSOScheduler() {
+		super(SchedulingAlgorithm.PSO_COMPACT);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runCompactPSOAlgorithm(problem, budget, initial);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,11 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.heuristics.CostGreedyHeuristic;
+
+// see CostGreedyHeuristic
+public class CostGreedyScheduler extends HeuristicScheduler {
+
+	public CostGreedyScheduler() {
+		super(new CostGreedyHeuristic());
+	}
+}
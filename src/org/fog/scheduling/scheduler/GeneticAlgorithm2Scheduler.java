@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// the genetic algorithm with two offsprings per crossover, see SchedulingAlgorithm.runGeneticAlgorithm2
+public class GeneticAlgorithm2Scheduler extends AbstractScheduler {
+
+	public GeneticAlgorithm2Scheduler() {
+		super(SchedulingAlgorithm.GA2);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runGeneticAlgorithm2(problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,24 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// the genetic algorithm, see SchedulingAlgorithm.runGeneticAlgorithm
+public class GeneticAlgorithmScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public GeneticAlgorithmScheduler() {
+		super(SchedulingAlgorithm.GA);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runGeneticAlgorithm(problem, budget, initial);
+		return toAssignment(solution, budget);
+	}
+}
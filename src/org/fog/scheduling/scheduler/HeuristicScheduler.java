@@ -0,0 +1,23 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.heuristics.Heuristic;
+import org.fog.scheduling.termination.SearchControl;
+
+// a constructive heuristic, see SchedulingAlgorithm.runHeuristic
+public abstract class HeuristicScheduler extends AbstractScheduler {
+
+	private final Heuristic heuristic;
+
+	protected HeuristicScheduler(Heuristic heuristic) {
+		super(heuristic.getName());
+		this.heuristic = heuristic;
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runHeuristic(heuristic, problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// hill climbing, see SchedulingAlgorithm.runLocalSearchAlgorithm
+public class HillClimbingScheduler extends AbstractScheduler {
+
+	public HillClimbingScheduler() {
+		super(SchedulingAlgorithm.LOCAL_SEARCH);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runLocalSearchAlgorithm(problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// the island model genetic algorithm, see SchedulingAlgorithm.runIslandGeneticAlgorithm
+public class IslandGeneticAlgorithmScheduler extends AbstractScheduler {
+
+	public IslandGeneticAlgorithmScheduler() {
+		super(SchedulingAlgorithm.GA_ISLAND);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runIslandGeneticAlgorithm(problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
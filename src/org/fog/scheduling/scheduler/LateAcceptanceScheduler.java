@@ -0,0 +1,12 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.localSearchAlgorithm.SampledLocalSearch;
+
+// late acceptance hill climbing on one walk, see SampledLocalSearch
+public class LateAcceptanceScheduler extends SampledLocalSearchScheduler {
+
+	public LateAcceptanceScheduler() {
+		super(SchedulingAlgorithm.LATE_ACCEPTANCE, SampledLocalSearch.Acceptance.LATE_ACCEPTANCE, 1);
+	}
+}
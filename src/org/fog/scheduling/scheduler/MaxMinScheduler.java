@@ -0,0 +1,11 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.heuristics.MaxMinHeuristic;
+
+// see MaxMinHeuristic
+public class MaxMinScheduler extends HeuristicScheduler {
+
+	public MaxMinScheduler() {
+		super(new MaxMinHeuristic());
+	}
+}
@@ -0,0 +1,11 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.heuristics.MctHeuristic;
+
+// see MctHeuristic
+public class MctScheduler extends HeuristicScheduler {
+
+	public MctScheduler() {
+		super(new MctHeuristic());
+	}
+}
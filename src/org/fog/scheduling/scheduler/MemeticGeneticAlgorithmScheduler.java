@@ -0,0 +1,25 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// the genetic algorithm refining its fittest individuals by hill climbing, see
+// SchedulingAlgorithm.runMemeticGeneticAlgorithm
+public class MemeticGeneticAlgorithmScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public MemeticGeneticAlgorithmScheduler() {
+		super(SchedulingAlgorithm.GA_MEMETIC);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runMemeticGeneticAlgorithm(problem, budget, initial);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,11 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.heuristics.MinMinHeuristic;
+
+// see MinMinHeuristic
+public class MinMinScheduler extends HeuristicScheduler {
+
+	public MinMinScheduler() {
+		super(new MinMinHeuristic());
+	}
+}
@@ -0,0 +1,13 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.localSearchAlgorithm.SampledLocalSearch;
+
+// simulated annealing on NUMBER_WALK parallel walks, see SampledLocalSearch
+public class MultiStartAnnealingScheduler extends SampledLocalSearchScheduler {
+
+	public MultiStartAnnealingScheduler() {
+		super(SchedulingAlgorithm.ANNEALING_MULTI_START, SampledLocalSearch.Acceptance.ANNEALING,
+				SchedulingAlgorithm.NUMBER_WALK);
+	}
+}
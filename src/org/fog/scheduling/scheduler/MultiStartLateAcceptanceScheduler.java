@@ -0,0 +1,13 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.localSearchAlgorithm.SampledLocalSearch;
+
+// late acceptance hill climbing on NUMBER_WALK parallel walks, see SampledLocalSearch
+public class MultiStartLateAcceptanceScheduler extends SampledLocalSearchScheduler {
+
+	public MultiStartLateAcceptanceScheduler() {
+		super(SchedulingAlgorithm.LATE_ACCEPTANCE_MULTI_START, SampledLocalSearch.Acceptance.LATE_ACCEPTANCE,
+				SchedulingAlgorithm.NUMBER_WALK);
+	}
+}
@@ -0,0 +1,29 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.pareto.ParetoFront;
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * NSGA-II, see SchedulingAlgorithm.runNsgaIIAlgorithm. schedule() returns the
+ * schedule of the front with the best fitness for TIME_WEIGHT; scheduleFront()
+ * returns the whole front.
+ */
+public class NsgaIIScheduler extends AbstractScheduler {
+
+	public NsgaIIScheduler() {
+		super(SchedulingAlgorithm.NSGA2);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = scheduleFront(problem, budget).select(SchedulingAlgorithm.TIME_WEIGHT);
+		return toAssignment(solution, budget);
+	}
+
+	// the non-dominated schedules found within the budget
+	public ParetoFront scheduleFront(ProblemInstance problem, SearchControl budget) {
+		return SchedulingAlgorithm.runNsgaIIAlgorithm(problem, budget);
+	}
+}
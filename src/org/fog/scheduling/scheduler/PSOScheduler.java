@@ -0,0 +1,24 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.pso.Particle;
+import org.fog.scheduling.termination.SearchControl;
+
+// particle swarm optimization, see SchedulingAlgorithm.runPSOAlgorithm
+public class PSOScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public PSOScheduler() {
+		super(SchedulingAlgorithm.PSO);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Particle gBest = SchedulingAlgorithm.runPSOAlgorithm(problem, budget, initial);
+		return toAssignment(gBest.getChromosome(), gBest.getFitness(), gBest.getTime(), gBest.getCost(), budget);
+	}
+}
@@ -0,0 +1,24 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// tabu search on parallel walks, see SchedulingAlgorithm.runParallelTabuSearch
+public class ParallelTabuSearchScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public ParallelTabuSearchScheduler() {
+		super(SchedulingAlgorithm.TABU_SEARCH_PARALLEL);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runParallelTabuSearch(problem, budget, initial);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,160 @@
+package org.fog.scheduling.scheduler;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+
+/**
+ * A scheduling problem: the cloudlets to assign and the fogDevices executing
+ * them. A schedule assigns a fogId in [0, getMaxValue()] to each cloudlet.
+ *
+ * The attributes read by the schedulers are copied once to primitive arrays,
+ * indexed by cloudlet index and by fogId, and the instance is immutable. An
+ * instance built from the simulation entities keeps them, and the runners of
+ * SchedulingAlgorithm publish the final schedule to the assignment lists of
+ * its fogDevices. An instance built from primitive attributes, e.g. read by
+ * ProblemInstanceReader, has no entities: scheduling it needs no CloudSim
+ * initialisation and only returns the schedule.
+ */
+public class ProblemInstance {
+
+	// the cloudlets, by cloudlet index
+	private final int[] cloudletIds;
+	private final long[] length;
+	private final long[] memRequired;
+	// the data transferred by a cloudlet, its file size plus its output size
+	private final long[] transferSize;
+
+	// the fogDevices, by fogId
+	private final double[] mips;
+	private final double[] costPerSecond;
+	private final double[] costPerMem;
+	private final double[] costPerBw;
+
+	// the entities of the instance, null if it was built from primitives
+	private final List<FogDevice> fogDevices;
+	private final List<? extends Cloudlet> cloudletList;
+
+	public ProblemInstance(List<FogDevice> fogDevices, List<? extends Cloudlet> cloudletList) {
+		this.fogDevices = fogDevices;
+		this.cloudletList = cloudletList;
+
+		int numberCloudlets = cloudletList.size();
+		this.cloudletIds = new int[numberCloudlets];
+		this.length = new long[numberCloudlets];
+		this.memRequired = new long[numberCloudlets];
+		this.transferSize = new long[numberCloudlets];
+		// iterate, cloudletList may be a LinkedList
+		int cloudletIndex = 0;
+		for (Cloudlet cloudlet : cloudletList) {
+			cloudletIds[cloudletIndex] = cloudlet.getCloudletId();
+			length[cloudletIndex] = cloudlet.getCloudletLength();
+			memRequired[cloudletIndex] = cloudlet.getMemRequired();
+			transferSize[cloudletIndex] = cloudlet.getCloudletFileSize() + cloudlet.getCloudletOutputSize();
+			cloudletIndex++;
+		}
+
+		int numberDevices = fogDevices.size();
+		this.mips = new double[numberDevices];
+		this.costPerSecond = new double[numberDevices];
+		this.costPerMem = new double[numberDevices];
+		this.costPerBw = new double[numberDevices];
+		for (int fogId = 0; fogId < numberDevices; fogId++) {
+			FogDevice fogDevice = fogDevices.get(fogId);
+			mips[fogId] = fogDevice.getHost().getTotalMips();
+			costPerSecond[fogId] = fogDevice.getCharacteristics().getCostPerSecond();
+			costPerMem[fogId] = fogDevice.getCharacteristics().getCostPerMem();
+			costPerBw[fogId] = fogDevice.getCharacteristics().getCostPerBw();
+		}
+	}
+
+	/**
+	 * Build an instance without entities, the arrays are copied
+	 *
+	 * @param transferSize the file size plus the output size of each cloudlet
+	 * @throws IllegalArgumentException if the arrays of the cloudlets or of the
+	 *                                  fogDevices differ in length
+	 */
+	public ProblemInstance(int[] cloudletIds, long[] length, long[] memRequired, long[] transferSize, double[] mips,
+			double[] costPerSecond, double[] costPerMem, double[] costPerBw) {
+		if (length.length != cloudletIds.length || memRequired.length != cloudletIds.length
+				|| transferSize.length != cloudletIds.length) {
+			throw new IllegalArgumentException("The cloudlet attributes differ in length");
+		}
+		if (costPerSecond.length != mips.length || costPerMem.length != mips.length
+				|| costPerBw.length != mips.length) {
+			throw new IllegalArgumentException("The fogDevice attributes differ in length");
+		}
+		this.cloudletIds = cloudletIds.clone();
+		this.length = length.clone();
+		this.memRequired = memRequired.clone();
+		this.transferSize = transferSize.clone();
+		this.mips = mips.clone();
+		this.costPerSecond = costPerSecond.clone();
+		this.costPerMem = costPerMem.clone();
+		this.costPerBw = costPerBw.clone();
+		this.fogDevices = null;
+		this.cloudletList = null;
+	}
+
+	// the instance was built from entities, which receive the final schedule
+	public boolean hasEntities() {
+		return fogDevices != null;
+	}
+
+	// the fogDevices, null for an instance without entities
+	public List<FogDevice> getFogDevices() {
+		return fogDevices;
+	}
+
+	// the cloudlets, null for an instance without entities
+	public List<? extends Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	public int getNumberCloudlets() {
+		return cloudletIds.length;
+	}
+
+	public int getNumberDevices() {
+		return mips.length;
+	}
+
+	// the largest fogId of a schedule
+	public int getMaxValue() {
+		return mips.length - 1;
+	}
+
+	public int getCloudletId(int cloudletIndex) {
+		return cloudletIds[cloudletIndex];
+	}
+
+	public long getLength(int cloudletIndex) {
+		return length[cloudletIndex];
+	}
+
+	public long getMemRequired(int cloudletIndex) {
+		return memRequired[cloudletIndex];
+	}
+
+	public long getTransferSize(int cloudletIndex) {
+		return transferSize[cloudletIndex];
+	}
+
+	public double getMips(int fogId) {
+		return mips[fogId];
+	}
+
+	public double getCostPerSecond(int fogId) {
+		return costPerSecond[fogId];
+	}
+
+	public double getCostPerMem(int fogId) {
+		return costPerMem[fogId];
+	}
+
+	public double getCostPerBw(int fogId) {
+		return costPerBw[fogId];
+	}
+}
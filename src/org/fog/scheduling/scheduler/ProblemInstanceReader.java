@@ -0,0 +1,122 @@
+package org.fog.scheduling.scheduler;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.fog.scheduling.dataset.CloudletDataset;
+import org.fog.scheduling.dataset.MappedCloudletDataset;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+/**
+ * Read a ProblemInstance without entities from the files read by
+ * FogSchedulingExample: a cloudlet file, CSV or binary dataset, and a fog
+ * infrastructure JSON file. No Cloudlet or FogDevice is created, so reading
+ * needs no CloudSim initialisation, and the instance has the attributes
+ * FogSchedulingExample would give the entities.
+ */
+public class ProblemInstanceReader {
+
+	private static final String COMMA_DELIMITER = ",";
+
+	// the node of the infrastructure which is not a fogDevice of the schedules,
+	// see FogSchedulingExample.jsonToInfrucstruture
+	private static final String SMART_GATEWAY = "SmartGateway";
+
+	public static ProblemInstance read(String cloudletFile, String fogFile) throws IOException {
+		// the cloudlet attributes, in file order
+		int[] cloudletIds;
+		long[] length;
+		long[] memRequired;
+		long[] transferSize;
+		if (CloudletDataset.isDataset(cloudletFile)) {
+			MappedCloudletDataset dataset = CloudletDataset.map(cloudletFile);
+			int count = dataset.size();
+			cloudletIds = new int[count];
+			length = new long[count];
+			memRequired = new long[count];
+			transferSize = new long[count];
+			for (int index = 0; index < count; index++) {
+				cloudletIds[index] = dataset.getId(index);
+				length[index] = dataset.getLength(index);
+				memRequired[index] = dataset.getMemRequired(index);
+				transferSize[index] = dataset.getFileSize(index) + dataset.getOutputSize(index);
+			}
+		} else {
+			int count = 0;
+			cloudletIds = new int[64];
+			length = new long[64];
+			memRequired = new long[64];
+			transferSize = new long[64];
+			BufferedReader br = new BufferedReader(new FileReader(cloudletFile));
+			try {
+				String line;
+				while ((line = br.readLine()) != null) {
+					if (line.isEmpty()) {
+						continue;
+					}
+					if (count == cloudletIds.length) {
+						cloudletIds = Arrays.copyOf(cloudletIds, 2 * count);
+						length = Arrays.copyOf(length, 2 * count);
+						memRequired = Arrays.copyOf(memRequired, 2 * count);
+						transferSize = Arrays.copyOf(transferSize, 2 * count);
+					}
+					// id,length,fileSize,outputSize,memRequired
+					String[] splitData = line.split(COMMA_DELIMITER);
+					cloudletIds[count] = Integer.parseInt(splitData[0]);
+					length[count] = Long.parseLong(splitData[1]);
+					transferSize[count] = Long.parseLong(splitData[2]) + Long.parseLong(splitData[3]);
+					memRequired[count] = Long.parseLong(splitData[4]);
+					count++;
+				}
+			} finally {
+				br.close();
+			}
+			cloudletIds = Arrays.copyOf(cloudletIds, count);
+			length = Arrays.copyOf(length, count);
+			memRequired = Arrays.copyOf(memRequired, count);
+			transferSize = Arrays.copyOf(transferSize, count);
+		}
+
+		// the fogDevice attributes, in file order without the gateway
+		JSONArray nodes;
+		Reader reader = new FileReader(fogFile);
+		try {
+			JSONObject doc = (JSONObject) JSONValue.parse(reader);
+			if (doc == null) {
+				throw new IOException(fogFile + " is not a fog infrastructure");
+			}
+			nodes = (JSONArray) doc.get("nodes");
+		} finally {
+			reader.close();
+		}
+		int numberDevices = 0;
+		double[] mips = new double[nodes.size()];
+		double[] costPerSecond = new double[nodes.size()];
+		double[] costPerMem = new double[nodes.size()];
+		double[] costPerBw = new double[nodes.size()];
+		@SuppressWarnings("unchecked")
+		Iterator<JSONObject> iter = nodes.iterator();
+		while (iter.hasNext()) {
+			JSONObject node = iter.next();
+			if (!"FOG_DEVICE".equals(node.get("type")) || SMART_GATEWAY.equals(node.get("name"))) {
+				continue;
+			}
+			// the host of a fogDevice has one Pe, whose MIPS rating is an int
+			mips[numberDevices] = (int) ((Long) node.get("mips")).longValue();
+			costPerSecond[numberDevices] = (Double) node.get("costPerSec");
+			costPerMem[numberDevices] = (Double) node.get("costPerMem");
+			costPerBw[numberDevices] = (Double) node.get("costPerBw");
+			numberDevices++;
+		}
+
+		return new ProblemInstance(cloudletIds, length, memRequired, transferSize,
+				Arrays.copyOf(mips, numberDevices), Arrays.copyOf(costPerSecond, numberDevices),
+				Arrays.copyOf(costPerMem, numberDevices), Arrays.copyOf(costPerBw, numberDevices));
+	}
+}
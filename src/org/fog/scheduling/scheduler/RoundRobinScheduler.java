@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// round robin, see SchedulingAlgorithm.runRoundRobin
+public class RoundRobinScheduler extends AbstractScheduler {
+
+	public RoundRobinScheduler() {
+		super(SchedulingAlgorithm.RR);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runRoundRobin(problem, budget);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,31 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.localSearchAlgorithm.SampledLocalSearch;
+import org.fog.scheduling.termination.SearchControl;
+
+// a local search sampling random moves, see SchedulingAlgorithm.runSampledLocalSearch
+public abstract class SampledLocalSearchScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	private final SampledLocalSearch.Acceptance acceptance;
+	private final int numberWalks;
+
+	protected SampledLocalSearchScheduler(String name, SampledLocalSearch.Acceptance acceptance, int numberWalks) {
+		super(name);
+		this.acceptance = acceptance;
+		this.numberWalks = numberWalks;
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runSampledLocalSearch(problem, acceptance, numberWalks, budget,
+				initial);
+		return toAssignment(solution, budget);
+	}
+}
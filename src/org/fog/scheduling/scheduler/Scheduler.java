@@ -0,0 +1,27 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * A scheduling algorithm, found by name in the SchedulerRegistry.
+ *
+ * Implementations are registered as services in
+ * META-INF/services/org.fog.scheduling.scheduler.Scheduler and need a public
+ * no-argument constructor. schedule() also publishes the schedule to the
+ * assignment lists of the fogDevices, if the instance has entities.
+ */
+public interface Scheduler {
+
+	// the name of the algorithm, e.g. SchedulingAlgorithm.GA
+	String getName();
+
+	// a control with the default budget of the algorithm
+	SearchControl createControl();
+
+	/**
+	 * Schedule the cloudlets of the problem until the control stops the search
+	 *
+	 * @param budget the control, started by the scheduler
+	 */
+	Assignment schedule(ProblemInstance problem, SearchControl budget);
+}
@@ -0,0 +1,57 @@
+package org.fog.scheduling.scheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * The schedulers on the classpath, loaded once with a ServiceLoader and found
+ * by name. A new scheduler is added by registering it in
+ * META-INF/services/org.fog.scheduling.scheduler.Scheduler.
+ *
+ * The name of a scheduler followed by SeededScheduler.SUFFIX finds the same
+ * scheduler with heuristic seeding.
+ */
+public class SchedulerRegistry {
+
+	private static Map<String, Scheduler> schedulers;
+
+	private static synchronized Map<String, Scheduler> getSchedulers() {
+		if (schedulers == null) {
+			schedulers = new LinkedHashMap<String, Scheduler>();
+			for (Scheduler scheduler : ServiceLoader.load(Scheduler.class)) {
+				schedulers.put(scheduler.getName(), scheduler);
+			}
+		}
+		return schedulers;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if no scheduler has this name
+	 */
+	public static Scheduler getScheduler(String name) {
+		Scheduler scheduler = getSchedulers().get(name);
+		if (scheduler == null && name.endsWith(SeededScheduler.SUFFIX)) {
+			Scheduler seeded = getSchedulers().get(name.substring(0, name.length() - SeededScheduler.SUFFIX.length()));
+			if (seeded != null) {
+				scheduler = new SeededScheduler(seeded);
+			}
+		}
+		if (scheduler == null) {
+			throw new IllegalArgumentException("No scheduler named " + name + ", available: " + getNames());
+		}
+		return scheduler;
+	}
+
+	// the names of the schedulers, in registration order
+	public static List<String> getNames() {
+		return new ArrayList<String>(getSchedulers().keySet());
+	}
+
+	// register a scheduler which is not a service, e.g. a configured instance
+	public static synchronized void register(Scheduler scheduler) {
+		getSchedulers().put(scheduler.getName(), scheduler);
+	}
+}
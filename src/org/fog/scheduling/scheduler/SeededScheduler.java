@@ -0,0 +1,52 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * A scheduler seeding its initial schedules with those of the heuristics, see
+ * SearchControl.setHeuristicSeeding. Its name is the name of the scheduler it
+ * runs followed by SUFFIX, e.g. "Genetic Algorithm (seeded)", so that
+ * SchedulerRegistry.getScheduler finds it and seeded and random runs of the
+ * same algorithm are different cells of an experiment.
+ */
+public class SeededScheduler implements WarmStartScheduler {
+
+	public static final String SUFFIX = " (seeded)";
+
+	private final Scheduler scheduler;
+
+	public SeededScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public String getName() {
+		return scheduler.getName() + SUFFIX;
+	}
+
+	@Override
+	public SearchControl createControl() {
+		return scheduler.createControl();
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		budget.setHeuristicSeeding(true);
+		return scheduler.schedule(problem, budget);
+	}
+
+	// a scheduler without warm start ignores the previous schedule
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		if (!(scheduler instanceof WarmStartScheduler)) {
+			return schedule(problem, budget);
+		}
+		budget.setHeuristicSeeding(true);
+		return ((WarmStartScheduler) scheduler).schedule(problem, initial, budget);
+	}
+
+	// the scheduler run with heuristic seeding
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+}
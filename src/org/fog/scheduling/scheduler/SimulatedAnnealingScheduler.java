@@ -0,0 +1,12 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.localSearchAlgorithm.SampledLocalSearch;
+
+// simulated annealing on one walk, see SampledLocalSearch
+public class SimulatedAnnealingScheduler extends SampledLocalSearchScheduler {
+
+	public SimulatedAnnealingScheduler() {
+		super(SchedulingAlgorithm.ANNEALING, SampledLocalSearch.Acceptance.ANNEALING, 1);
+	}
+}
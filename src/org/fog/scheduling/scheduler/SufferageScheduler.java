@@ -0,0 +1,11 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.heuristics.SufferageHeuristic;
+
+// see SufferageHeuristic
+public class SufferageScheduler extends HeuristicScheduler {
+
+	public SufferageScheduler() {
+		super(new SufferageHeuristic());
+	}
+}
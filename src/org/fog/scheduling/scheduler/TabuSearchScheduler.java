@@ -0,0 +1,24 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.SchedulingAlgorithm;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.termination.SearchControl;
+
+// tabu search, see SchedulingAlgorithm.runTabuSearchAlgorithm
+public class TabuSearchScheduler extends AbstractScheduler implements WarmStartScheduler {
+
+	public TabuSearchScheduler() {
+		super(SchedulingAlgorithm.TABU_SEARCH);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, SearchControl budget) {
+		return schedule(problem, null, budget);
+	}
+
+	@Override
+	public Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget) {
+		Individual solution = SchedulingAlgorithm.runTabuSearchAlgorithm(problem, budget, initial);
+		return toAssignment(solution, budget);
+	}
+}
@@ -0,0 +1,19 @@
+package org.fog.scheduling.scheduler;
+
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * A scheduler which can start its search from a previous schedule, e.g. when
+ * new cloudlets arrive, instead of from random schedules.
+ */
+public interface WarmStartScheduler extends Scheduler {
+
+	/**
+	 * Schedule the cloudlets of the problem, starting from a previous schedule
+	 *
+	 * @param initial the previous fogId of each cloudlet of the problem, -1 for a
+	 *                new cloudlet
+	 * @param budget  the control, started by the scheduler
+	 */
+	Assignment schedule(ProblemInstance problem, int[] initial, SearchControl budget);
+}
@@ -0,0 +1,85 @@
+package org.fog.scheduling.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fitness proportionate selection with Vose's alias method.
+ *
+ * The alias table is built once per generation in O(n); each selection then
+ * draws a column and a coin, O(1) per selection whatever the population size.
+ * It selects with the same probabilities as the roulette wheel, but not the
+ * same individuals for the same random numbers.
+ */
+public class AliasSelection implements SelectionStrategy {
+
+	// probability[column] is the chance to keep the column, else alias[column]
+	private double[] probability = new double[0];
+	private int[] alias = new int[0];
+	// work lists of the construction, columns below and above the average
+	private int[] small = new int[0];
+	private int[] large = new int[0];
+	private int size;
+
+	@Override
+	public void prepare(double[] fitness, int size) {
+		if (probability.length < size) {
+			probability = new double[size];
+			alias = new int[size];
+			small = new int[size];
+			large = new int[size];
+		}
+		this.size = size;
+
+		double totalFitness = 0;
+		for (int index = 0; index < size; index++) {
+			totalFitness += fitness[index];
+		}
+		if (totalFitness <= 0) {
+			// no individual is better than the others, select uniformly
+			for (int index = 0; index < size; index++) {
+				probability[index] = 1;
+				alias[index] = index;
+			}
+			return;
+		}
+
+		// scale the fitness so that the average column is 1
+		int numberSmall = 0;
+		int numberLarge = 0;
+		for (int index = 0; index < size; index++) {
+			probability[index] = fitness[index] * size / totalFitness;
+			alias[index] = index;
+			if (probability[index] < 1) {
+				small[numberSmall++] = index;
+			} else {
+				large[numberLarge++] = index;
+			}
+		}
+
+		// fill each small column with the excess of a large column
+		while (numberSmall > 0 && numberLarge > 0) {
+			int less = small[--numberSmall];
+			int more = large[--numberLarge];
+			alias[less] = more;
+			probability[more] = probability[more] + probability[less] - 1;
+			if (probability[more] < 1) {
+				small[numberSmall++] = more;
+			} else {
+				large[numberLarge++] = more;
+			}
+		}
+		// the remaining columns are full, up to rounding errors
+		while (numberLarge > 0) {
+			probability[large[--numberLarge]] = 1;
+		}
+		while (numberSmall > 0) {
+			probability[small[--numberSmall]] = 1;
+		}
+	}
+
+	@Override
+	public int select(SplittableRandom random) {
+		int column = random.nextInt(size);
+		return random.nextDouble() < probability[column] ? column : alias[column];
+	}
+}
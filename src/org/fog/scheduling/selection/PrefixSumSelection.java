@@ -0,0 +1,49 @@
+package org.fog.scheduling.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * The roulette wheel with the cumulated fitness computed once per generation.
+ * Each selection is a binary search for the first individual whose cumulated
+ * fitness reaches the position, O(log n) per selection.
+ *
+ * For the same random numbers, it selects the same individuals as the
+ * RouletteWheelSelection.
+ */
+public class PrefixSumSelection implements SelectionStrategy {
+
+	// prefixSum[index] is the sum of fitness[0..index]
+	private double[] prefixSum = new double[0];
+	private int size;
+
+	@Override
+	public void prepare(double[] fitness, int size) {
+		if (prefixSum.length < size) {
+			prefixSum = new double[size];
+		}
+		this.size = size;
+		double spinWheel = 0;
+		for (int index = 0; index < size; index++) {
+			spinWheel += fitness[index];
+			prefixSum[index] = spinWheel;
+		}
+	}
+
+	@Override
+	public int select(SplittableRandom random) {
+		double rouletteWheelPosition = random.nextDouble() * prefixSum[size - 1];
+
+		// first index with prefixSum[index] >= rouletteWheelPosition
+		int low = 0;
+		int high = size - 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (prefixSum[middle] >= rouletteWheelPosition) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+}
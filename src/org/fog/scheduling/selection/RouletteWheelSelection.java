@@ -0,0 +1,39 @@
+package org.fog.scheduling.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * The original roulette wheel: each selection spins the wheel and scans the
+ * individuals until the cumulated fitness reaches the position, O(n) per
+ * selection. Kept as the reference of the other strategies.
+ */
+public class RouletteWheelSelection implements SelectionStrategy {
+
+	private double[] fitness;
+	private int size;
+	private double totalFitness;
+
+	@Override
+	public void prepare(double[] fitness, int size) {
+		this.fitness = fitness;
+		this.size = size;
+		this.totalFitness = 0;
+		for (int index = 0; index < size; index++) {
+			totalFitness += fitness[index];
+		}
+	}
+
+	@Override
+	public int select(SplittableRandom random) {
+		double rouletteWheelPosition = random.nextDouble() * totalFitness;
+
+		double spinWheel = 0;
+		for (int index = 0; index < size; index++) {
+			spinWheel += fitness[index];
+			if (spinWheel >= rouletteWheelPosition) {
+				return index;
+			}
+		}
+		return size - 1;
+	}
+}
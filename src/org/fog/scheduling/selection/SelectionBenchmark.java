@@ -0,0 +1,71 @@
+package org.fog.scheduling.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compare the selection strategies with the linear roulette wheel for
+ * population sizes from 100 to 100k.
+ *
+ * One generation prepares the strategy and selects as many parents as
+ * crossoverPopulation does, one per individual; the number of selections is
+ * capped so that the linear wheel finishes on large populations. The fitness
+ * values are drawn in the range of the scheduling fitness.
+ */
+public class SelectionBenchmark {
+
+	public static final int[] POPULATION_SIZES = { 100, 1000, 10000, 100000 };
+	public static final int MAX_SELECTIONS = 10000;
+	public static final int NUMBER_GENERATIONS = 20;
+	public static final int TOURNAMENT_SIZE = 2;
+
+	// keeps the selections from being optimized away
+	private static volatile long sink;
+
+	public static void main(String[] args) {
+		SplittableRandom random = new SplittableRandom(42);
+		SelectionStrategy[] strategies = { new RouletteWheelSelection(), new PrefixSumSelection(),
+				new AliasSelection(), new TournamentSelection(TOURNAMENT_SIZE) };
+
+		System.out.println("strategy,populationSize,prepare ns,select ns");
+		for (int populationSize : POPULATION_SIZES) {
+			double[] fitness = new double[populationSize];
+			for (int index = 0; index < populationSize; index++) {
+				fitness[index] = 0.3 + 0.4 * random.nextDouble();
+			}
+			int numberSelections = Math.min(populationSize, MAX_SELECTIONS);
+			for (SelectionStrategy strategy : strategies) {
+				// warm up, then measure
+				sink += run(strategy, fitness, numberSelections, random);
+				long prepareTime = 0;
+				long selectTime = 0;
+				long checksum = 0;
+				for (int generation = 0; generation < NUMBER_GENERATIONS; generation++) {
+					long start = System.nanoTime();
+					strategy.prepare(fitness, populationSize);
+					long prepared = System.nanoTime();
+					for (int selection = 0; selection < numberSelections; selection++) {
+						checksum += strategy.select(random);
+					}
+					prepareTime += prepared - start;
+					selectTime += System.nanoTime() - prepared;
+				}
+				System.out.println(strategy.getClass().getSimpleName() + "," + populationSize + ","
+						+ prepareTime / NUMBER_GENERATIONS + ","
+						+ selectTime / ((long) NUMBER_GENERATIONS * numberSelections));
+				sink += checksum;
+			}
+		}
+	}
+
+	private static long run(SelectionStrategy strategy, double[] fitness, int numberSelections,
+			SplittableRandom random) {
+		long checksum = 0;
+		for (int generation = 0; generation < NUMBER_GENERATIONS; generation++) {
+			strategy.prepare(fitness, fitness.length);
+			for (int selection = 0; selection < numberSelections; selection++) {
+				checksum += strategy.select(random);
+			}
+		}
+		return checksum;
+	}
+}
@@ -0,0 +1,33 @@
+package org.fog.scheduling.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * A parent selection operator of the genetic algorithms.
+ *
+ * A strategy is prepared once per generation with the fitness of the
+ * individuals, then draws any number of parents from it. select() returns the
+ * index of the selected individual in the fitness array, so the same strategy
+ * serves the Population (list order) and the CompactPopulation (rank order).
+ *
+ * The caller owns the fitness array and must not change it between prepare()
+ * and the last select() of the generation. A strategy is not thread safe: use
+ * one instance per genetic algorithm.
+ */
+public interface SelectionStrategy {
+
+	/**
+	 * Prepare the selection for a generation
+	 *
+	 * @param fitness the fitness of the individuals, all non negative
+	 * @param size    the number of individuals, fitness[0..size) is used
+	 */
+	void prepare(double[] fitness, int size);
+
+	/**
+	 * Select an individual
+	 *
+	 * @return the index of the selected individual in the fitness array
+	 */
+	int select(SplittableRandom random);
+}
@@ -0,0 +1,46 @@
+package org.fog.scheduling.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * Tournament selection: draw tournamentSize individuals uniformly, with
+ * replacement, and select the fittest of them, O(tournamentSize) per selection.
+ *
+ * The selection pressure depends on the rank of the individuals only, not on
+ * the scale of their fitness.
+ */
+public class TournamentSelection implements SelectionStrategy {
+
+	private final int tournamentSize;
+	private double[] fitness;
+	private int size;
+
+	public TournamentSelection(int tournamentSize) {
+		if (tournamentSize < 1) {
+			throw new IllegalArgumentException("tournamentSize must be at least 1: " + tournamentSize);
+		}
+		this.tournamentSize = tournamentSize;
+	}
+
+	@Override
+	public void prepare(double[] fitness, int size) {
+		this.fitness = fitness;
+		this.size = size;
+	}
+
+	@Override
+	public int select(SplittableRandom random) {
+		int winner = random.nextInt(size);
+		for (int round = 1; round < tournamentSize; round++) {
+			int challenger = random.nextInt(size);
+			if (fitness[challenger] > fitness[winner]) {
+				winner = challenger;
+			}
+		}
+		return winner;
+	}
+
+	public int getTournamentSize() {
+		return tournamentSize;
+	}
+}
@@ -0,0 +1,260 @@
+package org.fog.scheduling.streaming;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.fog.entities.FogDevice;
+import org.fog.scheduling.scheduler.Assignment;
+import org.fog.scheduling.scheduler.ProblemInstance;
+import org.fog.scheduling.scheduler.Scheduler;
+import org.fog.scheduling.scheduler.WarmStartScheduler;
+import org.fog.scheduling.termination.MaxTime;
+import org.fog.scheduling.termination.SearchControl;
+
+/**
+ * Schedules cloudlets which arrive and complete over time.
+ *
+ * Arrivals wait until the next call of reoptimize, which schedules the waiting
+ * cloudlets together with the pending ones (assigned but not completed) within
+ * a latency budget. A WarmStartScheduler starts from the current assignment of
+ * the pending cloudlets, so only the genes of the new cloudlets are random;
+ * another scheduler starts from scratch. The backlog of a fogDevice is the
+ * execution time of the pending cloudlets assigned to it.
+ *
+ * Arrivals and completions may be reported by other threads, also while a
+ * batch is optimized: a cloudlet completed during a batch leaves the pending
+ * cloudlets when the batch ends, a cloudlet arrived during a batch waits for the
+ * next one.
+ *
+ * A batch is optimized on an instance without entities, so the scheduler does
+ * not publish it. The assignment list of each fogDevice holds its pending
+ * cloudlets and is updated in place: a batch moves only the cloudlets whose
+ * fogId changed and adds its arrivals, and a completed cloudlet leaves the list
+ * of its fogDevice. Cloudlets added to the lists by others are left alone.
+ */
+public class StreamingScheduler {
+
+	private final List<FogDevice> fogDevices;
+	private final Scheduler scheduler;
+	private final long batchMillis;
+
+	// the mips of each fogDevice, the execution time of a cloudlet is its length
+	// divided by the mips
+	private final double[] mips;
+	private final double[] costPerSecond;
+	private final double[] costPerMem;
+	private final double[] costPerBw;
+	private final double[] backlog;
+
+	// the pending cloudlets by cloudletId, in assignment order, and their fogId
+	private final Map<Integer, Cloudlet> pending = new LinkedHashMap<Integer, Cloudlet>();
+	private final Map<Integer, Integer> fogIds = new HashMap<Integer, Integer>();
+	// the cloudlets arrived since the last batch
+	private final Map<Integer, Cloudlet> arrivals = new LinkedHashMap<Integer, Cloudlet>();
+	// the arrivals scheduled by the running batch
+	private final Map<Integer, Cloudlet> batchArrivals = new HashMap<Integer, Cloudlet>();
+
+	private final Object batchLock = new Object();
+	private volatile SearchControl batchControl;
+	private Assignment assignment;
+
+	/**
+	 * @param batchMillis the time budget of the search of a batch
+	 */
+	public StreamingScheduler(List<FogDevice> fogDevices, Scheduler scheduler, long batchMillis) {
+		this.fogDevices = fogDevices;
+		this.scheduler = scheduler;
+		this.batchMillis = batchMillis;
+		this.mips = new double[fogDevices.size()];
+		this.costPerSecond = new double[fogDevices.size()];
+		this.costPerMem = new double[fogDevices.size()];
+		this.costPerBw = new double[fogDevices.size()];
+		this.backlog = new double[fogDevices.size()];
+		for (int fogId = 0; fogId < fogDevices.size(); fogId++) {
+			FogDevice fogDevice = fogDevices.get(fogId);
+			mips[fogId] = fogDevice.getHost().getTotalMips();
+			costPerSecond[fogId] = fogDevice.getCharacteristics().getCostPerSecond();
+			costPerMem[fogId] = fogDevice.getCharacteristics().getCostPerMem();
+			costPerBw[fogId] = fogDevice.getCharacteristics().getCostPerBw();
+		}
+	}
+
+	public synchronized void arrive(Cloudlet cloudlet) {
+		arrivals.put(cloudlet.getCloudletId(), cloudlet);
+	}
+
+	public synchronized void arrive(Collection<? extends Cloudlet> cloudlets) {
+		for (Cloudlet cloudlet : cloudlets) {
+			arrive(cloudlet);
+		}
+	}
+
+	/**
+	 * Remove a completed cloudlet, pending or still waiting for a batch
+	 *
+	 * @return false if the cloudlet is unknown
+	 */
+	public synchronized boolean complete(int cloudletId) {
+		if (arrivals.remove(cloudletId) != null || batchArrivals.remove(cloudletId) != null) {
+			return true;
+		}
+		Cloudlet cloudlet = pending.remove(cloudletId);
+		if (cloudlet == null) {
+			return false;
+		}
+		int fogId = fogIds.remove(cloudletId);
+		fogDevices.get(fogId).getCloudletListAssignment().remove(cloudlet);
+		backlog[fogId] -= cloudlet.getCloudletLength() / mips[fogId];
+		if (backlog[fogId] < 0) {
+			// rounding errors of the subtractions
+			backlog[fogId] = 0;
+		}
+		return true;
+	}
+
+	/**
+	 * Schedule the arrivals and the pending cloudlets within the batch budget.
+	 * Batches never overlap: a call waits for the running batch.
+	 *
+	 * @return the assignment of the batch, null if there is nothing to schedule
+	 */
+	public Assignment reoptimize() {
+		synchronized (batchLock) {
+			List<Cloudlet> cloudletList = new ArrayList<Cloudlet>();
+			int[] initial;
+			synchronized (this) {
+				cloudletList.addAll(pending.values());
+				cloudletList.addAll(arrivals.values());
+				batchArrivals.putAll(arrivals);
+				arrivals.clear();
+				initial = new int[cloudletList.size()];
+				for (int index = 0; index < cloudletList.size(); index++) {
+					Integer fogId = fogIds.get(cloudletList.get(index).getCloudletId());
+					initial[index] = fogId == null ? -1 : fogId;
+				}
+			}
+			if (cloudletList.isEmpty()) {
+				return null;
+			}
+
+			ProblemInstance problem = toInstance(cloudletList);
+			SearchControl control = new SearchControl(new MaxTime(batchMillis));
+			batchControl = control;
+			Assignment batch;
+			try {
+				if (scheduler instanceof WarmStartScheduler) {
+					batch = ((WarmStartScheduler) scheduler).schedule(problem, initial, control);
+				} else {
+					batch = scheduler.schedule(problem, control);
+				}
+			} catch (RuntimeException e) {
+				// the arrivals wait for the next batch
+				synchronized (this) {
+					batchArrivals.putAll(arrivals);
+					arrivals.clear();
+					arrivals.putAll(batchArrivals);
+					batchArrivals.clear();
+				}
+				throw e;
+			}
+
+			synchronized (this) {
+				for (int index = 0; index < cloudletList.size(); index++) {
+					Cloudlet cloudlet = cloudletList.get(index);
+					int cloudletId = cloudlet.getCloudletId();
+					boolean completed = initial[index] >= 0 ? !pending.containsKey(cloudletId)
+							: !batchArrivals.containsKey(cloudletId);
+					if (completed) {
+						continue;
+					}
+					int fogId = batch.getFogId(index);
+					if (fogId != initial[index]) {
+						if (initial[index] >= 0) {
+							fogDevices.get(initial[index]).getCloudletListAssignment().remove(cloudlet);
+						}
+						fogDevices.get(fogId).getCloudletListAssignment().add(cloudlet);
+					}
+					pending.put(cloudletId, cloudlet);
+					fogIds.put(cloudletId, fogId);
+				}
+				batchArrivals.clear();
+				recalcBacklog();
+				assignment = batch;
+			}
+			return batch;
+		}
+	}
+
+	// the instance of a batch, without entities
+	private ProblemInstance toInstance(List<Cloudlet> cloudletList) {
+		int numberCloudlets = cloudletList.size();
+		int[] cloudletIds = new int[numberCloudlets];
+		long[] length = new long[numberCloudlets];
+		long[] memRequired = new long[numberCloudlets];
+		long[] transferSize = new long[numberCloudlets];
+		for (int index = 0; index < numberCloudlets; index++) {
+			Cloudlet cloudlet = cloudletList.get(index);
+			cloudletIds[index] = cloudlet.getCloudletId();
+			length[index] = cloudlet.getCloudletLength();
+			memRequired[index] = cloudlet.getMemRequired();
+			transferSize[index] = cloudlet.getCloudletFileSize() + cloudlet.getCloudletOutputSize();
+		}
+		return new ProblemInstance(cloudletIds, length, memRequired, transferSize, mips, costPerSecond, costPerMem,
+				costPerBw);
+	}
+
+	// the backlog of each fogDevice from the pending cloudlets
+	private void recalcBacklog() {
+		for (int fogId = 0; fogId < backlog.length; fogId++) {
+			backlog[fogId] = 0;
+		}
+		for (Cloudlet cloudlet : pending.values()) {
+			int fogId = fogIds.get(cloudlet.getCloudletId());
+			backlog[fogId] += cloudlet.getCloudletLength() / mips[fogId];
+		}
+	}
+
+	public synchronized double getBacklog(int fogId) {
+		return backlog[fogId];
+	}
+
+	// the time the fogDevices need to execute all the pending cloudlets
+	public synchronized double getMakespan() {
+		double makespan = 0;
+		for (double time : backlog) {
+			makespan = Math.max(makespan, time);
+		}
+		return makespan;
+	}
+
+	/**
+	 * @return the fogId of a pending cloudlet, -1 if it is not scheduled
+	 */
+	public synchronized int getFogId(int cloudletId) {
+		Integer fogId = fogIds.get(cloudletId);
+		return fogId == null ? -1 : fogId;
+	}
+
+	public synchronized int getNumberPending() {
+		return pending.size();
+	}
+
+	public synchronized int getNumberArrivals() {
+		return arrivals.size();
+	}
+
+	// the assignment of the last batch
+	public synchronized Assignment getAssignment() {
+		return assignment;
+	}
+
+	// the control of the running or last batch, e.g. to poll or cancel it
+	public SearchControl getBatchControl() {
+		return batchControl;
+	}
+}
@@ -0,0 +1,68 @@
+package org.fog.scheduling.telemetry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the telemetry to a compact binary file, read back with read().
+ *
+ * Format (big-endian, DataOutputStream): the int MAGIC, the int number of
+ * records, then for each record the int generation, the doubles bestFitness,
+ * meanFitness, makespan, cost and diversity, and the long elapsedNanos.
+ */
+public class BinaryTelemetryExporter implements TelemetryExporter {
+
+	public static final int MAGIC = 0x46544C31;
+
+	private final String fileName;
+
+	public BinaryTelemetryExporter(String fileName) {
+		this.fileName = fileName;
+	}
+
+	@Override
+	public void export(ConvergenceTelemetry telemetry) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+		try {
+			output.writeInt(MAGIC);
+			output.writeInt(telemetry.size());
+			for (int index = 0; index < telemetry.size(); index++) {
+				output.writeInt(telemetry.getGeneration(index));
+				output.writeDouble(telemetry.getBestFitness(index));
+				output.writeDouble(telemetry.getMeanFitness(index));
+				output.writeDouble(telemetry.getMakespan(index));
+				output.writeDouble(telemetry.getCost(index));
+				output.writeDouble(telemetry.getDiversity(index));
+				output.writeLong(telemetry.getElapsedNanos(index));
+			}
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Read a file written by export
+	 */
+	public static ConvergenceTelemetry read(String fileName) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)));
+		try {
+			if (input.readInt() != MAGIC) {
+				throw new IOException(fileName + " is not a telemetry file");
+			}
+			int size = input.readInt();
+			ConvergenceTelemetry telemetry = new ConvergenceTelemetry(Math.max(1, size));
+			for (int index = 0; index < size; index++) {
+				telemetry.record(input.readInt(), input.readDouble(), input.readDouble(), input.readDouble(),
+						input.readDouble(), input.readDouble(), input.readLong());
+			}
+			return telemetry;
+		} finally {
+			input.close();
+		}
+	}
+}
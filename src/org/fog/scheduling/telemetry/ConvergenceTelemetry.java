@@ -0,0 +1,124 @@
+package org.fog.scheduling.telemetry;
+
+import java.io.IOException;
+
+/**
+ * The convergence curve of a run: one record per generation, kept in an
+ * in-memory ring buffer of primitive arrays. When the buffer is full, the
+ * oldest records are overwritten, so recording never allocates and never does
+ * I/O. The records are written out after the run by a TelemetryExporter.
+ *
+ * Record index 0 is the oldest record still in the buffer.
+ */
+public class ConvergenceTelemetry {
+
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private final int capacity;
+	private final int[] generation;
+	private final double[] bestFitness;
+	private final double[] meanFitness;
+	private final double[] makespan;
+	private final double[] cost;
+	private final double[] diversity;
+	private final long[] elapsedNanos;
+
+	// the slot of the next record, and the number of records ever recorded
+	private int next;
+	private long count;
+
+	public ConvergenceTelemetry() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ConvergenceTelemetry(int capacity) {
+		this.capacity = capacity;
+		this.generation = new int[capacity];
+		this.bestFitness = new double[capacity];
+		this.meanFitness = new double[capacity];
+		this.makespan = new double[capacity];
+		this.cost = new double[capacity];
+		this.diversity = new double[capacity];
+		this.elapsedNanos = new long[capacity];
+	}
+
+	/**
+	 * Record a generation
+	 *
+	 * @param makespan  the makespan of the best schedule
+	 * @param cost      the total cost of the best schedule
+	 * @param diversity the fraction of distinct schedules in the population, NaN
+	 *                  for single-solution algorithms
+	 */
+	public void record(int generation, double bestFitness, double meanFitness, double makespan, double cost,
+			double diversity, long elapsedNanos) {
+		this.generation[next] = generation;
+		this.bestFitness[next] = bestFitness;
+		this.meanFitness[next] = meanFitness;
+		this.makespan[next] = makespan;
+		this.cost[next] = cost;
+		this.diversity[next] = diversity;
+		this.elapsedNanos[next] = elapsedNanos;
+		next = (next + 1) % capacity;
+		count++;
+	}
+
+	public void clear() {
+		next = 0;
+		count = 0;
+	}
+
+	// the number of records in the buffer
+	public int size() {
+		return (int) Math.min(count, capacity);
+	}
+
+	// the number of records ever recorded, including the overwritten ones
+	public long getCount() {
+		return count;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	// the slot of the record at index, 0 is the oldest
+	private int slot(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Record " + index + " of " + size());
+		}
+		return count <= capacity ? index : (next + index) % capacity;
+	}
+
+	public int getGeneration(int index) {
+		return generation[slot(index)];
+	}
+
+	public double getBestFitness(int index) {
+		return bestFitness[slot(index)];
+	}
+
+	public double getMeanFitness(int index) {
+		return meanFitness[slot(index)];
+	}
+
+	public double getMakespan(int index) {
+		return makespan[slot(index)];
+	}
+
+	public double getCost(int index) {
+		return cost[slot(index)];
+	}
+
+	public double getDiversity(int index) {
+		return diversity[slot(index)];
+	}
+
+	public long getElapsedNanos(int index) {
+		return elapsedNanos[slot(index)];
+	}
+
+	public void export(TelemetryExporter exporter) throws IOException {
+		exporter.export(this);
+	}
+}
@@ -0,0 +1,37 @@
+package org.fog.scheduling.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Writes the telemetry to a CSV file with a header line.
+ */
+public class CsvTelemetryExporter implements TelemetryExporter {
+
+	public static final String HEADER = "generation,bestFitness,meanFitness,makespan,cost,diversity,elapsedNanos";
+
+	private final String fileName;
+
+	public CsvTelemetryExporter(String fileName) {
+		this.fileName = fileName;
+	}
+
+	@Override
+	public void export(ConvergenceTelemetry telemetry) throws IOException {
+		BufferedWriter writer = new BufferedWriter(new FileWriter(fileName));
+		try {
+			writer.write(HEADER);
+			writer.newLine();
+			for (int index = 0; index < telemetry.size(); index++) {
+				writer.write(telemetry.getGeneration(index) + "," + telemetry.getBestFitness(index) + ","
+						+ telemetry.getMeanFitness(index) + "," + telemetry.getMakespan(index) + ","
+						+ telemetry.getCost(index) + "," + telemetry.getDiversity(index) + ","
+						+ telemetry.getElapsedNanos(index));
+				writer.newLine();
+			}
+		} finally {
+			writer.close();
+		}
+	}
+}
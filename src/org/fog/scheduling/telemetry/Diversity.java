@@ -0,0 +1,69 @@
+package org.fog.scheduling.telemetry;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.fog.scheduling.aco.AntColony;
+import org.fog.scheduling.gaEntities.CompactPopulation;
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.gaEntities.Population;
+import org.fog.scheduling.pso.CompactSwarm;
+import org.fog.scheduling.pso.Particle;
+import org.fog.scheduling.pso.SwarmPopulation;
+
+/**
+ * The diversity of a population: the fraction of distinct schedules, 1 when
+ * all individuals differ, 1 / size when they are all equal. Schedules are
+ * compared by hash, so two different schedules with the same hash (unlikely)
+ * count as one.
+ */
+public class Diversity {
+
+	public static double of(Population population) {
+		Set<Long> hashes = new HashSet<Long>();
+		for (Individual individual : population.getPopulation()) {
+			hashes.add(individual.getHash());
+		}
+		return (double) hashes.size() / population.size();
+	}
+
+	public static double of(CompactPopulation population) {
+		Set<Integer> hashes = new HashSet<Integer>();
+		int chromosomeLength = population.getChromosomeLength();
+		int[] genes = population.getGenes();
+		for (int slot = 0; slot < population.size(); slot++) {
+			hashes.add(Arrays.hashCode(Arrays.copyOfRange(genes, slot * chromosomeLength,
+					(slot + 1) * chromosomeLength)));
+		}
+		return (double) hashes.size() / population.size();
+	}
+
+	public static double of(SwarmPopulation swarmPopulation) {
+		Set<Integer> hashes = new HashSet<Integer>();
+		for (Particle particle : swarmPopulation.getSwarmPopulation()) {
+			hashes.add(Arrays.hashCode(particle.getChromosome()));
+		}
+		return (double) hashes.size() / swarmPopulation.size();
+	}
+
+	public static double of(CompactSwarm swarm) {
+		Set<Integer> hashes = new HashSet<Integer>();
+		int xLength = swarm.getXLength();
+		int[] positions = swarm.getPositions();
+		for (int particle = 0; particle < swarm.size(); particle++) {
+			hashes.add(Arrays.hashCode(Arrays.copyOfRange(positions, particle * xLength, (particle + 1) * xLength)));
+		}
+		return (double) hashes.size() / swarm.size();
+	}
+
+	public static double of(AntColony colony) {
+		Set<Integer> hashes = new HashSet<Integer>();
+		int tourLength = colony.getTourLength();
+		int[] tours = colony.getTours();
+		for (int ant = 0; ant < colony.size(); ant++) {
+			hashes.add(Arrays.hashCode(Arrays.copyOfRange(tours, ant * tourLength, (ant + 1) * tourLength)));
+		}
+		return (double) hashes.size() / colony.size();
+	}
+}
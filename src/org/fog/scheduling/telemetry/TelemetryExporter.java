@@ -0,0 +1,11 @@
+package org.fog.scheduling.telemetry;
+
+import java.io.IOException;
+
+/**
+ * Writes the records of a ConvergenceTelemetry, oldest first.
+ */
+public interface TelemetryExporter {
+
+	void export(ConvergenceTelemetry telemetry) throws IOException;
+}
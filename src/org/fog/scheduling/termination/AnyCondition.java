@@ -0,0 +1,32 @@
+package org.fog.scheduling.termination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stop as soon as one of the conditions is met, e.g. 1000 generations or
+ * 50 ms, whichever comes first.
+ */
+public class AnyCondition implements TerminationCondition {
+
+	private final List<TerminationCondition> conditions;
+
+	public AnyCondition(TerminationCondition... conditions) {
+		this.conditions = new ArrayList<TerminationCondition>(Arrays.asList(conditions));
+	}
+
+	@Override
+	public boolean isMet(SearchControl control) {
+		for (TerminationCondition condition : conditions) {
+			if (condition.isMet(control)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public List<TerminationCondition> getConditions() {
+		return conditions;
+	}
+}
@@ -0,0 +1,23 @@
+package org.fog.scheduling.termination;
+
+/**
+ * Stop after a fixed number of generations, the original NUMBER_ITERATION
+ * loop of the runners.
+ */
+public class MaxGenerations implements TerminationCondition {
+
+	private final int maxGenerations;
+
+	public MaxGenerations(int maxGenerations) {
+		this.maxGenerations = maxGenerations;
+	}
+
+	@Override
+	public boolean isMet(SearchControl control) {
+		return control.getGeneration() >= maxGenerations;
+	}
+
+	public int getMaxGenerations() {
+		return maxGenerations;
+	}
+}
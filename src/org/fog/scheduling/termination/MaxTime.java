@@ -0,0 +1,23 @@
+package org.fog.scheduling.termination;
+
+/**
+ * Stop when the wall-clock budget of the search is spent. The budget is
+ * checked between generations, so a run may exceed it by one generation.
+ */
+public class MaxTime implements TerminationCondition {
+
+	private final long maxMillis;
+
+	public MaxTime(long maxMillis) {
+		this.maxMillis = maxMillis;
+	}
+
+	@Override
+	public boolean isMet(SearchControl control) {
+		return control.getElapsedMillis() >= maxMillis;
+	}
+
+	public long getMaxMillis() {
+		return maxMillis;
+	}
+}
@@ -0,0 +1,46 @@
+package org.fog.scheduling.termination;
+
+import org.fog.scheduling.bounds.ScheduleBounds;
+
+/**
+ * Stop when the best schedule is close enough to the upper bound of the
+ * fitness.
+ *
+ * The fitness normalizes the makespan by minTime and the total cost by minCost,
+ * so no schedule has a fitness above 1. The gap of a schedule is
+ * 1 - fitness / bound; e.g. a gap of 0.05 stops the search once the best
+ * schedule is proven within 5% of the fittest one. With the bound of
+ * ScheduleBounds the gap is certified for the instance; without bounds the
+ * bound is 1, which is rarely reached.
+ */
+public class OptimalityGap implements TerminationCondition {
+
+	private final double gap;
+	private final double fitnessBound;
+
+	public OptimalityGap(double gap) {
+		this(gap, 1);
+	}
+
+	public OptimalityGap(double gap, ScheduleBounds bounds) {
+		this(gap, bounds.getFitnessBound());
+	}
+
+	public OptimalityGap(double gap, double fitnessBound) {
+		this.gap = gap;
+		this.fitnessBound = fitnessBound;
+	}
+
+	@Override
+	public boolean isMet(SearchControl control) {
+		return control.getBest() != null && 1 - control.getBestFitness() / fitnessBound <= gap;
+	}
+
+	public double getGap() {
+		return gap;
+	}
+
+	public double getFitnessBound() {
+		return fitnessBound;
+	}
+}
@@ -0,0 +1,176 @@
+package org.fog.scheduling.termination;
+
+import java.util.concurrent.TimeUnit;
+
+import org.fog.scheduling.gaEntities.Individual;
+import org.fog.scheduling.telemetry.ConvergenceTelemetry;
+
+/**
+ * The control of a running scheduling algorithm.
+ *
+ * The algorithm calls start() before its first generation, update() after each
+ * generation with its current best schedule, and stops when isTerminated()
+ * returns true: the termination condition is met or cancel() was called.
+ *
+ * Other threads may poll the best schedule found so far with getBest() at any
+ * moment, or cancel the search. getBest() returns a copy taken when the
+ * schedule improved, so it is never modified by the algorithm.
+ *
+ * The control also carries the options of its run, so concurrent runs may
+ * differ: with heuristic seeding, the runner seeds its initial schedules with
+ * those of the heuristics (Min-Min, Sufferage, ...), see HeuristicSeeding.
+ */
+public class SearchControl {
+
+	private final TerminationCondition condition;
+
+	private volatile Individual best;
+	private volatile boolean cancelled;
+	// seed the initial schedules with the heuristics, off by default
+	private boolean heuristicSeeding;
+
+	// System.nanoTime() at the start, the clock of the elapsed time is monotonic
+	private long startNanos;
+	private int generation;
+	// the number of generations since the best fitness last improved
+	private int stableGenerations;
+
+	// the convergence curve of the run, null when not recorded
+	private ConvergenceTelemetry telemetry;
+
+	public SearchControl(TerminationCondition condition) {
+		this.condition = condition;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Start the clock and reset the progress, not the cancellation: a search
+	 * cancelled before it starts does not run.
+	 */
+	public void start() {
+		this.startNanos = System.nanoTime();
+		this.generation = 0;
+		this.stableGenerations = 0;
+		this.best = null;
+	}
+
+	/**
+	 * Record one generation and its best individual
+	 */
+	public void update(Individual candidate) {
+		update(candidate, 1);
+	}
+
+	/**
+	 * Record some generations and the best individual they found, 0 generations
+	 * records the initial population
+	 *
+	 * @param candidate   the best individual, copied if it improves the best
+	 * @param generations the number of generations since the last update
+	 */
+	public void update(Individual candidate, int generations) {
+		if (record(candidate.getFitness(), generations)) {
+			best = new Individual(candidate);
+		}
+	}
+
+	/**
+	 * Record some generations and the best schedule they found
+	 *
+	 * @param chromosome  the schedule, copied if it improves the best
+	 * @param generations the number of generations since the last update
+	 */
+	public void update(int[] chromosome, double fitness, double time, double cost, int generations) {
+		update(chromosome, 0, chromosome.length, fitness, time, cost, generations);
+	}
+
+	/**
+	 * Record some generations and the best schedule they found, stored in a
+	 * larger array starting at geneOffset
+	 */
+	public void update(int[] genes, int geneOffset, int chromosomeLength, double fitness, double time, double cost,
+			int generations) {
+		if (record(fitness, generations)) {
+			Individual snapshot = new Individual(chromosomeLength);
+			System.arraycopy(genes, geneOffset, snapshot.getChromosome(), 0, chromosomeLength);
+			snapshot.rehash();
+			snapshot.setFitness(fitness);
+			snapshot.setTime(time);
+			snapshot.setCost(cost);
+			best = snapshot;
+		}
+	}
+
+	// count the generations, return true if the fitness improves the best
+	private boolean record(double fitness, int generations) {
+		generation += generations;
+		if (best == null || fitness > best.getFitness()) {
+			stableGenerations = 0;
+			return true;
+		}
+		stableGenerations += generations;
+		return false;
+	}
+
+	public boolean isTerminated() {
+		return cancelled || condition.isMet(this);
+	}
+
+	// stop the search at the end of its current generation
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	// the best schedule found so far, null before the first update
+	public Individual getBest() {
+		return best;
+	}
+
+	public double getBestFitness() {
+		Individual best = this.best;
+		return best == null ? -1 : best.getFitness();
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	public int getStableGenerations() {
+		return stableGenerations;
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(getElapsedNanos());
+	}
+
+	public long getElapsedNanos() {
+		return System.nanoTime() - startNanos;
+	}
+
+	public ConvergenceTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	// record the convergence of the run in the telemetry
+	public void setTelemetry(ConvergenceTelemetry telemetry) {
+		this.telemetry = telemetry;
+	}
+
+	public boolean isHeuristicSeeding() {
+		return heuristicSeeding;
+	}
+
+	// seed the initial schedules of the run with the heuristics, set before the
+	// run starts
+	public void setHeuristicSeeding(boolean heuristicSeeding) {
+		this.heuristicSeeding = heuristicSeeding;
+	}
+
+	public TerminationCondition getCondition() {
+		return condition;
+	}
+}
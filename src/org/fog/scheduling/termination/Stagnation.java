@@ -0,0 +1,22 @@
+package org.fog.scheduling.termination;
+
+/**
+ * Stop when the best fitness has not improved for a number of generations.
+ */
+public class Stagnation implements TerminationCondition {
+
+	private final int maxStableGenerations;
+
+	public Stagnation(int maxStableGenerations) {
+		this.maxStableGenerations = maxStableGenerations;
+	}
+
+	@Override
+	public boolean isMet(SearchControl control) {
+		return control.getStableGenerations() >= maxStableGenerations;
+	}
+
+	public int getMaxStableGenerations() {
+		return maxStableGenerations;
+	}
+}
@@ -0,0 +1,13 @@
+package org.fog.scheduling.termination;
+
+/**
+ * A stopping rule of a scheduling algorithm, checked once per generation (or
+ * iteration) against the progress recorded by a SearchControl.
+ */
+public interface TerminationCondition {
+
+	/**
+	 * @return true if the search should stop
+	 */
+	boolean isMet(SearchControl control);
+}